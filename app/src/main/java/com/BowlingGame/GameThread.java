@@ -1,38 +0,0 @@
-package com.BowlingGame;
-
-import android.graphics.Canvas;
-import android.view.SurfaceHolder;
-
-public class GameThread extends Thread {
-    private SurfaceHolder surfaceHolder;
-    private GameView gameView;
-    private boolean running;
-
-    public GameThread(SurfaceHolder surfaceHolder, GameView gameView) {
-        this.surfaceHolder = surfaceHolder;
-        this.gameView = gameView;
-    }
-
-    public void setRunning(boolean running) {
-        this.running = running;
-    }
-
-    @Override
-    public void run() {
-        Canvas canvas;
-        while (running) {
-            canvas = null;
-            try {
-                canvas = this.surfaceHolder.lockCanvas(); // 描画用のCanvasを取得
-                synchronized (surfaceHolder) {
-                    this.gameView.update(); // ゲームロジック更新
-                    this.gameView.draw(canvas); // 描画
-                }
-            } finally {
-                if (canvas != null) {
-                    this.surfaceHolder.unlockCanvasAndPost(canvas); // 描画結果を画面に表示
-                }
-            }
-        }
-    }
-}
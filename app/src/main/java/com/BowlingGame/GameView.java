@@ -1,39 +1,98 @@
 package com.BowlingGame;
 
 import android.content.Context;
+import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
 import android.util.Log;
+import android.view.Display;
 import android.view.MotionEvent;
 import android.view.SurfaceHolder;
 import android.view.SurfaceView;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.BowlingGame.core.FrameProfile;
+import com.BowlingGame.core.GameSnapshot;
+import com.BowlingGame.core.BallPhysics;
+import com.BowlingGame.core.InputQueue;
+import com.BowlingGame.core.PlayerStatistics;
+import com.BowlingGame.core.ProfileText;
+import com.BowlingGame.core.QualityGovernor;
+import com.BowlingGame.core.RenderState;
+import com.BowlingGame.core.RenderStateExchange;
+import com.BowlingGame.core.ReplayLog;
+import com.BowlingGame.core.ScoreHistoryRecorder;
+import com.BowlingGame.core.Simulation;
+
 public class GameView extends SurfaceView implements SurfaceHolder.Callback {
 
-    private GameThread gameThread;
+    private volatile SimulationThread simulationThread; // ゲームロジックを固定間隔で進める
+    private volatile RenderThread renderThread; // 画面の更新に合わせて描画する
+    private volatile boolean paused; // アクティビティが一時停止中
+    private Simulation simulation; // ゲームロジック本体 (coreモジュール)
+    private final RenderStateExchange renderStates = new RenderStateExchange(); // シミュレーションから描画への状態の受け渡し
     private Ball ball;
     private Pin[] pins;
-    private GameState gameState;
 
     // 描画用のPaintオブジェクト
     private Paint ballPaint;
     private Paint pinPaint;
     private Paint lanePaint;
-    private Paint scoreTextPaint;
+    private Paint aimPaint; // エイムガイド
+    private final Hud hud = new Hud(); // スコアなどの表示
+    private Paint profileTextPaint;
+
+    // 背景とレーンを描画済みのレイヤー (画面サイズが変わったときだけ作り直す)
+    private volatile Bitmap backgroundLayer;
+
+    // フレーム処理時間の計測 (SimulationThreadとRenderThreadが記録する)
+    private final FrameProfile frameProfile = new FrameProfile();
+    private volatile boolean profileOverlayEnabled;
+    private final ProfileText profileText = new ProfileText(); // オーバーレイに表示する行
+
+    // 描画の品質 (RenderThreadがフレームの処理時間を渡し、段階が変わったら描画スレッドで反映する)
+    private final QualityGovernor quality = new QualityGovernor();
+    private int appliedQualityLevel = -1; // 描画に反映済みの段階 (描画スレッド用)
+    private boolean rotateFallenPins = true; // 倒れたピンを倒れた向きに回転させるか (描画スレッド用)
+    private boolean aimOutlineEnabled = true; // エイムガイドにボールの輪郭を描くか (描画スレッド用)
+    private volatile float renderScale = 1f; // サーフェスのバッファの画面に対する倍率
+    private final Runnable applyRenderScale = this::updateSurfaceSize; // UIスレッドでバッファのサイズを変える
+
+    // 一時停止・復帰用のスナップショット
+    private final byte[] snapshot = new byte[GameSnapshot.SIZE];
+    private boolean restorePending; // 画面サイズが確定したらsnapshotから復元する
+
+    // 操作の記録と再生
+    private volatile boolean recordingEnabled; // 新しいゲームの操作をReplayLogに記録するか
+    private ReplayLog pendingReplay; // 画面サイズが確定したら再生するログ
+    private volatile int tickRate = SimulationThread.DEFAULT_TICK_RATE; // シミュレーションの更新回数 (再生時はログに合わせる)
+
+    // 終了したゲームの履歴
+    private volatile ScoreHistoryRecorder scoreRecorder; // nullなら記録しない
+    private boolean wasGameOver; // 前回のティックでゲームオーバーだったか (シミュレーションスレッド用)
 
     // 定数
-    private static final float LANE_WIDTH_RATIO = 0.8f; // レーンの幅の画面に対する比率
-    private static final float LANE_HEIGHT_RATIO = 0.6f; // レーンの高さの画面に対する比率
+    private static final float LANE_WIDTH_RATIO = Simulation.LANE_WIDTH_RATIO; // レーンの幅の画面に対する比率
+    private static final float LANE_HEIGHT_RATIO = Simulation.LANE_HEIGHT_RATIO; // レーンの高さの画面に対する比率
+    private static final int SKY_COLOR = Color.rgb(0xAD, 0xD8, 0xE6); // 空色 (LightBlue)
+    private static final int LANE_COLOR = Color.rgb(0x8B, 0x45, 0x13); // 木の色 (ブラウン)
+    private static final int AIM_ALPHA = 160; // エイムガイドの不透明度 (0～255)
 
     public GameView(Context context) {
         super(context);
         getHolder().addCallback(this);
 
         // ゲームオブジェクトの初期化
+        simulation = new Simulation();
+        simulation.setTraced(BuildConfig.DEBUG); // EventTraceに記録するのはデバッグビルドのゲームループのシミュレーションだけ
         ball = new Ball();
-        pins = new Pin[10]; // 10本のピンを管理
-        gameState = new GameState();
+        pins = new Pin[Simulation.PIN_COUNT]; // 10本のピンを管理
+        for (int i = 0; i < pins.length; i++) {
+            pins[i] = new Pin(i); // ラックのi番目のピンを描画する
+        }
 
         // Paintオブジェクトの初期化
         ballPaint = new Paint();
@@ -48,38 +107,119 @@ public class GameView extends SurfaceView implements SurfaceHolder.Callback {
         pinPaint.setStrokeWidth(5); // ピンの縁の太さ
 
         lanePaint = new Paint();
-        lanePaint.setColor(Color.parseColor("#8B4513")); // 木の色 (ブラウン)
+        lanePaint.setColor(LANE_COLOR);
         lanePaint.setStyle(Paint.Style.FILL);
 
-        scoreTextPaint = new Paint();
-        scoreTextPaint.setColor(Color.BLACK);
-        scoreTextPaint.setTextSize(60); // テキストサイズ
-        scoreTextPaint.setAntiAlias(true);
-        scoreTextPaint.setTextAlign(Paint.Align.LEFT); // テキストの揃え方
+        aimPaint = new Paint();
+        aimPaint.setColor(Color.WHITE);
+        aimPaint.setAlpha(AIM_ALPHA);
+        aimPaint.setStyle(Paint.Style.STROKE);
+        aimPaint.setStrokeWidth(4);
+        aimPaint.setAntiAlias(true);
+
+        profileTextPaint = new Paint();
+        profileTextPaint.setColor(Color.DKGRAY);
+        profileTextPaint.setTextSize(32);
+        profileTextPaint.setAntiAlias(true);
+        profileTextPaint.setTextAlign(Paint.Align.RIGHT);
     }
 
     @Override
     public void surfaceCreated(SurfaceHolder holder) {
         // ピンの初期配置は画面サイズが確定してから行う
-        setupPins();
-        
-        gameThread = new GameThread(holder, this);
-        gameThread.setRunning(true);
-        gameThread.start();
+        // 一時停止からの復帰などで画面サイズが変わっていなければ、現在の状態をそのまま使う
+        if (restorePending || simulation.getWidth() != getWidth() || simulation.getHeight() != getHeight()) {
+            setupPins();
+        }
+        Display display = getDisplay();
+        if (display != null) {
+            quality.setDisplayRefreshRate(display.getRefreshRate()); // 画面が出せないフレームレートの段階は使わない
+        }
+
+        SimulationThread thread = new SimulationThread(this);
+        thread.setTickRate(tickRate);
+        thread.setRunning(true);
+        thread.setPaused(paused);
+        RenderThread render = new RenderThread(holder, this, thread);
+        render.setRunning(true);
+        render.setPaused(paused);
+        simulationThread = thread;
+        renderThread = render;
+        thread.start();
+        render.start();
     }
 
     @Override
     public void surfaceChanged(SurfaceHolder holder, int format, int width, int height) {
-        // 画面サイズ変更時の処理 (今回は特に何もしない)
+        // 背景は動かないので、画面サイズが決まったときに一度だけ描画しておく
+        Bitmap layer = backgroundLayer;
+        if (layer == null || layer.getWidth() != width || layer.getHeight() != height) {
+            backgroundLayer = createBackgroundLayer(width, height);
+        }
+        // 描画解像度を下げている間に画面サイズが変わったら、バッファのサイズを合わせ直す
+        if (renderScale < 1f && (width != scaledSize(getWidth()) || height != scaledSize(getHeight()))) {
+            updateSurfaceSize();
+        }
+        RenderThread render = renderThread;
+        if (render != null) {
+            render.requestRedraw(); // 休止中でも新しいサイズで描画し直す
+        }
+    }
+
+    // サーフェスのバッファを、画面のサイズに描画解像度の倍率を掛けたサイズにする (UIスレッド用)
+    private void updateSurfaceSize() {
+        if (getWidth() <= 0 || getHeight() <= 0) {
+            return; // レイアウト前はsurfaceChanged()で合わせる
+        }
+        if (renderScale >= 1f) {
+            getHolder().setSizeFromLayout();
+        } else {
+            getHolder().setFixedSize(scaledSize(getWidth()), scaledSize(getHeight()));
+        }
+    }
+
+    private int scaledSize(int size) {
+        return Math.max(1, Math.round(size * renderScale));
+    }
+
+    // 背景とレーンを描画したレイヤーを作る
+    // 描画中のスレッドが古いレイヤーを参照している可能性があるので、古いものはrecycleせずGCに任せる
+    private Bitmap createBackgroundLayer(int width, int height) {
+        if (width <= 0 || height <= 0) {
+            return null;
+        }
+        Bitmap layer = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        drawBackground(new Canvas(layer), width, height);
+        return layer;
+    }
+
+    // 背景色とレーンを描画する
+    private void drawBackground(Canvas canvas, int width, int height) {
+        canvas.drawColor(SKY_COLOR);
+
+        // レーンの描画 (画面下部に配置)
+        float laneTop = height * (1 - LANE_HEIGHT_RATIO);
+        float laneBottom = height;
+        float laneLeft = width * ((1 - LANE_WIDTH_RATIO) / 2);
+        float laneRight = width * ((1 + LANE_WIDTH_RATIO) / 2);
+        canvas.drawRect(laneLeft, laneTop, laneRight, laneBottom, lanePaint);
     }
 
     @Override
     public void surfaceDestroyed(SurfaceHolder holder) {
+        // サーフェスが破棄される前に描画を止め、続けてシミュレーションを止める
+        renderThread.setRunning(false);
+        joinThread(renderThread);
+        simulationThread.setRunning(false);
+        joinThread(simulationThread);
+    }
+
+    // スレッドの終了を待つ
+    private static void joinThread(Thread thread) {
         boolean retry = true;
-        gameThread.setRunning(false);
         while (retry) {
             try {
-                gameThread.join(); // スレッドの終了を待つ
+                thread.join();
                 retry = false;
             } catch (InterruptedException e) {
                 // スレッド終了待ちに失敗した場合、リトライ
@@ -90,179 +230,364 @@ public class GameView extends SurfaceView implements SurfaceHolder.Callback {
 
     // ピンを初期位置に配置するメソッド
     private void setupPins() {
-        float laneCenterX = getWidth() / 2f;
-        float laneTopY = getHeight() * (1 - LANE_HEIGHT_RATIO); // レーンの開始Y座標
-
-        // ピンの基点Y座標 (レーン奥のピンを配置するY座標)
-        float pinsBaseY = laneTopY + (getHeight() * LANE_HEIGHT_RATIO * 0.2f); // レーンの開始から20%くらいの位置
-        float rowSpacing = Pin.PIN_HEIGHT * 0.8f; // 行ごとのY座標の間隔
-        float pinSpacing = Pin.PIN_WIDTH * 1.2f; // ピンごとのX座標の間隔
-
-        int pinIndex = 0;
+        synchronized (simulation) {
+            simulation.setup(getWidth(), getHeight());
+            if (pendingReplay != null) {
+                simulation.startReplay(pendingReplay); // ログのゲームを最初から再生
+                pendingReplay = null;
+                restorePending = false;
+            } else if (restorePending) {
+                restorePending = false;
+                try {
+                    simulation.restoreSnapshot(snapshot); // 保存しておいた状態を復元
+                } catch (IllegalArgumentException e) {
+                    // 壊れたスナップショットは捨てて最初から始める
+                    Log.w("GameView", "setupPins: " + e.getMessage());
+                    simulation.restart();
+                }
+            } else if (recordingEnabled) {
+                simulation.startRecording((float) BallPhysics.REFERENCE_TICK_RATE / tickRate);
+            }
+            wasGameOver = simulation.getGameState().isGameOver(); // 復元したゲームオーバーは記録済み
+        }
+    }
 
-        // ボーリングの標準的な10ピン配置
-        // 1列目 (1本)
-        pins[pinIndex++] = new Pin(laneCenterX, pinsBaseY);
+    /**
+     * 終了したゲームを履歴に書き込むRecorderを設定します。書き込みはRecorderのスレッドで行います。
+     * @param recorder 開始済みのScoreHistoryRecorder。nullなら記録しない
+     */
+    public void setScoreRecorder(ScoreHistoryRecorder recorder) {
+        scoreRecorder = recorder;
+    }
 
-        // 2列目 (2本)
-        pins[pinIndex++] = new Pin(laneCenterX - pinSpacing / 2, pinsBaseY + rowSpacing);
-        pins[pinIndex++] = new Pin(laneCenterX + pinSpacing / 2, pinsBaseY + rowSpacing);
+    /**
+     * 1投ごとに成績を集計するPlayerStatisticsを設定します。まだ1投もしていなければ現在のゲームから集計します。
+     * @param statistics 集計先。nullなら集計しない
+     */
+    public void setStatistics(PlayerStatistics statistics) {
+        synchronized (simulation) {
+            simulation.setStatistics(statistics);
+        }
+    }
 
-        // 3列目 (3本)
-        pins[pinIndex++] = new Pin(laneCenterX - pinSpacing, pinsBaseY + rowSpacing * 2);
-        pins[pinIndex++] = new Pin(laneCenterX, pinsBaseY + rowSpacing * 2);
-        pins[pinIndex++] = new Pin(laneCenterX + pinSpacing, pinsBaseY + rowSpacing * 2);
+    /**
+     * 新しいゲームを始めるときに操作を記録するかを設定します。
+     * スナップショットから復元したゲームは途中からになるため記録しません。
+     * @param enabled 記録する場合true
+     */
+    public void setRecordingEnabled(boolean enabled) {
+        recordingEnabled = enabled;
+    }
 
-        // 4列目 (4本)
-        pins[pinIndex++] = new Pin(laneCenterX - pinSpacing * 1.5f, pinsBaseY + rowSpacing * 3);
-        pins[pinIndex++] = new Pin(laneCenterX - pinSpacing * 0.5f, pinsBaseY + rowSpacing * 3);
-        pins[pinIndex++] = new Pin(laneCenterX + pinSpacing * 0.5f, pinsBaseY + rowSpacing * 3);
-        pins[pinIndex++] = new Pin(laneCenterX + pinSpacing * 1.5f, pinsBaseY + rowSpacing * 3);
+    /**
+     * 記録中の操作のログを書き出します。
+     * @param out 書き出し先
+     * @return 記録中のログがあり、書き出した場合true
+     * @throws IOException 書き出しに失敗した場合
+     */
+    public boolean writeRecording(OutputStream out) throws IOException {
+        synchronized (simulation) {
+            ReplayLog log = simulation.getRecording();
+            if (log == null) {
+                return false;
+            }
+            log.writeTo(out);
+            return true;
+        }
+    }
 
-        // ボールの初期位置もレーンに合わせて調整
-        ball.setInitialPosition(laneCenterX, getHeight() * 0.9f); // 画面下部、中央
-        ball.reset();
+    /**
+     * ログのゲームを最初から再生します。シミュレーションの更新回数もログに合わせます。
+     * 画面サイズが確定する前に呼び出した場合は、確定した時点で再生を始めます。
+     * @param log 再生するログ
+     */
+    public void startReplay(ReplayLog log) {
+        tickRate = Math.round(BallPhysics.REFERENCE_TICK_RATE / log.getTickScale());
+        SimulationThread thread = simulationThread;
+        synchronized (simulation) {
+            if (thread == null) {
+                pendingReplay = log;
+                return;
+            }
+            simulation.startReplay(log);
+        }
+        thread.setTickRate(tickRate);
+        thread.wake();
     }
 
+    /**
+     * ゲームを一時停止します。投球中でもボールとピンはその場で止まり、描画も止まります。
+     * アクティビティのonPause()から呼び出します。
+     */
+    public void pause() {
+        paused = true;
+        SimulationThread thread = simulationThread;
+        if (thread != null) {
+            thread.setPaused(true);
+        }
+        RenderThread render = renderThread;
+        if (render != null) {
+            render.setPaused(true);
+        }
+    }
 
     /**
-     * ゲームロジックの更新を行います。
-     * ボールの移動、ピンとの衝突判定、スコア計算などを処理します。
+     * 一時停止したゲームを再開します。アクティビティのonResume()から呼び出します。
      */
-    public void update() {
-        if (gameState.isGameRunning()) {
-            if (!ball.isStopped()) {
-                ball.update(); // ボールの位置更新
-
-                // ピンとの衝突判定
-                for (Pin pin : pins) {
-                    if (pin.isStanding() && ball.collidesWith(pin)) {
-                        pin.fall(); // ピンを倒す
-                        // TODO: 衝突後のボールの挙動変更（弾む、方向転換など）をよりリアルにする
-                    }
-                }
+    public void resume() {
+        paused = false;
+        SimulationThread thread = simulationThread;
+        if (thread != null) {
+            thread.setPaused(false);
+        }
+        RenderThread render = renderThread;
+        if (render != null) {
+            render.setPaused(false);
+        }
+    }
 
-                // ボールがピンのエリアを通過した、または停止したかを判定
-                // 今回は簡易的に、ボールが特定のY座標より奥に進んだら停止とみなす
-                if (ball.getY() < getHeight() * 0.2f || ball.isStopped()) {
-                    ball.stop(); // ボールを完全に停止させる
-                    processShotResult(); // ショット結果を処理
-                }
+    /**
+     * 現在のゲーム状態をスナップショットとして保存します。
+     * 返される配列は内部のバッファなので、次の呼び出しで上書きされます。
+     * @return GameSnapshot形式のバイト配列
+     */
+    public byte[] saveSnapshot() {
+        synchronized (simulation) {
+            if (!restorePending && simulation.getWidth() > 0) {
+                simulation.saveSnapshot(snapshot);
             }
+            // まだ復元していないスナップショットがあればそれをそのまま返す
+            return snapshot;
         }
     }
 
-    // ショットの結果（倒れたピンの数）を処理し、スコアを更新し、次の状態へ移行
-    private void processShotResult() {
-        if (gameState.isShotProcessed()) { // 二重処理防止
-            return;
+    /**
+     * スナップショットから状態を復元します。画面サイズが確定した時点で反映されます。
+     * @param data saveSnapshot()で保存したバイト配列
+     */
+    public void restoreSnapshot(byte[] data) {
+        if (data == null || data.length != snapshot.length) {
+            return; // 形式が違うものは無視して新しいゲームを始める
+        }
+        synchronized (simulation) {
+            System.arraycopy(data, 0, snapshot, 0, snapshot.length);
+            restorePending = true;
         }
+    }
 
-        int fallenPins = 0;
-        for (Pin pin : pins) {
-            if (!pin.isStanding()) {
-                fallenPins++;
-            }
+
+    /**
+     * フレームの段階ごとの処理時間を返します。
+     * @return SimulationThreadとRenderThreadが記録しているFrameProfile
+     */
+    public FrameProfile getFrameProfile() {
+        return frameProfile;
+    }
+
+    /**
+     * 描画の品質とフレームレートの段階を決めるQualityGovernorを返します。
+     * @return RenderThreadがフレームの処理時間を渡しているQualityGovernor
+     */
+    public QualityGovernor getQualityGovernor() {
+        return quality;
+    }
+
+    /**
+     * 端末の温度状態を設定します。温度が高いほど描画の品質とフレームレートを下げます。
+     * @param status PowerManager.getCurrentThermalStatus()の値
+     */
+    public void setThermalStatus(int status) {
+        quality.setThermalStatus(status);
+    }
+
+    /**
+     * シミュレーションスレッドから描画スレッドへ状態を渡すための受け渡し口を返します。
+     * @return RenderStateExchange
+     */
+    public RenderStateExchange getRenderStateExchange() {
+        return renderStates;
+    }
+
+    /**
+     * 現在のゲームの状態を描画スレッドに公開します。シミュレーションスレッドから呼び出します。
+     * @param tickTimeNanos 状態の時刻 (System.nanoTime基準)
+     * @param sequence ティックの通し番号
+     */
+    public void publishRenderState(long tickTimeNanos, long sequence) {
+        synchronized (simulation) {
+            renderStates.getBackBuffer().capture(simulation, tickTimeNanos, sequence);
         }
-        gameState.scorePins(fallenPins);
-        Log.d("GameView", "Fallen Pins: " + fallenPins + ", Current Score: " + gameState.getTotalScore());
+        renderStates.publish();
+        RenderThread render = renderThread;
+        if (render != null) {
+            render.requestRender(); // 描画スレッドが休んでいれば起こす
+        }
+    }
 
-        if (gameState.isFrameFinished()) {
-            // フレーム終了、次のフレームへ
-            resetAllPins();
-            ball.reset();
-            gameState.nextFrame();
-        } else {
-            // フレーム内の次の投球へ (2投目)
-            if (gameState.getCurrentShot() == 1) { // 1投目が終わった場合
-                // 倒れたピンはそのまま
-                ball.reset(); // ボールのみリセット
-                gameState.nextShot();
-            } else { // 2投目が終わった場合
-                resetAllPins();
-                ball.reset();
-                gameState.nextFrame();
-            }
+    /**
+     * シミュレーションを進めなくても状態が変わらないかを返します。シミュレーションスレッドから呼び出します。
+     * @return 投球待ちでボールもピンも止まっていて、未処理の入力もなければtrue
+     */
+    public boolean isSimulationIdle() {
+        return simulation.isIdle();
+    }
+
+    /**
+     * フレーム処理時間のオーバーレイを表示するかを設定します。
+     * @param enabled 表示する場合true
+     */
+    public void setProfileOverlayEnabled(boolean enabled) {
+        profileOverlayEnabled = enabled;
+    }
+
+    /**
+     * 経過時間を指定してゲームロジックの更新を行います。
+     * ボールの移動、ピンとの衝突判定、スコア計算などはSimulationが処理します。SimulationThreadから呼び出します。
+     * @param dt 経過時間 (基準ティック単位。60Hzで1ティックなら1)
+     */
+    public void update(float dt) {
+        synchronized (simulation) {
+            simulation.update(dt);
+            recordFinishedGame();
         }
-        gameState.setShotProcessed(true); // ショット処理済みフラグを設定
     }
 
-    // 全てのピンを立てた状態にリセット
-    private void resetAllPins() {
-        for (Pin pin : pins) {
-            pin.reset();
+    // ゲームオーバーになったティックで、そのゲームを履歴の書き込み待ちに加える
+    // 成績の集計と同じく、1投目から見ていたゲームだけを記録する (途中から再開したゲームと再生したゲームは除く)
+    private void recordFinishedGame() {
+        boolean gameOver = simulation.getGameState().isGameOver();
+        if (gameOver && !wasGameOver && simulation.isSeenFromStart()) {
+            ScoreHistoryRecorder recorder = scoreRecorder;
+            if (recorder != null) {
+                recorder.submit(simulation, System.currentTimeMillis());
+            }
         }
+        wasGameOver = gameOver;
     }
 
 
-    @Override
-    public void draw(Canvas canvas) {
-        super.draw(canvas);
+    /**
+     * ゲーム画面を描画します。RenderThreadから呼び出し、Simulationには触れません。
+     * @param canvas 描画対象のCanvas
+     * @param state 描画するティックの状態
+     * @param alpha 物理ティック間の補間係数 (0～1)
+     */
+    public void render(Canvas canvas, RenderState state, float alpha) {
         if (canvas == null) return;
+        int level = quality.getLevel();
+        if (level != appliedQualityLevel) {
+            applyQuality(level);
+        }
 
-        // 背景色の描画
-        canvas.drawColor(Color.parseColor("#ADD8E6")); // 空色 (LightBlue)
+        // 背景とレーンはキャッシュしたレイヤーを転送するだけ
+        // (レイヤーはバッファのサイズで作るので、サイズを変えている途中で合わなければその場で描画)
+        Bitmap layer = backgroundLayer;
+        boolean layerDrawn = layer != null && layer.getWidth() == canvas.getWidth() && layer.getHeight() == canvas.getHeight();
+        if (layerDrawn) {
+            canvas.drawBitmap(layer, 0, 0, null);
+        }
 
-        // レーンの描画 (画面下部に配置)
-        float laneTop = getHeight() * (1 - LANE_HEIGHT_RATIO);
-        float laneBottom = getHeight();
-        float laneLeft = getWidth() * ((1 - LANE_WIDTH_RATIO) / 2);
-        float laneRight = getWidth() * ((1 + LANE_WIDTH_RATIO) / 2);
-        canvas.drawRect(laneLeft, laneTop, laneRight, laneBottom, lanePaint);
+        // 描画解像度を下げている間はバッファが画面より小さいので、画面の座標のまま描けるよう縮小する
+        canvas.save();
+        if (getWidth() > 0 && getHeight() > 0) {
+            canvas.scale((float) canvas.getWidth() / getWidth(), (float) canvas.getHeight() / getHeight());
+        }
+        if (!layerDrawn) {
+            drawBackground(canvas, getWidth(), getHeight()); // surfaceChanged()より前もその場で描画
+        }
+
+        // エイムガイド (指を離したときの軌跡と、ピンに当たる位置または止まる位置のボールの輪郭)
+        if (state.isAiming()) {
+            canvas.drawLine(state.getBallX(), state.getBallY(), state.getAimEndX(), state.getAimEndY(), aimPaint);
+            if (aimOutlineEnabled) {
+                canvas.drawCircle(state.getAimEndX(), state.getAimEndY(), state.getBallRadius(), aimPaint);
+            }
+        }
 
         // ボールの描画
-        ball.draw(canvas, ballPaint);
+        ball.draw(canvas, ballPaint, state, alpha);
 
         // ピンの描画
         for (Pin pin : pins) {
-            pin.draw(canvas, pinPaint);
+            pin.draw(canvas, pinPaint, state, rotateFallenPins);
         }
 
-        // スコア表示
-        canvas.drawText("Score: " + gameState.getTotalScore(), 50, 80, scoreTextPaint);
-        canvas.drawText("Frame: " + gameState.getCurrentFrame() + " / 10", 50, 160, scoreTextPaint);
-        canvas.drawText("Shot: " + gameState.getCurrentShot() + " / 2", 50, 240, scoreTextPaint);
+        // スコア表示とゲームオーバーメッセージ
+        hud.draw(canvas, state, getWidth(), getHeight());
 
-        // ゲームオーバーメッセージ
-        if (gameState.isGameOver()) {
-            scoreTextPaint.setColor(Color.RED);
-            scoreTextPaint.setTextSize(100);
-            scoreTextPaint.setTextAlign(Paint.Align.CENTER);
-            canvas.drawText("Game Over!", getWidth() / 2f, getHeight() / 2f, scoreTextPaint);
-            scoreTextPaint.setColor(Color.BLACK); // 元に戻す
-            scoreTextPaint.setTextSize(60);
-            scoreTextPaint.setTextAlign(Paint.Align.LEFT);
+        if (profileOverlayEnabled) {
+            drawProfileOverlay(canvas);
+        }
+        canvas.restore();
+    }
+
+    // 品質の段階をPaintの設定と演出に反映する (描画スレッド用)
+    // 描画解像度の倍率はバッファのサイズを変える必要があるため、UIスレッドに頼む
+    private void applyQuality(int level) {
+        appliedQualityLevel = level;
+        boolean antiAlias = QualityGovernor.isAntiAlias(level);
+        ballPaint.setAntiAlias(antiAlias);
+        pinPaint.setAntiAlias(antiAlias);
+        aimPaint.setAntiAlias(antiAlias);
+        hud.setAntiAlias(antiAlias);
+        int effects = QualityGovernor.getEffectDetail(level);
+        rotateFallenPins = effects == QualityGovernor.EFFECTS_FULL;
+        aimOutlineEnabled = effects != QualityGovernor.EFFECTS_MINIMAL;
+        float scale = QualityGovernor.getRenderScale(level);
+        if (scale != renderScale) {
+            renderScale = scale;
+            post(applyRenderScale);
+        }
+    }
+
+    // フレーム処理時間の集計を画面右上に描画する
+    // 表示用の文字列はProfileTextが一定フレームごとに再利用するchar配列に組み立て直し、メモリ割り当ては行わない
+    private void drawProfileOverlay(Canvas canvas) {
+        profileText.update(frameProfile);
+        float x = getWidth() - 20;
+        float y = 40;
+        for (int i = 0; i < FrameProfile.PHASE_COUNT; i++) {
+            canvas.drawText(profileText.getLine(i), 0, profileText.getLength(i), x, y, profileTextPaint);
+            y += 40;
         }
     }
 
     @Override
     public boolean onTouchEvent(MotionEvent event) {
-        // タッチイベント処理
-        if (event.getAction() == MotionEvent.ACTION_DOWN) {
-            if (gameState.isWaitingForThrow() && !ball.isThrowing()) {
-                // ボールが停止しており、かつ投球待ち状態の場合のみ処理
-                float startX = ball.getX(); // ボールの初期X座標
-                float startY = ball.getY(); // ボールの初期Y座標
-
-                // タッチされた位置を目標点として、ボールを投げる
-                // この例では、タッチしたY座標がボールのY座標より上（画面奥側）の場合に投げる
-                if (event.getY() < ball.getY()) {
-                    // タッチ座標とボールの現在位置から投げる方向と速度を決定
-                    // ここでは、タッチしたX座標に投げるようにし、Y軸方向の速度は固定
-                    float targetX = event.getX();
-                    float throwSpeed = 30f; // 投球速度を調整
-                    ball.throwBall(targetX, throwSpeed);
-                    gameState.startThrow(); // 投球開始状態に移行
-                    gameState.setShotProcessed(false); // 新しいショットが始まったのでフラグをリセット
+        // タッチイベントはキューに入れるだけで、投球やリスタートはシミュレーションスレッドが次のティックで処理する
+        // (タップならタッチ位置に向けて、スワイプならその速さと向きで投げる)
+        InputQueue input = simulation.getInput();
+        switch (event.getActionMasked()) {
+            case MotionEvent.ACTION_DOWN:
+                input.offer(InputQueue.ACTION_DOWN, event.getX(), event.getY(), toNanos(event.getEventTime()));
+                break;
+            case MotionEvent.ACTION_MOVE:
+                // まとめて届いた途中の位置も渡し、スワイプの速度を正確に求める
+                for (int i = 0; i < event.getHistorySize(); i++) {
+                    input.offer(InputQueue.ACTION_MOVE, event.getHistoricalX(i), event.getHistoricalY(i),
+                            toNanos(event.getHistoricalEventTime(i)));
                 }
-            } else if (gameState.isGameOver()) {
-                // ゲームオーバー時に画面をタップしたらリスタート
-                gameState.resetGame();
-                resetAllPins();
-                ball.reset();
-            }
-            return true;
+                input.offer(InputQueue.ACTION_MOVE, event.getX(), event.getY(), toNanos(event.getEventTime()));
+                break;
+            case MotionEvent.ACTION_UP:
+                input.offer(InputQueue.ACTION_UP, event.getX(), event.getY(), toNanos(event.getEventTime()));
+                break;
+            case MotionEvent.ACTION_CANCEL:
+                input.offer(InputQueue.ACTION_CANCEL, event.getX(), event.getY(), toNanos(event.getEventTime()));
+                break;
+            default:
+                return super.onTouchEvent(event);
         }
-        return super.onTouchEvent(event);
+        // キューに入れてから、休止中のシミュレーションスレッドを起こす
+        SimulationThread thread = simulationThread;
+        if (thread != null) {
+            thread.wake();
+        }
+        return true;
+    }
+
+    // MotionEventの時刻 (ミリ秒) をナノ秒に変換する
+    private static long toNanos(long millis) {
+        return millis * 1_000_000L;
     }
 }
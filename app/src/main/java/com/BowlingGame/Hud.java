@@ -0,0 +1,72 @@
+package com.BowlingGame;
+
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+
+import com.BowlingGame.core.HudText;
+import com.BowlingGame.core.RenderState;
+
+/**
+ * スコア・フレーム・投球回数とゲームオーバーの表示を担当するクラス。
+ * 表示する文字列はHudTextが再利用するchar配列に組み立て、値が変わったときだけ作り直すので、
+ * 毎フレームの描画ではメモリ割り当てを行いません。
+ */
+public class Hud {
+    private static final String GAME_OVER_TEXT = "Game Over!";
+
+    // 表示位置
+    private static final float TEXT_X = 50;
+    private static final float SCORE_Y = 80;
+    private static final float FRAME_Y = 160;
+    private static final float SHOT_Y = 240;
+
+    // 状態ごとに設定済みのPaint (描画中に設定を書き換えない)
+    private final Paint textPaint;
+    private final Paint gameOverPaint;
+
+    private final HudText text = new HudText(); // 表示中の文字列
+
+    public Hud() {
+        textPaint = new Paint();
+        textPaint.setColor(Color.BLACK);
+        textPaint.setTextSize(60); // テキストサイズ
+        textPaint.setAntiAlias(true);
+        textPaint.setTextAlign(Paint.Align.LEFT); // テキストの揃え方
+
+        gameOverPaint = new Paint();
+        gameOverPaint.setColor(Color.RED);
+        gameOverPaint.setTextSize(100);
+        gameOverPaint.setAntiAlias(true);
+        gameOverPaint.setTextAlign(Paint.Align.CENTER);
+    }
+
+    /**
+     * 文字のアンチエイリアスを設定します。描画スレッドから呼び出します。
+     * @param enabled アンチエイリアスする場合true
+     */
+    public void setAntiAlias(boolean enabled) {
+        textPaint.setAntiAlias(enabled);
+        gameOverPaint.setAntiAlias(enabled);
+    }
+
+    /**
+     * HUDを描画します。
+     * @param canvas 描画対象のCanvas
+     * @param state 表示するティックの状態
+     * @param width 画面の幅
+     * @param height 画面の高さ
+     */
+    public void draw(Canvas canvas, RenderState state, float width, float height) {
+        text.update(state); // 値が変わった行だけ文字列を作り直す
+
+        canvas.drawText(text.getScoreText(), 0, text.getScoreLength(), TEXT_X, SCORE_Y, textPaint);
+        canvas.drawText(text.getFrameText(), 0, text.getFrameLength(), TEXT_X, FRAME_Y, textPaint);
+        canvas.drawText(text.getShotText(), 0, text.getShotLength(), TEXT_X, SHOT_Y, textPaint);
+
+        // ゲームオーバーメッセージ
+        if (state.isGameOver()) {
+            canvas.drawText(GAME_OVER_TEXT, width / 2f, height / 2f, gameOverPaint);
+        }
+    }
+}
@@ -2,28 +2,225 @@ package com.BowlingGame;
 
 import androidx.appcompat.app.AppCompatActivity;
 import android.os.Bundle;
+import android.os.PowerManager;
+import android.util.Log;
+
+import com.BowlingGame.core.EventTrace;
+import com.BowlingGame.core.FrameProfile;
+import com.BowlingGame.core.PlayerStatistics;
+import com.BowlingGame.core.QualityGovernor;
+import com.BowlingGame.core.ReplayLog;
+import com.BowlingGame.core.ScoreHistoryRecorder;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class MainActivity extends AppCompatActivity {
 
+    private static final String KEY_SNAPSHOT = "snapshot"; // 保存するゲーム状態のキー
+    private static final String TRACE_FILE = "trace.txt"; // トレースの書き出し先 (アプリのfilesディレクトリ)
+    private static final String FRAME_PROFILE_FILE = "frame_profile.txt"; // フレーム処理時間の書き出し先
+    private static final String REPLAY_FILE = "replay.bin"; // 操作の記録の書き出し先
+    private static final String SCORE_HISTORY_FILE = "scores.bin"; // 終了したゲームの履歴
+    private static final String STATISTICS_FILE = "stats.txt"; // 成績の集計の書き出し先
+    // 再生するログのファイル名 (filesディレクトリ内)。デバッグビルドでのみ有効
+    // adb shell am start -n com.BowlingGame/.MainActivity --es replay replay.bin
+    private static final String EXTRA_REPLAY = "replay";
+
+    // デバッグ用のファイルの書き出しと履歴を閉じるのはこのスレッドで順に行い、UIスレッドを待たせない
+    // (プロセスに1つだけにして、画面回転をまたいでも書き出しの順序を保つ)
+    private static final ExecutorService DUMP_EXECUTOR = Executors.newSingleThreadExecutor();
+
+    // 履歴と成績もプロセスに1つだけ持ち、画面回転のたびに書き込みスレッドを止めたり履歴を読み直したりしない
+    private static ScoreHistoryRecorder scoreRecorder; // 終了したゲームを別スレッドで履歴に書き込む
+    private static PlayerStatistics statistics; // 成績 (履歴から作り直した分 + 起動後のゲーム)
+
+    private GameView gameView;
+    private PowerManager powerManager; // 端末の温度状態の通知元
+    // 温度状態の変化をGameViewに伝え、描画の品質とフレームレートを下げさせる
+    private final PowerManager.OnThermalStatusChangedListener thermalListener =
+            status -> gameView.setThermalStatus(status);
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+        // デバッグビルドではゲームループのイベントトレースを記録する
+        EventTrace.setEnabled(BuildConfig.DEBUG);
+
         // GameViewをコンテンツビューとして設定
         // この時点でGameViewのインスタンスが生成され、描画が開始されます
-        setContentView(new GameView(this));
+        gameView = new GameView(this);
+        gameView.setProfileOverlayEnabled(BuildConfig.DEBUG); // デバッグビルドではフレーム処理時間を画面に表示
+        gameView.setRecordingEnabled(BuildConfig.DEBUG); // デバッグビルドでは操作を記録して不具合を再現できるようにする
+        if (scoreRecorder == null) {
+            statistics = new PlayerStatistics();
+            scoreRecorder = new ScoreHistoryRecorder(new File(getFilesDir(), SCORE_HISTORY_FILE), statistics);
+            // ファイルを開くのも、履歴からの成績の集計も書き込みスレッドで行う
+            // 前のActivityの履歴を閉じている途中なら、閉じ終わってから同じファイルを開くよう同じスレッドで開始する
+            DUMP_EXECUTOR.execute(scoreRecorder::start);
+        }
+        gameView.setScoreRecorder(scoreRecorder);
+        gameView.setStatistics(statistics);
+        powerManager = getSystemService(PowerManager.class);
+        if (savedInstanceState != null) {
+            // 画面回転やプロセス再生成の前の状態を復元
+            gameView.restoreSnapshot(savedInstanceState.getByteArray(KEY_SNAPSHOT));
+        }
+        String replayName = getIntent() != null ? getIntent().getStringExtra(EXTRA_REPLAY) : null;
+        if (BuildConfig.DEBUG && replayName != null) {
+            loadReplay(new File(getFilesDir(), replayName));
+        }
+        setContentView(gameView);
+    }
+
+    // ファイルから操作のログを読み込み、再生を始める
+    private void loadReplay(File file) {
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+            gameView.startReplay(ReplayLog.readFrom(in));
+        } catch (IOException | IllegalArgumentException e) {
+            Log.w("MainActivity", "loadReplay: " + e.getMessage());
+        }
     }
 
     @Override
     protected void onPause() {
         super.onPause();
-        // アプリが一時停止されたときにゲームループを停止する処理が必要な場合に追加
-        // 例: if (gameView != null) gameView.getThread().setRunning(false);
+        // ゲームループを止めてから、その時点の状態を保存しておく
+        gameView.pause();
+        gameView.saveSnapshot();
+        if (powerManager != null) {
+            powerManager.removeThermalStatusListener(thermalListener);
+        }
+        // トレースが有効ならファイルに書き出す (adb shell run-as com.BowlingGame cat files/trace.txt で取得)
+        if (EventTrace.isEnabled()) {
+            dumpTrace();
+        }
+        if (BuildConfig.DEBUG) {
+            dumpFrameProfile(); // files/frame_profile.txt
+            dumpRecording(); // files/replay.bin
+            dumpStatistics(); // files/stats.txt
+        }
+    }
+
+    // 成績の集計をファイルに書き出す (集計はスレッドセーフなので、書き出しスレッドでそのまま読む)
+    private void dumpStatistics() {
+        File file = new File(getFilesDir(), STATISTICS_FILE);
+        PlayerStatistics current = statistics; // 終了時にプロセスの参照が消えても、この時点の集計を書き出す
+        DUMP_EXECUTOR.execute(() -> {
+            try (Writer writer = new FileWriter(file)) {
+                current.dump(writer);
+            } catch (IOException e) {
+                Log.w("MainActivity", "dumpStatistics: " + e.getMessage());
+            }
+        });
+    }
+
+    // 記録中の操作のログをファイルに書き出す
+    // ログはゲームの再開前にメモリ上にコピーし、ファイルへの書き込みだけを書き出しスレッドで行う
+    // 再生中など記録がないときは、再生元のファイルを消さないよう何も書き出さない
+    private void dumpRecording() {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try {
+            if (!gameView.writeRecording(buffer)) {
+                return;
+            }
+        } catch (IOException e) {
+            Log.w("MainActivity", "dumpRecording: " + e.getMessage());
+            return;
+        }
+        File file = new File(getFilesDir(), REPLAY_FILE);
+        DUMP_EXECUTOR.execute(() -> {
+            try (OutputStream out = new FileOutputStream(file)) {
+                buffer.writeTo(out);
+            } catch (IOException e) {
+                Log.w("MainActivity", "dumpRecording: " + e.getMessage());
+            }
+        });
+    }
+
+    // イベントトレースをファイルに書き出す
+    // ゲームループが止まっている間に文字列にしておき (再開後の記録と混ざらないように)、書き込みだけを書き出しスレッドで行う
+    private void dumpTrace() {
+        StringBuilder text = new StringBuilder();
+        try {
+            EventTrace.dump(text);
+        } catch (IOException e) {
+            throw new AssertionError(e); // StringBuilderへの書き出しは失敗しない
+        }
+        File file = new File(getFilesDir(), TRACE_FILE);
+        DUMP_EXECUTOR.execute(() -> {
+            try (Writer writer = new FileWriter(file)) {
+                writer.append(text);
+            } catch (IOException e) {
+                Log.w("MainActivity", "dumpTrace: " + e.getMessage());
+            }
+        });
+    }
+
+    // フレームの段階ごとの処理時間の集計をファイルに書き出す
+    // (FrameProfileとQualityGovernorはどのスレッドからも読めるので、書き出しスレッドでそのまま読む)
+    private void dumpFrameProfile() {
+        File file = new File(getFilesDir(), FRAME_PROFILE_FILE);
+        FrameProfile profile = gameView.getFrameProfile();
+        QualityGovernor quality = gameView.getQualityGovernor();
+        DUMP_EXECUTOR.execute(() -> {
+            try (Writer writer = new FileWriter(file)) {
+                profile.dump(writer);
+                quality.dump(writer); // 品質の段階と上げ下げの回数
+            } catch (IOException e) {
+                Log.w("MainActivity", "dumpFrameProfile: " + e.getMessage());
+            }
+        });
     }
 
     @Override
     protected void onResume() {
         super.onResume();
-        // アプリが再開されたときにゲームループを再開する処理が必要な場合に追加
-        // 例: if (gameView != null) gameView.getThread().setRunning(true);
+        // 状態はGameViewが保持しており、サーフェス再生成時にそのまま使われる
+        gameView.resume();
+        if (powerManager != null) {
+            gameView.setThermalStatus(powerManager.getCurrentThermalStatus());
+            powerManager.addThermalStatusListener(thermalListener); // 停止中の変化は再開時に読み直す
+        }
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        gameView.setScoreRecorder(null);
+        if (!isFinishing()) {
+            return; // 画面回転などで作り直すだけなら、次のActivityがそのまま使う
+        }
+        // 書き込み待ちのゲームを書き込んでから履歴を閉じる
+        // 書き込みスレッドは履歴からの集計の作り直しの途中かもしれないので、終了を待つのはUIスレッドでは行わない
+        ScoreHistoryRecorder recorder = scoreRecorder;
+        scoreRecorder = null;
+        statistics = null;
+        DUMP_EXECUTOR.execute(() -> {
+            try {
+                recorder.close();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (recorder.getError() != null) {
+                Log.w("MainActivity", "score history: " + recorder.getError().getMessage());
+            }
+        });
+    }
+
+    @Override
+    protected void onSaveInstanceState(Bundle outState) {
+        super.onSaveInstanceState(outState);
+        outState.putByteArray(KEY_SNAPSHOT, gameView.saveSnapshot().clone()); // 内部バッファは再利用されるのでコピーを渡す
     }
 }
@@ -3,75 +3,56 @@ package com.BowlingGame;
 import android.graphics.Canvas;
 import android.graphics.Paint;
 import android.graphics.Color;
-import android.graphics.RectF;
 
+import com.BowlingGame.core.PinRack;
+import com.BowlingGame.core.RenderState;
+
+/**
+ * ピン1本の描画を担当するクラス。
+ * 位置や立っているかどうかはシミュレーションスレッドが公開したRenderStateから読み出します。
+ */
 public class Pin {
-    private float x; // ピンのX座標 (中心)
-    private float y; // ピンのY座標 (中心)
-    private boolean isStanding; // ピンが立っているかどうかのフラグ
+    private final int index; // ラック内でのピンの番号 (0～9)
 
     // 定数
-    public static final float PIN_WIDTH = 30; // ピンの幅 (描画用)
-    public static final float PIN_HEIGHT = 100; // ピンの高さ (描画用)
-    public static final float PIN_RADIUS = 15; // 衝突判定用の半径 (簡易的に円とみなす場合)
+    public static final float PIN_WIDTH = PinRack.PIN_WIDTH; // ピンの幅 (描画用)
+    public static final float PIN_HEIGHT = PinRack.PIN_HEIGHT; // ピンの高さ (描画用)
+    private static final float RADIANS_TO_DEGREES = (float) (180 / Math.PI);
 
-    public Pin(float x, float y) {
-        this.x = x;
-        this.y = y;
-        this.isStanding = true; // 最初は立っている状態
+    public Pin(int index) {
+        this.index = index;
     }
 
     /**
      * ピンを描画します。
-     * 立っているピンと倒れているピンで描画方法を分けることができます。
+     * 立っているピンと倒れているピンで描画方法を分けます。
      * @param canvas 描画対象のCanvas
      * @param paint 描画に使うPaintオブジェクト
+     * @param state 描画するティックの状態
+     * @param rotateFallen 倒れたピンを倒れた向きに回転させる場合true (falseなら横向きに寝かせるだけ)
      */
-    public void draw(Canvas canvas, Paint paint) {
-        if (isStanding) {
+    public void draw(Canvas canvas, Paint paint, RenderState state, boolean rotateFallen) {
+        if (!state.isActive(index)) {
+            return; // レーン上から取り除かれたピンは描画しない
+        }
+        float x = state.getPinX(index);
+        float y = state.getPinY(index);
+        if (state.isStanding(index)) {
             // 立っているピンを白で描画
             paint.setColor(Color.WHITE);
             // 簡易的に縦長の長方形として描画
             canvas.drawRect(x - PIN_WIDTH / 2, y - PIN_HEIGHT / 2, x + PIN_WIDTH / 2, y + PIN_HEIGHT / 2, paint);
+        } else if (!rotateFallen) {
+            // 演出を減らしているときは、Canvasの回転を省いて横向きに寝かせるだけにする
+            paint.setColor(Color.LTGRAY);
+            canvas.drawRect(x - PIN_HEIGHT / 2, y - PIN_WIDTH / 2, x + PIN_HEIGHT / 2, y + PIN_WIDTH / 2, paint);
         } else {
-            // 倒れているピンは描画しないか、異なる表現をする
-            // この例では、倒れたピンは描画しない (見えなくなる)
-            // あるいは、半透明にするなどの表現も可能
-            // paint.setAlpha(100); // 半透明にする例
-            // canvas.drawRect(x - PIN_WIDTH / 2, y - PIN_HEIGHT / 2, x + PIN_WIDTH / 2, y + PIN_HEIGHT / 2, paint);
-            // paint.setAlpha(255); // 元に戻す
+            // 倒れて滑っているピンは、倒れた向きに寝かせた長方形として描画
+            paint.setColor(Color.LTGRAY);
+            canvas.save();
+            canvas.rotate(state.getPinOrientation(index) * RADIANS_TO_DEGREES, x, y);
+            canvas.drawRect(x - PIN_HEIGHT / 2, y - PIN_WIDTH / 2, x + PIN_HEIGHT / 2, y + PIN_WIDTH / 2, paint);
+            canvas.restore();
         }
     }
-
-    /**
-     * ピンを倒します。
-     */
-    public void fall() {
-        this.isStanding = false;
-        // TODO: ピンが倒れるアニメーションなどをここに追加することも可能
-    }
-
-    /**
-     * ピンを立てた状態にリセットします。
-     */
-    public void reset() {
-        this.isStanding = true;
-    }
-
-    /**
-     * ピンが立っているかどうかを返します。
-     * @return 立っていればtrue、そうでなければfalse
-     */
-    public boolean isStanding() {
-        return isStanding;
-    }
-
-    // --- Getterメソッド ---
-    public float getX() {
-        return x;
-    }
-
-    public float getY() {
-        return y;
-    }
 }
@@ -0,0 +1,209 @@
+package com.BowlingGame;
+
+import android.graphics.Canvas;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import android.view.Choreographer;
+import android.view.SurfaceHolder;
+
+import com.BowlingGame.core.FrameProfile;
+import com.BowlingGame.core.QualityGovernor;
+import com.BowlingGame.core.RenderState;
+import com.BowlingGame.core.RenderStateExchange;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 画面の描画を行うスレッド。
+ * Choreographerのフレームコールバック(vsync)に合わせて、SimulationThreadが公開した最新の状態を描画します。
+ * Simulationには触れないため、物理演算の進行を待つことはありません。
+ *
+ * <p>新しい状態がなければ描画せず、フレームコールバックの登録も止めます。
+ * requestRender()で再開するため、静止している間はCPUもGPUも使いません。</p>
+ *
+ * <p>フレームの処理時間はQualityGovernorに渡し、その段階の目標フレームレートより早いvsyncは飛ばします。</p>
+ */
+public class RenderThread extends Thread implements Choreographer.FrameCallback {
+    private SurfaceHolder surfaceHolder;
+    private GameView gameView;
+    private final RenderStateExchange exchange; // シミュレーションスレッドから状態を受け取る
+    private final SimulationThread simulationThread; // 補間に使うティックの長さを参照する
+    private final FrameProfile profile; // フレームの段階ごとの処理時間
+    private final QualityGovernor quality; // 処理時間から描画の品質とフレームレートを決める
+    private volatile boolean running;
+
+    private Looper looper; // このスレッドのLooper (停止時にquitする)
+    private Handler handler; // 他のスレッドからフレームコールバックを登録するためのHandler
+    private final AtomicBoolean framePending = new AtomicBoolean(); // フレームコールバックを登録済みか
+    private volatile boolean redrawRequested = true; // 新しい状態がなくても次のフレームで描画する
+    private volatile boolean paused; // 一時停止中は描画しない
+    private long lastDrawnSequence; // 前回描画した状態の通し番号
+    private float lastDrawnAlpha; // 前回描画したときの補間係数
+    private long lastFrameTimeNanos; // 前回描画したフレームのvsyncの時刻
+    private final Runnable postFrame = new Runnable() {
+        @Override
+        public void run() {
+            Choreographer.getInstance().postFrameCallback(RenderThread.this);
+        }
+    };
+    private volatile boolean hardwareCanvasEnabled = true; // GPUで描画するCanvasを使うか
+
+    // vsyncの時刻のずれを許す幅 (目標の間隔よりこれ以上早いvsyncだけを飛ばす)
+    private static final long FRAME_PACING_SLACK_NANOS = 2_000_000L;
+
+    public RenderThread(SurfaceHolder surfaceHolder, GameView gameView, SimulationThread simulationThread) {
+        super("RenderThread");
+        this.surfaceHolder = surfaceHolder;
+        this.gameView = gameView;
+        this.exchange = gameView.getRenderStateExchange();
+        this.simulationThread = simulationThread;
+        this.profile = gameView.getFrameProfile();
+        this.quality = gameView.getQualityGovernor();
+    }
+
+    public void setRunning(boolean running) {
+        this.running = running;
+        if (!running) {
+            synchronized (this) {
+                if (looper != null) {
+                    looper.quit(); // ループを抜けてrun()を終了させる
+                }
+            }
+        }
+    }
+
+    /**
+     * 次のvsyncでフレームを処理するよう要求します。任意のスレッドから呼び出せます。
+     * 新しい状態が公開されたときに呼び出してください。
+     */
+    public void requestRender() {
+        if (framePending.compareAndSet(false, true)) {
+            Handler h;
+            synchronized (this) {
+                h = handler;
+            }
+            if (h == null || !h.post(postFrame)) {
+                framePending.set(false); // ループ開始前や終了後。run()の開始時に登録される
+            }
+        }
+    }
+
+    /**
+     * 新しい状態がなくても次のフレームで描画し直すよう要求します (画面サイズの変更時など)。
+     */
+    public void requestRedraw() {
+        redrawRequested = true;
+        requestRender();
+    }
+
+    /**
+     * 一時停止・再開を設定します。再開時は画面を描画し直します。
+     * @param paused 一時停止する場合true
+     */
+    public void setPaused(boolean paused) {
+        this.paused = paused;
+        if (!paused) {
+            requestRedraw();
+        }
+    }
+
+    /**
+     * lockHardwareCanvas()でGPU描画するかを設定します。
+     * falseにするとソフトウェア描画のlockCanvas()を使います。
+     * @param enabled GPU描画する場合true
+     */
+    public void setHardwareCanvasEnabled(boolean enabled) {
+        this.hardwareCanvasEnabled = enabled;
+    }
+
+    public boolean isHardwareCanvasEnabled() {
+        return hardwareCanvasEnabled;
+    }
+
+    // 描画用のCanvasを取得する。GPU描画のCanvasが取得できなければ以降はソフトウェア描画に切り替える
+    private Canvas lockCanvas() {
+        if (hardwareCanvasEnabled) {
+            try {
+                return surfaceHolder.lockHardwareCanvas();
+            } catch (IllegalStateException e) {
+                Log.w("RenderThread", "lockHardwareCanvas: " + e.getMessage());
+                hardwareCanvasEnabled = false;
+            }
+        }
+        return surfaceHolder.lockCanvas();
+    }
+
+    @Override
+    public void run() {
+        Looper.prepare();
+        synchronized (this) {
+            looper = Looper.myLooper();
+            handler = new Handler(looper);
+        }
+        if (!running) {
+            return; // 開始前に停止要求された
+        }
+        framePending.set(true);
+        Choreographer.getInstance().postFrameCallback(this);
+        Looper.loop(); // quit()されるまでフレームコールバックを処理
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        // 先に登録済みフラグを下ろしてから状態を確認する
+        // (この後に公開された状態はrequestRender()が次のフレームを登録する)
+        framePending.set(false);
+        if (!running || paused) {
+            return;
+        }
+        // 目標のフレームレートより早いvsyncは飛ばし、次のvsyncでもう一度確認する
+        // (他のスレッドが既に登録していれば、そのコールバックに任せる)
+        if (frameTimeNanos - lastFrameTimeNanos
+                < QualityGovernor.getFrameIntervalNanos(quality.getLevel()) - FRAME_PACING_SLACK_NANOS) {
+            if (framePending.compareAndSet(false, true)) {
+                Choreographer.getInstance().postFrameCallback(this);
+            }
+            return;
+        }
+
+        // 最新のティックの状態を受け取り、そのティックからの経過時間で前回ティックとの間を補間
+        long frameStart = System.nanoTime();
+        RenderState state = exchange.acquire();
+        float alpha = 1f;
+        if (state.getSequence() != 0) {
+            alpha = (float) (frameStart - state.getTickTimeNanos()) / simulationThread.getTickNanos();
+            alpha = Math.max(0f, Math.min(1f, alpha));
+        }
+        if (state.getSequence() == lastDrawnSequence && lastDrawnAlpha >= 1f && !redrawRequested) {
+            return; // 前回と同じ画面になるので描画せず、次の要求まで休む
+        }
+        redrawRequested = false;
+        lastDrawnSequence = state.getSequence();
+        lastDrawnAlpha = alpha;
+        lastFrameTimeNanos = frameTimeNanos;
+
+        Canvas canvas = null;
+        try {
+            canvas = lockCanvas(); // 描画用のCanvasを取得
+            long lockEnd = System.nanoTime();
+            profile.record(FrameProfile.LOCK_CANVAS, lockEnd - frameStart);
+            if (canvas != null) {
+                gameView.render(canvas, state, alpha); // 描画
+                profile.record(FrameProfile.DRAW, System.nanoTime() - lockEnd);
+            }
+        } finally {
+            if (canvas != null) {
+                long postStart = System.nanoTime();
+                this.surfaceHolder.unlockCanvasAndPost(canvas); // 描画結果を画面に表示
+                long postEnd = System.nanoTime();
+                profile.record(FrameProfile.POST, postEnd - postStart);
+                profile.record(FrameProfile.FRAME, postEnd - frameStart);
+                quality.onFrame(postEnd, postEnd - frameStart);
+            }
+        }
+
+        // 次のvsyncでも補間や新しい状態の描画が必要か確認する
+        requestRender();
+    }
+}
@@ -0,0 +1,123 @@
+package com.BowlingGame;
+
+import java.util.concurrent.locks.LockSupport;
+
+import com.BowlingGame.core.BallPhysics;
+import com.BowlingGame.core.FrameProfile;
+
+/**
+ * ゲームロジックを固定タイムステップで進めるスレッド。
+ * 画面の更新とは独立した一定の間隔で更新し、ティックごとの状態をGameViewのRenderStateExchangeに公開します。
+ * 描画はRenderThreadが行うため、描画が遅れても物理演算の間隔は変わりません。
+ *
+ * <p>投球待ちでボールもピンも止まっている間や一時停止中は、wake()で起こされるまでスレッドを休止させます。</p>
+ */
+public class SimulationThread extends Thread {
+    private final GameView gameView;
+    private final FrameProfile profile; // ティックごとの処理時間
+    private volatile boolean running;
+    private volatile boolean paused; // 一時停止中 (アクティビティがバックグラウンドにある)
+
+    // 定数
+    public static final int DEFAULT_TICK_RATE = BallPhysics.REFERENCE_TICK_RATE * 2; // 物理演算のデフォルト更新回数 (Hz)
+    private static final int MAX_TICKS_PER_WAKE = 5; // 1回の起床で処理する最大ティック数 (処理落ち時の暴走防止)
+
+    private volatile long tickNanos; // 1ティックあたりの時間 (ナノ秒)
+    private volatile float tickScale; // 1ティックの長さ (基準ティック単位)
+
+    public SimulationThread(GameView gameView) {
+        super("SimulationThread");
+        this.gameView = gameView;
+        this.profile = gameView.getFrameProfile();
+        setTickRate(DEFAULT_TICK_RATE);
+    }
+
+    public void setRunning(boolean running) {
+        this.running = running;
+        if (!running) {
+            LockSupport.unpark(this); // 待機中なら起こしてrun()を終了させる
+        }
+    }
+
+    /**
+     * 一時停止・再開を設定します。一時停止中は投球中であってもゲームを進めません。
+     * @param paused 一時停止する場合true
+     */
+    public void setPaused(boolean paused) {
+        this.paused = paused;
+        LockSupport.unpark(this);
+    }
+
+    /**
+     * 休止中のスレッドを起こします。入力が届いたときなどに呼び出します。
+     */
+    public void wake() {
+        LockSupport.unpark(this);
+    }
+
+    /**
+     * 物理演算の更新回数を設定します。
+     * 低くしてもボールはサブステップと連続衝突判定で進むため、ピンとの接触は失われません。
+     * @param ticksPerSecond 1秒あたりのティック数
+     */
+    public void setTickRate(int ticksPerSecond) {
+        if (ticksPerSecond <= 0) {
+            throw new IllegalArgumentException("ticksPerSecond must be positive: " + ticksPerSecond);
+        }
+        this.tickNanos = 1_000_000_000L / ticksPerSecond;
+        this.tickScale = (float) BallPhysics.REFERENCE_TICK_RATE / ticksPerSecond;
+    }
+
+    public int getTickRate() {
+        return (int) (1_000_000_000L / tickNanos);
+    }
+
+    /**
+     * 1ティックの時間を返します (描画時の補間に使う)。
+     * @return 1ティックあたりの時間 (ナノ秒)
+     */
+    public long getTickNanos() {
+        return tickNanos;
+    }
+
+    @Override
+    public void run() {
+        long sequence = 0;
+        long nextTickNanos = System.nanoTime();
+        gameView.publishRenderState(nextTickNanos, ++sequence); // 最初の状態を描画スレッドに渡す
+        while (running) {
+            if (paused || gameView.isSimulationIdle()) {
+                // 状態が変わらない間は起こされるまで休止する (unpark済みならすぐに戻る)
+                LockSupport.park(this);
+                nextTickNanos = Math.max(nextTickNanos, System.nanoTime()); // 休止していた分を取り戻そうとしない
+                if (paused || gameView.isSimulationIdle()) {
+                    continue;
+                }
+            }
+
+            long now = System.nanoTime();
+            if (now < nextTickNanos) {
+                LockSupport.parkNanos(this, nextTickNanos - now); // 次のティックまで待つ
+                continue;
+            }
+
+            // 予定時刻を過ぎた分のティックを処理
+            long tick = tickNanos;
+            float dt = tickScale;
+            int ticks = 0;
+            while (now >= nextTickNanos && ticks < MAX_TICKS_PER_WAKE) {
+                long start = System.nanoTime();
+                gameView.update(dt);
+                profile.record(FrameProfile.UPDATE, System.nanoTime() - start);
+                nextTickNanos += tick;
+                ticks++;
+            }
+            if (now >= nextTickNanos) {
+                nextTickNanos = now + tick; // 追いつけない分は捨てる
+            }
+
+            // 最後に処理したティックの状態を公開
+            gameView.publishRenderState(nextTickNanos - tick, ++sequence);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.BowlingGame.benchmark;
+
+import com.BowlingGame.core.BallBatch;
+import com.BowlingGame.core.BallPhysics;
+import com.BowlingGame.core.PinRack;
+import com.BowlingGame.core.Simulation;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * BallBatchと、BallPhysicsを1個ずつ進める場合の比較。
+ * ボールの数を変えて、全ボールを投げてから全て止まるまで (ピンとの接触判定を含む) の時間を測ります。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BallBatchBenchmark {
+    private static final float DT = 0.5f; // SimulationThreadの既定 (120Hz)
+
+    @Param({"16", "256", "4096"})
+    public int balls;
+
+    private PinRack pins;
+    private float laneEndY;
+    private float startX;
+    private float startY;
+    private float[] launchVelocityX; // ボールごとの初速 (レーンの幅に広げる)
+    private BallBatch batch;
+    private BallPhysics[] objects;
+
+    @Setup
+    public void setup() {
+        Simulation simulation = BenchmarkSupport.newSimulation();
+        pins = simulation.getPins();
+        laneEndY = BenchmarkSupport.HEIGHT * Simulation.LANE_END_RATIO;
+        startX = simulation.getBall().getInitialX();
+        startY = simulation.getBall().getInitialY();
+        launchVelocityX = new float[balls];
+        for (int i = 0; i < balls; i++) {
+            launchVelocityX[i] = -8f + 16f * i / balls;
+        }
+        batch = new BallBatch(balls);
+        batch.setLaneEnd(laneEndY);
+        objects = new BallPhysics[balls];
+        for (int i = 0; i < balls; i++) {
+            objects[i] = new BallPhysics();
+            objects[i].setInitialPosition(startX, startY);
+        }
+    }
+
+    /**
+     * BallBatchで全ボールをまとめて進めます。
+     */
+    @Benchmark
+    public int batch() {
+        batch.clear();
+        for (int i = 0; i < balls; i++) {
+            batch.launch(startX, startY, launchVelocityX[i], -BenchmarkSupport.THROW_SPEED);
+        }
+        while (batch.step(DT, pins) > 0) {
+            // 全て止まるまで進める
+        }
+        return batch.getTick();
+    }
+
+    /**
+     * 同じ投球を、BallPhysicsを1個ずつ進めて、サブステップごとにピンとの接触を調べます。
+     */
+    @Benchmark
+    public int objects() {
+        int contacts = 0;
+        for (int i = 0; i < balls; i++) {
+            BallPhysics ball = objects[i];
+            ball.reset();
+            ball.launch(launchVelocityX[i], -BenchmarkSupport.THROW_SPEED);
+        }
+        int moving = balls;
+        while (moving > 0) {
+            moving = 0;
+            for (BallPhysics ball : objects) {
+                if (ball.isStopped()) {
+                    continue;
+                }
+                ball.beginTick();
+                int substeps = ball.substepsFor(DT);
+                float step = DT / substeps;
+                for (int s = 0; s < substeps; s++) {
+                    ball.advance(step);
+                    for (int pin = 0; pin < PinRack.PIN_COUNT; pin++) {
+                        if (pins.isActive(pin) && ball.sweepHits(pins.getX(pin), pins.getY(pin), PinRack.PIN_RADIUS)) {
+                            contacts++;
+                        }
+                    }
+                }
+                ball.settle();
+                if (ball.getY() < laneEndY || ball.isStopped()) {
+                    ball.stop();
+                } else {
+                    moving++;
+                }
+            }
+        }
+        return contacts;
+    }
+}
@@ -0,0 +1,71 @@
+package com.BowlingGame.benchmark;
+
+import com.BowlingGame.core.BallPhysics;
+import com.BowlingGame.core.PinRack;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * ボール単体の運動更新と衝突判定のベンチマーク。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BallBenchmark {
+    private BallPhysics ball;
+    private float nearPinX; // ボールと重なっているピンの座標
+    private float nearPinY;
+    private float farPinX; // ボールから離れたピンの座標
+    private float farPinY;
+
+    @Setup
+    public void setup() {
+        ball = new BallPhysics();
+        ball.setInitialPosition(BenchmarkSupport.WIDTH / 2f, BenchmarkSupport.HEIGHT * 0.9f);
+        ball.reset();
+        nearPinX = ball.getX() + 20;
+        nearPinY = ball.getY() + 20;
+        farPinX = ball.getX();
+        farPinY = ball.getY() - 1000;
+        ball.throwBall(BenchmarkSupport.WIDTH / 2f + 40, BenchmarkSupport.THROW_SPEED);
+    }
+
+    /**
+     * BallPhysics.update() 1ティック分。停止したら投げ直します。
+     */
+    @Benchmark
+    public float update() {
+        if (ball.isStopped()) {
+            ball.reset();
+            ball.throwBall(BenchmarkSupport.WIDTH / 2f + 40, BenchmarkSupport.THROW_SPEED);
+        }
+        ball.update();
+        return ball.getY();
+    }
+
+    @Benchmark
+    public boolean collidesWithHit() {
+        return ball.collidesWith(nearPinX, nearPinY, PinRack.PIN_RADIUS);
+    }
+
+    @Benchmark
+    public boolean collidesWithMiss() {
+        return ball.collidesWith(farPinX, farPinY, PinRack.PIN_RADIUS);
+    }
+
+    @Benchmark
+    public boolean sweepHitsHit() {
+        return ball.sweepHits(nearPinX, nearPinY, PinRack.PIN_RADIUS);
+    }
+
+    @Benchmark
+    public boolean sweepHitsMiss() {
+        return ball.sweepHits(farPinX, farPinY, PinRack.PIN_RADIUS);
+    }
+}
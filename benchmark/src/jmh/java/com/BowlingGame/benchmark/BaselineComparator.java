@@ -0,0 +1,132 @@
+package com.BowlingGame.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JMHのCSV結果2つ (ベースラインと最新) を比較して差分を表示するツール。
+ * 使い方: BaselineComparator &lt;baseline.csv&gt; &lt;results.csv&gt; [しきい値%]
+ * しきい値を超えて悪化した項目があれば終了コード1を返します。
+ */
+public final class BaselineComparator {
+    private static final double DEFAULT_THRESHOLD_PERCENT = 10.0; // 悪化とみなす変化率 (%)
+    private static final String ALLOC_METRIC = "gc.alloc.rate.norm"; // 1opあたりの割り当てバイト数
+
+    private BaselineComparator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: BaselineComparator <baseline.csv> <results.csv> [thresholdPercent]");
+            System.exit(2);
+        }
+        Path baselinePath = Paths.get(args[0]);
+        Path resultsPath = Paths.get(args[1]);
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+        if (!Files.exists(baselinePath)) {
+            System.err.println("baseline not found: " + baselinePath + " (run jmhSaveBaseline first)");
+            System.exit(2);
+        }
+
+        Map<String, Row> baseline = read(baselinePath);
+        Map<String, Row> results = read(resultsPath);
+
+        int regressions = 0;
+        System.out.printf("%-70s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, Row> entry : results.entrySet()) {
+            String name = entry.getKey();
+            Row current = entry.getValue();
+            if (current.benchmark.contains(":") && !current.benchmark.endsWith(":" + ALLOC_METRIC)) {
+                continue; // gc.count などの二次指標はばらつきが大きいので比較しない (キーのパラメータ名の":"は見ない)
+            }
+            Row base = baseline.get(name);
+            if (base == null) {
+                System.out.printf("%-70s %14s %14.3f %9s  %s%n", name, "-", current.score, "new", current.unit);
+                continue;
+            }
+            boolean worse;
+            double change;
+            if (current.benchmark.endsWith(ALLOC_METRIC)) {
+                // 割り当て量は1バイト/op以上増えたら悪化とみなす (0からの増加も検出する)
+                change = (current.score - base.score) / Math.max(base.score, 1.0) * 100.0;
+                worse = current.score - base.score >= 1.0;
+            } else {
+                // ops/時間 の指標は大きいほど良く、時間/op の指標は小さいほど良い
+                change = (current.score - base.score) / base.score * 100.0;
+                boolean higherIsBetter = current.unit.startsWith("ops/");
+                worse = higherIsBetter ? change < -threshold : change > threshold;
+            }
+            if (worse) {
+                regressions++;
+            }
+            System.out.printf("%-70s %14.3f %14.3f %+8.1f%%  %s%s%n", name, base.score, current.score,
+                    change, current.unit, worse ? "  REGRESSION" : "");
+        }
+        if (regressions > 0) {
+            System.out.println(regressions + " regression(s) beyond " + threshold + "%");
+            System.exit(1);
+        }
+    }
+
+    // CSVを読み込み、ベンチマーク名 (+パラメータ) をキーにした表を返す
+    private static Map<String, Row> read(Path path) throws IOException {
+        List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+        Map<String, Row> rows = new LinkedHashMap<>();
+        if (lines.isEmpty()) {
+            return rows;
+        }
+        List<String> header = split(lines.get(0));
+        int scoreColumn = header.indexOf("Score");
+        int unitColumn = header.indexOf("Unit");
+        for (int i = 1; i < lines.size(); i++) {
+            List<String> cells = split(lines.get(i));
+            if (cells.size() < header.size()) {
+                continue;
+            }
+            StringBuilder key = new StringBuilder(cells.get(0));
+            for (int c = unitColumn + 1; c < header.size(); c++) {
+                key.append(' ').append(header.get(c)).append('=').append(cells.get(c));
+            }
+            Row row = new Row();
+            row.benchmark = cells.get(0);
+            row.score = Double.parseDouble(cells.get(scoreColumn));
+            row.unit = cells.get(unitColumn);
+            rows.put(key.toString(), row);
+        }
+        return rows;
+    }
+
+    // ダブルクォートで囲まれたセルを考慮してCSVの1行を分割する
+    private static List<String> split(String line) {
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char ch = line.charAt(i);
+            if (ch == '"') {
+                quoted = !quoted;
+            } else if (ch == ',' && !quoted) {
+                cells.add(cell.toString());
+                cell.setLength(0);
+            } else {
+                cell.append(ch);
+            }
+        }
+        cells.add(cell.toString());
+        return cells;
+    }
+
+    // CSVの1行分 (ベンチマーク名、スコアと単位)
+    private static final class Row {
+        String benchmark;
+        double score;
+        String unit;
+    }
+}
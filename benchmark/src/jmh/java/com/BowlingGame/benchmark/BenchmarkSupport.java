@@ -0,0 +1,72 @@
+package com.BowlingGame.benchmark;
+
+import com.BowlingGame.core.GameState;
+import com.BowlingGame.core.Simulation;
+
+/**
+ * ベンチマーク間で共有する画面サイズや投球パターンなど。
+ */
+final class BenchmarkSupport {
+    // 定数
+    static final float WIDTH = 1080; // 想定する画面の幅
+    static final float HEIGHT = 1920; // 想定する画面の高さ
+    static final float THROW_SPEED = 30f; // GameViewと同じ投球速度
+    static final long MAX_REPLAY_TICKS = 10_000_000L; // 再生を打ち切るティック数 (終わらないログ対策)
+
+    // 有効な1ゲーム分の投球結果 (ストライク・スペア・10フレーム目のボーナスを含む)
+    static final int[] GAME_ROLLS = {10, 7, 3, 9, 0, 10, 10, 8, 1, 6, 4, 10, 3, 5, 10, 10, 10};
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * 画面サイズに合わせて配置済みのSimulationを生成します。
+     * @return 新しいSimulation
+     */
+    static Simulation newSimulation() {
+        Simulation simulation = new Simulation();
+        simulation.setup(WIDTH, HEIGHT);
+        return simulation;
+    }
+
+    /**
+     * n投目の目標X座標を返します。ピンの中心付近を左右に振り分けます。
+     * @param n 投球番号
+     * @return 目標X座標
+     */
+    static float targetX(int n) {
+        return WIDTH / 2f + ((n * 37) % 9 - 4) * 20f;
+    }
+
+    /**
+     * 1投分の結果をGameViewと同じ手順でGameStateに反映します。
+     * @param gameState 対象のGameState
+     * @param pins 倒したピンの数
+     */
+    static void roll(GameState gameState, int pins) {
+        gameState.scorePins(pins);
+        if (gameState.isFrameFinished()) {
+            gameState.nextFrame();
+        } else {
+            gameState.nextShot();
+        }
+    }
+
+    /**
+     * ゲームオーバーになるまで投球とティック更新を繰り返します。
+     * @param simulation 対象のSimulation (restart済みであること)
+     * @param dt 1ティックの長さ (基準ティック単位)
+     * @return 最終スコア
+     */
+    static int playFullGame(Simulation simulation, float dt) {
+        GameState gameState = simulation.getGameState();
+        int throwCount = 0;
+        while (!gameState.isGameOver()) {
+            if (simulation.canThrow()) {
+                simulation.throwBall(targetX(throwCount++), THROW_SPEED);
+            }
+            simulation.update(dt);
+        }
+        return gameState.getTotalScore();
+    }
+}
@@ -0,0 +1,84 @@
+package com.BowlingGame.benchmark;
+
+import com.BowlingGame.core.BotStrategies;
+import com.BowlingGame.core.BotStrategy;
+import com.BowlingGame.core.LeagueResult;
+import com.BowlingGame.core.LeagueSimulator;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 多数のゲームを描画なしで並列にプレイし、処理速度とスコアの分布を表示するツール。
+ * 使い方: LeagueTool [ゲーム数] [random|aimed] [スレッド数] [seed]
+ */
+public final class LeagueTool {
+    private static final float TICK_SCALE = 0.5f; // SimulationThreadの既定 (120Hz)
+    private static final int HISTOGRAM_BIN = 10; // 度数分布を表示するスコアの刻み
+    private static final int HISTOGRAM_WIDTH = 50; // 度数分布の棒の最大の長さ
+
+    private LeagueTool() {
+    }
+
+    public static void main(String[] args) {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 100_000L;
+        String botName = args.length > 1 ? args[1] : "aimed";
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 1L;
+
+        BotStrategy bot;
+        switch (botName) {
+            case "random":
+                bot = BotStrategies.random();
+                break;
+            case "aimed":
+                bot = BotStrategies.aimed(20f, BenchmarkSupport.THROW_SPEED, 3f);
+                break;
+            default:
+                System.err.println("unknown bot: " + botName + " (random|aimed)");
+                System.exit(2);
+                return;
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            LeagueSimulator league = new LeagueSimulator(BenchmarkSupport.WIDTH, BenchmarkSupport.HEIGHT, TICK_SCALE, pool);
+            LeagueResult result = league.run(bot, games, seed);
+            print(result, botName, threads);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static void print(LeagueResult result, String botName, int threads) {
+        System.out.printf("%d games (%d abandoned), bot %s, %d threads%n",
+                result.getGames(), result.getAbandonedGames(), botName, threads);
+        System.out.printf("%.2f s, %.0f games/s, %.0f rolls/s, %.0f ticks/s%n",
+                result.getElapsedNanos() / 1e9, result.getGamesPerSecond(),
+                result.getRolls() / (result.getElapsedNanos() / 1e9), result.getTicks() / (result.getElapsedNanos() / 1e9));
+        System.out.printf("score mean %.1f, stddev %.1f, min %d, p5 %d, p50 %d, p95 %d, max %d, perfect %d%n",
+                result.getMeanScore(), result.getScoreStdDev(), result.getMinScore(),
+                result.getScorePercentile(5), result.getScorePercentile(50), result.getScorePercentile(95),
+                result.getMaxScore(), result.getScoreCount(LeagueResult.MAX_SCORE));
+
+        // スコアをHISTOGRAM_BINごとにまとめた度数分布
+        long[] bins = new long[LeagueResult.MAX_SCORE / HISTOGRAM_BIN + 1];
+        long largest = 0;
+        for (int score = 0; score <= LeagueResult.MAX_SCORE; score++) {
+            bins[score / HISTOGRAM_BIN] += result.getScoreCount(score);
+        }
+        for (long count : bins) {
+            largest = Math.max(largest, count);
+        }
+        for (int bin = 0; bin < bins.length; bin++) {
+            if (bins[bin] == 0) {
+                continue;
+            }
+            int bar = (int) (bins[bin] * HISTOGRAM_WIDTH / largest);
+            StringBuilder line = new StringBuilder();
+            line.append(String.format("%3d-%3d %9d ", bin * HISTOGRAM_BIN, bin * HISTOGRAM_BIN + HISTOGRAM_BIN - 1, bins[bin]));
+            for (int i = 0; i < bar; i++) {
+                line.append('#');
+            }
+            System.out.println(line);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.BowlingGame.benchmark;
+
+import com.BowlingGame.core.BallPhysics;
+import com.BowlingGame.core.PinRack;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * PinRackのボール衝突とピン同士の衝突のベンチマーク。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PinRackBenchmark {
+    private PinRack rack;
+    private BallPhysics ball;
+
+    @Setup
+    public void setup() {
+        rack = new PinRack();
+        rack.setup(BenchmarkSupport.WIDTH / 2f, BenchmarkSupport.HEIGHT * 0.52f);
+        ball = new BallPhysics();
+        ball.setInitialPosition(BenchmarkSupport.WIDTH / 2f, BenchmarkSupport.HEIGHT * 0.9f);
+    }
+
+    /**
+     * ボールがラックに当たってから全てのピンが止まるまでの処理 (1回のピンアクション)。
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int pinAction() {
+        rack.resetAll();
+        ball.reset();
+        ball.throwBall(BenchmarkSupport.WIDTH / 2f + 20, BenchmarkSupport.THROW_SPEED);
+        while (!ball.isStopped() && ball.getY() > BenchmarkSupport.HEIGHT * 0.2f) {
+            ball.beginTick();
+            ball.advance(1f);
+            rack.collideBall(ball);
+            rack.step(1f);
+            ball.settle();
+        }
+        while (rack.isMoving()) {
+            rack.step(1f);
+        }
+        return rack.getStandingMask();
+    }
+
+    /**
+     * 全てのピンが立っていて誰も動いていないときのボール衝突判定 (投球中の大半のティック)。
+     */
+    @Benchmark
+    public int collideBallMiss() {
+        ball.reset();
+        ball.beginTick();
+        rack.collideBall(ball);
+        return rack.getStandingMask();
+    }
+}
@@ -0,0 +1,45 @@
+package com.BowlingGame.benchmark;
+
+import com.BowlingGame.core.ReplayLog;
+import com.BowlingGame.core.Simulation;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * 記録した1ゲームを描画なしで再生するベンチマーク。
+ * 120Hzで約45秒のゲームが何ミリ秒で再生できるか (実時間の何倍で再現できるか) を見ます。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ReplayBenchmark {
+    private static final float TICK_SCALE = 0.5f; // SimulationThreadの既定 (120Hz)
+
+    private ReplayLog log;
+    private Simulation simulation;
+
+    @Setup
+    public void setup() {
+        // ベンチマーク共通の投球パターンで1ゲーム分の操作を記録しておく
+        Simulation recorder = BenchmarkSupport.newSimulation();
+        log = recorder.startRecording(TICK_SCALE);
+        BenchmarkSupport.playFullGame(recorder, TICK_SCALE);
+        recorder.stopRecording();
+        simulation = new Simulation();
+    }
+
+    /**
+     * 1ゲーム分のログを最後まで再生します。
+     */
+    @Benchmark
+    public int replayGame() {
+        simulation.runReplay(log, BenchmarkSupport.MAX_REPLAY_TICKS);
+        return simulation.getGameState().getTotalScore();
+    }
+}
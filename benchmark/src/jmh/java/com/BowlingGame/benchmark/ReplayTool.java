@@ -0,0 +1,58 @@
+package com.BowlingGame.benchmark;
+
+import com.BowlingGame.core.BallPhysics;
+import com.BowlingGame.core.GameState;
+import com.BowlingGame.core.ReplayLog;
+import com.BowlingGame.core.Simulation;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * 端末で記録した操作のログ (files/replay.bin) を描画なしで再生し、結果を表示するツール。
+ * 使い方: ReplayTool &lt;replay.bin&gt;
+ * 投球ごとのピン数と、フレームごとの累積スコアを表示します。
+ */
+public final class ReplayTool {
+    private ReplayTool() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("usage: ReplayTool <replay.bin>");
+            System.exit(2);
+        }
+        ReplayLog log;
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(Paths.get(args[0])))) {
+            log = ReplayLog.readFrom(in);
+        }
+
+        Simulation simulation = new Simulation();
+        long start = System.nanoTime();
+        long ticks = simulation.runReplay(log, BenchmarkSupport.MAX_REPLAY_TICKS);
+        long elapsed = System.nanoTime() - start;
+
+        GameState gameState = simulation.getGameState();
+        System.out.printf("size %.0fx%.0f, dt %.4f, %d events, %d ticks%n",
+                log.getWidth(), log.getHeight(), log.getTickScale(), log.getEventCount(), ticks);
+        StringBuilder rolls = new StringBuilder("rolls:");
+        for (int i = 0; i < gameState.getRollCount(); i++) {
+            rolls.append(' ').append(gameState.getRoll(i));
+        }
+        System.out.println(rolls);
+        StringBuilder frames = new StringBuilder("frames:");
+        for (int frame = 1; frame <= GameState.MAX_FRAMES; frame++) {
+            int score = gameState.getFrameScore(frame);
+            frames.append(' ').append(score == GameState.UNSCORED ? "-" : Integer.toString(score));
+        }
+        System.out.println(frames);
+        System.out.println("frame " + gameState.getCurrentFrame() + ", shot " + gameState.getCurrentShot()
+                + (gameState.isGameOver() ? ", game over" : "") + ", total " + gameState.getTotalScore());
+
+        // 実時間 (ティック数 × 1ティックの長さ) に対して何倍の速さで再生できたか
+        double realSeconds = ticks * log.getTickScale() / BallPhysics.REFERENCE_TICK_RATE;
+        System.out.printf("replayed in %.2f ms (%.0fx real time)%n", elapsed / 1e6, realSeconds / (elapsed / 1e9));
+    }
+}
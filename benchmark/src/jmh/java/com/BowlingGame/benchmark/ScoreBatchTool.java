@@ -0,0 +1,111 @@
+package com.BowlingGame.benchmark;
+
+import com.BowlingGame.core.BowlingScorer;
+import com.BowlingGame.core.ColumnarGameFile;
+import com.BowlingGame.core.GameState;
+import java.io.File;
+import java.io.IOException;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 列ごとの形式のゲームのファイルをまとめてスコア計算し、GameStateの結果と突き合わせるツール。
+ * 使い方:
+ *   ScoreBatchTool generate &lt;file&gt; &lt;ゲーム数&gt; [seed]  ランダムなゲームのファイルを作る
+ *   ScoreBatchTool score &lt;file&gt; [スレッド数]             スコアを計算し、GameStateと突き合わせる
+ */
+public final class ScoreBatchTool {
+    private ScoreBatchTool() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length >= 3 && args[0].equals("generate")) {
+            generate(new File(args[1]), Integer.parseInt(args[2]), args.length > 3 ? Long.parseLong(args[3]) : 1L);
+        } else if (args.length >= 2 && args[0].equals("score")) {
+            int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+            score(new File(args[1]), threads);
+        } else {
+            System.err.println("usage: ScoreBatchTool generate <file> <games> [seed] | score <file> [threads]");
+            System.exit(2);
+        }
+    }
+
+    // 規則どおりのランダムなゲームを作って書き出す
+    private static void generate(File file, int games, long seed) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] rollCounts = new int[games];
+        int[] rolls = new int[games * GameState.MAX_ROLLS];
+        for (int game = 0; game < games; game++) {
+            int base = game * GameState.MAX_ROLLS;
+            int count = 0;
+            for (int frame = 1; frame < GameState.MAX_FRAMES; frame++) {
+                int first = random.nextInt(GameState.PIN_COUNT + 1);
+                rolls[base + count++] = first;
+                if (first < GameState.PIN_COUNT) {
+                    rolls[base + count++] = random.nextInt(GameState.PIN_COUNT - first + 1);
+                }
+            }
+            // 10フレーム目: ストライクかスペアなら3投目まで
+            int first = random.nextInt(GameState.PIN_COUNT + 1);
+            int standing = first == GameState.PIN_COUNT ? GameState.PIN_COUNT : GameState.PIN_COUNT - first;
+            int second = random.nextInt(standing + 1);
+            rolls[base + count++] = first;
+            rolls[base + count++] = second;
+            if (first + second >= GameState.PIN_COUNT) {
+                standing = first == GameState.PIN_COUNT && second < GameState.PIN_COUNT
+                        ? GameState.PIN_COUNT - second : GameState.PIN_COUNT;
+                rolls[base + count++] = random.nextInt(standing + 1);
+            }
+            rollCounts[game] = count;
+        }
+        ColumnarGameFile.write(file, rollCounts, rolls, games);
+        System.out.printf("wrote %d games to %s (%d bytes)%n", games, file, file.length());
+    }
+
+    // 並列にスコア計算し、1ゲームずつGameStateでも計算して結果を比べる
+    private static void score(File file, int threads) throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try (ColumnarGameFile games = ColumnarGameFile.open(file)) {
+            long start = System.nanoTime();
+            int[] scores = games.scoreAll(pool);
+            long elapsed = System.nanoTime() - start;
+
+            long total = 0;
+            int invalid = 0;
+            for (int score : scores) {
+                if (score == BowlingScorer.INVALID) {
+                    invalid++;
+                } else {
+                    total += score;
+                }
+            }
+            int valid = scores.length - invalid;
+            System.out.printf("%d games (%d invalid), %d threads: %.1f ms, %.0f games/s, mean %.2f%n",
+                    scores.length, invalid, threads, elapsed / 1e6, scores.length / (elapsed / 1e9),
+                    valid == 0 ? 0.0 : (double) total / valid);
+
+            GameState gameState = new GameState();
+            int[] rolls = new int[GameState.MAX_ROLLS];
+            int mismatches = 0;
+            for (int game = 0; game < scores.length; game++) {
+                if (scores[game] == BowlingScorer.INVALID) {
+                    continue;
+                }
+                int rollCount = games.readGame(game, rolls);
+                gameState.resetGame();
+                for (int i = 0; i < rollCount; i++) {
+                    BenchmarkSupport.roll(gameState, rolls[i]);
+                }
+                if (gameState.getTotalScore() != scores[game]) {
+                    if (mismatches++ < 10) {
+                        System.out.printf("mismatch at game %d: bulk %d, GameState %d%n",
+                                game, scores[game], gameState.getTotalScore());
+                    }
+                }
+            }
+            System.out.println("cross-check: " + mismatches + " mismatches");
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
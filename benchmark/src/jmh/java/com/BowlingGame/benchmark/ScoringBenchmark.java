@@ -0,0 +1,70 @@
+package com.BowlingGame.benchmark;
+
+import com.BowlingGame.core.BowlingScorer;
+import com.BowlingGame.core.GameState;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * GameState.scorePins() と BowlingScorer.score() のベンチマーク。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ScoringBenchmark {
+    private GameState rollState; // scoreRoll()用
+    private GameState gameState; // scoreGame()用
+    private int rollIndex;
+    private final int[] frameScores = new int[GameState.MAX_FRAMES]; // scoreGameBulk()用
+
+    @Setup
+    public void setup() {
+        rollState = new GameState();
+        gameState = new GameState();
+        rollIndex = 0;
+    }
+
+    /**
+     * 1投分のスコア計算。ゲームが終わったら最初からやり直します。
+     */
+    @Benchmark
+    public int scoreRoll() {
+        int[] rolls = BenchmarkSupport.GAME_ROLLS;
+        if (rollState.isGameOver() || rollIndex == rolls.length) {
+            rollState.resetGame();
+            rollIndex = 0;
+        }
+        BenchmarkSupport.roll(rollState, rolls[rollIndex++]);
+        return rollState.getTotalScore();
+    }
+
+    /**
+     * 1ゲーム分のスコア計算 (リセットを含む)。
+     */
+    @Benchmark
+    public int scoreGame() {
+        gameState.resetGame();
+        for (int pins : BenchmarkSupport.GAME_ROLLS) {
+            if (gameState.isGameOver()) {
+                break;
+            }
+            BenchmarkSupport.roll(gameState, pins);
+        }
+        return gameState.getTotalScore();
+    }
+
+    /**
+     * 1ゲーム分のスコア計算を、投球の配列からまとめて行います (フレームごとの累積スコアを含む)。
+     */
+    @Benchmark
+    public int scoreGameBulk() {
+        int[] rolls = BenchmarkSupport.GAME_ROLLS;
+        return BowlingScorer.score(rolls, 0, rolls.length, frameScores, 0);
+    }
+}
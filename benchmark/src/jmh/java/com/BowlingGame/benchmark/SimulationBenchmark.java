@@ -0,0 +1,66 @@
+package com.BowlingGame.benchmark;
+
+import com.BowlingGame.core.Simulation;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * ティック単位の更新 (ボール移動 + ピンとの衝突ループ) と1ゲーム全体のベンチマーク。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SimulationBenchmark {
+    private Simulation tickSimulation; // tick()用
+    private Simulation gameSimulation; // fullGame()用
+    private int throwCount;
+
+    @Setup
+    public void setup() {
+        tickSimulation = BenchmarkSupport.newSimulation();
+        gameSimulation = BenchmarkSupport.newSimulation();
+        throwCount = 0;
+    }
+
+    /**
+     * Simulation.update() 1ティック分。投球待ちになったら次の投球を行います。
+     */
+    @Benchmark
+    public int tick() {
+        Simulation simulation = tickSimulation;
+        if (simulation.getGameState().isGameOver()) {
+            simulation.restart();
+        }
+        if (simulation.canThrow()) {
+            simulation.throwBall(BenchmarkSupport.targetX(throwCount++), BenchmarkSupport.THROW_SPEED);
+        }
+        simulation.update();
+        return simulation.getGameState().getTotalScore();
+    }
+
+    /**
+     * 1ゲーム (10フレーム) を最後までシミュレーションします。
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public int fullGame() {
+        gameSimulation.restart();
+        return BenchmarkSupport.playFullGame(gameSimulation, 1f);
+    }
+
+    /**
+     * 30Hz (基準ティックの2倍の長さ) で1ゲームをシミュレーションします。
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public int fullGameHalfTickRate() {
+        gameSimulation.restart();
+        return BenchmarkSupport.playFullGame(gameSimulation, 2f);
+    }
+}
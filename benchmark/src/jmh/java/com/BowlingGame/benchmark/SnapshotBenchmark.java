@@ -0,0 +1,44 @@
+package com.BowlingGame.benchmark;
+
+import com.BowlingGame.core.GameSnapshot;
+import com.BowlingGame.core.Simulation;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * GameSnapshotのエンコード・デコードのベンチマーク (ゲーム終了時点の状態で計測)。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SnapshotBenchmark {
+    private Simulation source;
+    private Simulation target;
+    private final byte[] buffer = new byte[GameSnapshot.SIZE];
+
+    @Setup
+    public void setup() {
+        source = BenchmarkSupport.newSimulation();
+        BenchmarkSupport.playFullGame(source, 1f);
+        target = BenchmarkSupport.newSimulation();
+        source.saveSnapshot(buffer);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        source.saveSnapshot(buffer);
+        return buffer;
+    }
+
+    @Benchmark
+    public int decode() {
+        target.restoreSnapshot(buffer);
+        return target.getGameState().getTotalScore();
+    }
+}
@@ -0,0 +1,72 @@
+package com.BowlingGame.benchmark;
+
+import com.BowlingGame.core.PinRack;
+import com.BowlingGame.core.Simulation;
+import com.BowlingGame.core.ThrowOutcomeCache;
+import com.BowlingGame.core.ThrowOutcomeSolver;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * ThrowOutcomeCacheのベンチマーク。
+ * キャッシュに当たった場合と、毎回シミュレーションする場合の1投あたりの時間を比べます。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ThrowOutcomeCacheBenchmark {
+    private static final float TARGET_STEP = 4f;
+    private static final float SPEED_STEP = 0.5f;
+    private static final int TARGET_COUNT = 100; // 目標X座標の刻みの数 (レーン中央の±200ピクセル)
+    private static final int SPEED_COUNT = 70; // 初速の刻みの数 (15～50)
+
+    private ThrowOutcomeCache cache;
+    private Simulation simulation;
+    private int next;
+
+    @Setup
+    public void setup() {
+        cache = new ThrowOutcomeCache(BenchmarkSupport.WIDTH, BenchmarkSupport.HEIGHT, 1f,
+                TARGET_COUNT * SPEED_COUNT, TARGET_STEP, SPEED_STEP);
+        cache.precompute(PinRack.ALL_PINS_MASK, minTargetX(), minTargetX() + (TARGET_COUNT - 1) * TARGET_STEP,
+                15f, 15f + (SPEED_COUNT - 1) * SPEED_STEP, ForkJoinPool.commonPool());
+        simulation = BenchmarkSupport.newSimulation();
+    }
+
+    /**
+     * 事前計算した範囲の投球をキャッシュから求めます。
+     */
+    @Benchmark
+    public int cachedShot() {
+        int i = next++;
+        return cache.predict(PinRack.ALL_PINS_MASK, targetXAt(i), speedAt(i));
+    }
+
+    /**
+     * 同じ投球を毎回シミュレーションして求めます (キャッシュがない場合)。
+     */
+    @Benchmark
+    public int simulatedShot() {
+        int i = next++;
+        return simulation.simulateShot(PinRack.ALL_PINS_MASK, targetXAt(i), speedAt(i), 1f, ThrowOutcomeSolver.MAX_TICKS_PER_SHOT);
+    }
+
+    private static float minTargetX() {
+        return BenchmarkSupport.WIDTH / 2f - 200;
+    }
+
+    private static float targetXAt(int i) {
+        return minTargetX() + Math.floorMod(i, TARGET_COUNT) * TARGET_STEP;
+    }
+
+    private static float speedAt(int i) {
+        return 15f + Math.floorMod(i / TARGET_COUNT, SPEED_COUNT) * SPEED_STEP;
+    }
+}
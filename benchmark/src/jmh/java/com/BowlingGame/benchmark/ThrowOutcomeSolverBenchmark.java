@@ -0,0 +1,57 @@
+package com.BowlingGame.benchmark;
+
+import com.BowlingGame.core.PinRack;
+import com.BowlingGame.core.ThrowOutcomeMap;
+import com.BowlingGame.core.ThrowOutcomeSolver;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * ThrowOutcomeSolverのベンチマーク。
+ * 並列度を変えて実行し、コア数に対してほぼ線形に速くなることを確認します。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ThrowOutcomeSolverBenchmark {
+    // レーン中央付近の目標X座標と、投球できる初速の範囲を16×8のセルに分ける
+    private static final int TARGET_STEPS = 16;
+    private static final int SPEED_STEPS = 8;
+    private static final int SAMPLES_PER_CELL = 16;
+
+    @Param({"1", "2", "4", "8"})
+    public int parallelism;
+
+    private ForkJoinPool pool;
+    private ThrowOutcomeSolver solver;
+
+    @Setup
+    public void setup() {
+        pool = new ForkJoinPool(parallelism);
+        solver = new ThrowOutcomeSolver(BenchmarkSupport.WIDTH, BenchmarkSupport.HEIGHT, 1f, pool);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    /**
+     * 全ピンが立っている状態の結果の分布を求めます (2048投)。
+     */
+    @Benchmark
+    public ThrowOutcomeMap fullRack() {
+        return solver.solve(PinRack.ALL_PINS_MASK,
+                BenchmarkSupport.WIDTH / 2f - 200, BenchmarkSupport.WIDTH / 2f + 200, TARGET_STEPS,
+                15f, 50f, SPEED_STEPS, SAMPLES_PER_CELL, 1L);
+    }
+}
@@ -0,0 +1,273 @@
+package com.BowlingGame.core;
+
+import java.util.Arrays;
+
+/**
+ * 多数のボールをまとめて進めるクラス。ボールごとの位置・速度・停止状態をプリミティブの配列で並べて持ち、
+ * 摩擦、停止判定、ピンとの接触判定を、全ボールを1つずつ舐める単純なループで処理します。
+ * ループの中には仮想呼び出しもオブジェクトの参照もないため、JITが展開・ベクトル化しやすく、
+ * ボールの数にほぼ比例した時間で数千個を1ティックで進められます (練習モードの複数ボールや、大量の試投のふるい分け用)。
+ *
+ * <p>運動はBallPhysicsと同じ (サブステップ、FRICTION_FACTORのdt乗の減衰、STOP_THRESHOLDでの停止、
+ * レーンの奥での停止) ですが、サブステップ数は最も速いボールに合わせて全ボールで揃えます。
+ * そのため、BallPhysicsとサブステップ数が違うティックでは、減衰のかかり方がわずかに違います。</p>
+ *
+ * <p>ピンは動かさず、ボールも跳ね返りません。各ボールがサブステップ中に接触したピンをマスクに記録し、
+ * 最初に接触したティックを残します (TrajectoryPredictorと同じく、ピンに当たるかどうかと当たる位置を調べる用途)。</p>
+ */
+public final class BallBatch {
+    public static final int NO_CONTACT = -1; // getContactTick()でどのピンにも接触していない場合の値
+
+    private final int capacity;
+    private int size;
+
+    // ボールごとの状態 (インデックスはlaunch()で返した番号)
+    private final float[] x;
+    private final float[] y;
+    private final float[] velocityX; // 停止したボールは0
+    private final float[] velocityY;
+    private final float[] sweepStartX; // 直前のサブステップ開始時の位置 (接触判定用)
+    private final float[] sweepStartY;
+    private final boolean[] stopped;
+    private final int[] contactMasks; // 接触したピン (ビットi = i番目のピン)
+    private final int[] contactTicks; // 最初に接触したティック
+
+    // 接触を調べるピン (step()の開始時にPinRackから写す)
+    private final float[] pinX = new float[PinRack.PIN_COUNT];
+    private final float[] pinY = new float[PinRack.PIN_COUNT];
+    private final int[] pinBits = new int[PinRack.PIN_COUNT];
+    private int pinCount;
+    private float rackLeft; // ピンに接触しうるボールの中心の範囲 (ピンの外接矩形を半径の和だけ広げたもの)
+    private float rackTop;
+    private float rackRight;
+    private float rackBottom;
+
+    private final float radius = BallPhysics.DEFAULT_RADIUS;
+    private final DampingCache damping = new DampingCache(BallPhysics.FRICTION_FACTOR);
+    private float laneEndY = Float.NEGATIVE_INFINITY; // これより奥に進んだボールは止める
+    private int movingCount;
+    private int tick;
+
+    /**
+     * @param capacity 同時に扱えるボールの数
+     */
+    public BallBatch(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        x = new float[capacity];
+        y = new float[capacity];
+        velocityX = new float[capacity];
+        velocityY = new float[capacity];
+        sweepStartX = new float[capacity];
+        sweepStartY = new float[capacity];
+        stopped = new boolean[capacity];
+        contactMasks = new int[capacity];
+        contactTicks = new int[capacity];
+    }
+
+    /**
+     * レーンの奥の位置を設定します。これより奥 (Yが小さい側) に進んだボールはSimulationと同じく止めます。
+     * @param laneEndY レーンの奥のY座標
+     */
+    public void setLaneEnd(float laneEndY) {
+        this.laneEndY = laneEndY;
+    }
+
+    /**
+     * 全てのボールを取り除き、ティックを0に戻します。
+     */
+    public void clear() {
+        size = 0;
+        movingCount = 0;
+        tick = 0;
+    }
+
+    /**
+     * ボールを1つ追加して投げます。速度はBallPhysics.launch()と同じ上限に収めます。
+     * @param startX 開始位置のX座標
+     * @param startY 開始位置のY座標
+     * @param vx X方向の初速 (基準ティックあたりのピクセル)
+     * @param vy Y方向の初速 (奥方向がマイナス)
+     * @return ボールの番号
+     * @throws IllegalStateException capacity個のボールを追加済みの場合
+     */
+    public int launch(float startX, float startY, float vx, float vy) {
+        if (size == capacity) {
+            throw new IllegalStateException("batch is full: " + capacity);
+        }
+        int i = size++;
+        x[i] = startX;
+        y[i] = startY;
+        sweepStartX[i] = startX;
+        sweepStartY[i] = startY;
+        velocityX[i] = BallPhysics.clampVelocityX(vx);
+        velocityY[i] = BallPhysics.clampVelocityY(vy);
+        stopped[i] = velocityX[i] == 0 && velocityY[i] == 0;
+        contactMasks[i] = 0;
+        contactTicks[i] = NO_CONTACT;
+        if (!stopped[i]) {
+            movingCount++;
+        }
+        return i;
+    }
+
+    /**
+     * 全てのボールを1ティック分進めます。止まっているボールは速度が0なので、同じループのまま動きません。
+     * @param dt 経過時間 (基準ティック単位)
+     * @param pins 接触を調べるピン (レーン上に残っているピンが対象)。nullなら調べない
+     * @return 動いているボールの数
+     */
+    public int step(float dt, PinRack pins) {
+        if (movingCount == 0) {
+            return 0;
+        }
+        loadPins(pins);
+        int substeps = substepsFor(dt);
+        float stepDt = dt / substeps;
+        float factor = damping.get(stepDt);
+        for (int s = 0; s < substeps; s++) {
+            integrate(stepDt, factor);
+            if (pinCount > 0) {
+                collidePins();
+            }
+        }
+        settle();
+        tick++;
+        return movingCount;
+    }
+
+    /**
+     * 全ボールの1サブステップあたりの移動量がMAX_SUBSTEP_TRAVEL以下になるサブステップ数を返します。
+     * @param dt 経過時間 (基準ティック単位)
+     * @return サブステップ数 (1～BallPhysics.MAX_SUBSTEPS)
+     */
+    public int substepsFor(float dt) {
+        float maxSpeedSq = 0;
+        for (int i = 0; i < size; i++) {
+            maxSpeedSq = Math.max(maxSpeedSq, velocityX[i] * velocityX[i] + velocityY[i] * velocityY[i]);
+        }
+        float travelSq = maxSpeedSq * dt * dt;
+        float maxTravel = BallPhysics.MAX_SUBSTEP_TRAVEL;
+        if (travelSq <= maxTravel * maxTravel) {
+            return 1;
+        }
+        int substeps = (int) Math.ceil(Math.sqrt(travelSq) / maxTravel);
+        return Math.min(substeps, BallPhysics.MAX_SUBSTEPS);
+    }
+
+    // 全ボールの位置を進めて摩擦で減速させる (分岐なし)
+    private void integrate(float dt, float factor) {
+        float[] px = x;
+        float[] py = y;
+        float[] vx = velocityX;
+        float[] vy = velocityY;
+        for (int i = 0; i < size; i++) {
+            sweepStartX[i] = px[i];
+            sweepStartY[i] = py[i];
+            px[i] += vx[i] * dt;
+            py[i] += vy[i] * dt;
+            vx[i] *= factor;
+            vy[i] *= factor;
+        }
+    }
+
+    // レーン上に残っているピンの位置と、それに接触しうる範囲を求める
+    private void loadPins(PinRack pins) {
+        pinCount = 0;
+        if (pins == null) {
+            return;
+        }
+        float radiusSum = radius + PinRack.PIN_RADIUS;
+        rackLeft = Float.POSITIVE_INFINITY;
+        rackTop = Float.POSITIVE_INFINITY;
+        rackRight = Float.NEGATIVE_INFINITY;
+        rackBottom = Float.NEGATIVE_INFINITY;
+        for (int pin = 0; pin < PinRack.PIN_COUNT; pin++) {
+            if (pins.isActive(pin)) {
+                pinX[pinCount] = pins.getX(pin);
+                pinY[pinCount] = pins.getY(pin);
+                pinBits[pinCount] = 1 << pin;
+                rackLeft = Math.min(rackLeft, pinX[pinCount] - radiusSum);
+                rackTop = Math.min(rackTop, pinY[pinCount] - radiusSum);
+                rackRight = Math.max(rackRight, pinX[pinCount] + radiusSum);
+                rackBottom = Math.max(rackBottom, pinY[pinCount] + radiusSum);
+                pinCount++;
+            }
+        }
+    }
+
+    // 直前のサブステップの移動線分とピンの距離が半径の和より近いボールに、接触を記録する
+    // 移動線分がピン全体の範囲に入らないボール (ほとんどのティックのほとんどのボール) は比較4回で飛ばす
+    private void collidePins() {
+        float radiusSum = radius + PinRack.PIN_RADIUS;
+        float radiusSumSq = radiusSum * radiusSum;
+        for (int i = 0; i < size; i++) {
+            float startX = sweepStartX[i];
+            float startY = sweepStartY[i];
+            float endX = x[i];
+            float endY = y[i];
+            if (Math.max(startX, endX) < rackLeft || Math.min(startX, endX) > rackRight
+                    || Math.max(startY, endY) < rackTop || Math.min(startY, endY) > rackBottom) {
+                continue;
+            }
+            float dx = endX - startX; // 移動ベクトル
+            float dy = endY - startY;
+            float a = dx * dx + dy * dy;
+            int mask = contactMasks[i];
+            for (int p = 0; p < pinCount; p++) {
+                // BallPhysics.timeOfImpact()と同じ判定を、除算も平方根もない形で行う
+                float fx = startX - pinX[p]; // ピンから開始位置へのベクトル
+                float fy = startY - pinY[p];
+                float ex = fx + dx; // ピンから終了位置へのベクトル
+                float ey = fy + dy;
+                float b = fx * dx + fy * dy;
+                float c = fx * fx + fy * fy - radiusSumSq;
+                // 開始位置か終了位置が重なっている、または線分の途中でピンに最も近づき、その距離が半径の和より近い
+                boolean hit = c < 0 || ex * ex + ey * ey < radiusSumSq || (b < 0 && -b < a && a * c < b * b);
+                mask |= hit ? pinBits[p] : 0;
+            }
+            contactMasks[i] = mask;
+        }
+    }
+
+    // ティックの終わりに、初めて接触したボールの記録を残し、
+    // 十分遅くなったボールとレーンの奥に進んだボールを止めて、動いている数を数え直す
+    private void settle() {
+        float threshold = BallPhysics.STOP_THRESHOLD;
+        int moving = 0;
+        for (int i = 0; i < size; i++) {
+            contactTicks[i] = contactTicks[i] == NO_CONTACT && contactMasks[i] != 0 ? tick : contactTicks[i];
+            boolean stop = stopped[i] || y[i] < laneEndY
+                    || (Math.abs(velocityX[i]) < threshold && Math.abs(velocityY[i]) < threshold);
+            stopped[i] = stop;
+            velocityX[i] = stop ? 0f : velocityX[i];
+            velocityY[i] = stop ? 0f : velocityY[i];
+            moving += stop ? 0 : 1;
+        }
+        movingCount = moving;
+    }
+
+    /**
+     * 全てのボールの接触の記録を消します (ピンを立て直して同じボールで調べ直すときなど)。
+     */
+    public void clearContacts() {
+        Arrays.fill(contactMasks, 0, size, 0);
+        Arrays.fill(contactTicks, 0, size, NO_CONTACT);
+    }
+
+    // --- Getterメソッド ---
+    public int size() { return size; }
+    public int getCapacity() { return capacity; }
+    public int getMovingCount() { return movingCount; }
+    public int getTick() { return tick; }
+    public float getRadius() { return radius; }
+    public float getX(int i) { return x[i]; }
+    public float getY(int i) { return y[i]; }
+    public float getVelocityX(int i) { return velocityX[i]; }
+    public float getVelocityY(int i) { return velocityY[i]; }
+    public boolean isStopped(int i) { return stopped[i]; }
+    public int getContactMask(int i) { return contactMasks[i]; }
+    public int getContactTick(int i) { return contactTicks[i]; }
+}
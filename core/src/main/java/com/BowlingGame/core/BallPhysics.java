@@ -0,0 +1,351 @@
+package com.BowlingGame.core;
+
+/**
+ * ボールの運動 (位置・速度・停止判定) を扱うクラス。
+ * Androidに依存しないため、JVM上でそのまま実行できます。
+ */
+public class BallPhysics {
+    private float x; // ボールの中心X座標
+    private float y; // ボールの中心Y座標
+    private float prevX; // 前回ティックの中心X座標 (描画補間用)
+    private float prevY; // 前回ティックの中心Y座標 (描画補間用)
+    private float radius; // ボールの半径
+    private float velocityX; // X方向の速度
+    private float velocityY; // Y方向の速度
+    private boolean isStopped; // ボールが停止しているかどうかのフラグ
+    private boolean isThrowing; // ボールが投げられている最中かどうかのフラグ
+    private boolean traced; // EventTraceに記録するか (ゲームループのシミュレーションだけ)
+    private float sweepStartX; // 直前のサブステップ開始時の中心X座標 (連続衝突判定用)
+    private float sweepStartY; // 直前のサブステップ開始時の中心Y座標 (連続衝突判定用)
+    private final DampingCache damping = new DampingCache(FRICTION_FACTOR); // ステップ幅ごとの速度減衰率 (FRICTION_FACTORのdt乗)
+
+    // 初期位置 (画面サイズに合わせて設定されるべき)
+    private float initialX;
+    private float initialY;
+
+    // 定数
+    public static final float DEFAULT_RADIUS = 40; // ボールのデフォルト半径
+    public static final float FRICTION_FACTOR = 0.98f; // 摩擦による速度減衰率
+    public static final float STOP_THRESHOLD = 0.5f; // 停止とみなす速度の閾値
+    public static final float MAX_VELOCITY_Y = 50.0f; // Y方向の最大速度 (投球速度の制限)
+    public static final float MASS = 7.0f; // ボールの質量 (ピンとの衝突計算用)
+    public static final int REFERENCE_TICK_RATE = 60; // 速度・摩擦の基準となるティックレート (Hz)
+    public static final float MAX_SUBSTEP_TRAVEL = DEFAULT_RADIUS; // 1サブステップで移動してよい最大距離
+    public static final int MAX_SUBSTEPS = 16; // 1ティックあたりの最大サブステップ数
+    public static final float NO_HIT = -1f; // timeOfImpact()で衝突しない場合の戻り値
+
+    public BallPhysics() {
+        this.radius = DEFAULT_RADIUS;
+        reset(); // 初期状態にリセット
+    }
+
+    // 初期位置を設定するためのセッター
+    public void setInitialPosition(float x, float y) {
+        this.initialX = x;
+        this.initialY = y;
+    }
+
+    /**
+     * ボールの位置と状態を基準ティック1回分更新します。
+     */
+    public void update() {
+        update(1f);
+    }
+
+    /**
+     * ボールの位置と状態を更新します。
+     * 移動量が大きい場合はサブステップに分割し、摩擦などを考慮して速度を減衰させます。
+     * @param dt 経過時間 (基準ティック単位。60Hzで1ティックなら1)
+     */
+    public void update(float dt) {
+        beginTick();
+        if (isStopped) {
+            return;
+        }
+
+        int substeps = substepsFor(dt);
+        float step = dt / substeps;
+        for (int i = 0; i < substeps; i++) {
+            advance(step);
+        }
+        settle();
+        // レーンの左右に壁はなく、外れたボールはガターとしてそのまま進み、奥の端か停止でショットが終わる
+        // (TrajectoryPredictorとBallBatchもこの前提で軌道を計算している)
+    }
+
+    /**
+     * ティックの開始時に呼び出し、描画補間用の前回位置を記録します。
+     */
+    public void beginTick() {
+        prevX = x;
+        prevY = y;
+        sweepStartX = x;
+        sweepStartY = y;
+    }
+
+    /**
+     * 1サブステップあたりの移動量がMAX_SUBSTEP_TRAVEL以下になるサブステップ数を返します。
+     * @param dt 経過時間 (基準ティック単位)
+     * @return サブステップ数 (1～MAX_SUBSTEPS)
+     */
+    public int substepsFor(float dt) {
+        float travelSq = (velocityX * velocityX + velocityY * velocityY) * dt * dt;
+        float maxTravelSq = MAX_SUBSTEP_TRAVEL * MAX_SUBSTEP_TRAVEL;
+        if (travelSq <= maxTravelSq) {
+            return 1; // 通常の速度ではサブステップ不要
+        }
+        int substeps = (int) Math.ceil(Math.sqrt(travelSq) / MAX_SUBSTEP_TRAVEL);
+        return Math.min(substeps, MAX_SUBSTEPS);
+    }
+
+    /**
+     * ボールを1サブステップ分だけ進めます。停止判定は行いません。
+     * 移動前の位置はtimeOfImpact()の判定に使われます。
+     * @param dt ステップ幅 (基準ティック単位)
+     */
+    public void advance(float dt) {
+        sweepStartX = x;
+        sweepStartY = y;
+
+        // 速度に基づいて位置を更新
+        x += velocityX * dt;
+        y += velocityY * dt;
+
+        // 摩擦による速度の減衰 (減衰率はステップ幅ごとに一度だけ計算する)
+        float factor = damping.get(dt);
+        velocityX *= factor;
+        velocityY *= factor;
+    }
+
+    /**
+     * ティックの終わりに呼び出し、ある程度速度が遅くなっていれば停止させます。
+     */
+    public void settle() {
+        if (Math.abs(velocityX) < STOP_THRESHOLD && Math.abs(velocityY) < STOP_THRESHOLD) {
+            isStopped = true;
+            isThrowing = false;
+            velocityX = 0;
+            velocityY = 0;
+            if (traced) {
+                EventTrace.record(EventTrace.BALL_STOPPED, 0, 0, x, y);
+            }
+        }
+    }
+
+    /**
+     * ボールを投げる処理を開始します。
+     * @param targetX ボールを投げる目標のX座標
+     * @param initialSpeedY Y方向への初速
+     */
+    public void throwBall(float targetX, float initialSpeedY) {
+        // Y方向の速度は一定の初速で、かつ奥へ進むようにする
+        launch(throwVelocityX(targetX), -initialSpeedY); // Y方向は奥へ進む (画面上方向がマイナス)
+    }
+
+    /**
+     * throwBall()で目標X座標に向けて投げたときのX方向の初速を返します (上限の適用前)。
+     * @param targetX ボールを投げる目標のX座標
+     * @return X方向の初速
+     */
+    public float throwVelocityX(float targetX) {
+        // ボールの初期位置から目標X座標への方向ベクトルを計算
+        float dx = targetX - initialX;
+
+        // X方向の速度は目標Xまでの距離に比例させる（簡易的）
+        return (dx / (initialY - (initialY / 2))) * MAX_VELOCITY_Y * 0.5f; // X方向の速度を調整
+    }
+
+    /**
+     * 速度を直接指定してボールを投げます (スワイプ投球用)。
+     * 速度は投球時と同じ上限に収めます。
+     * @param vx X方向の初速 (基準ティックあたりのピクセル)
+     * @param vy Y方向の初速 (奥方向がマイナス)
+     */
+    public void launch(float vx, float vy) {
+        velocityX = clampVelocityX(vx);
+        velocityY = clampVelocityY(vy);
+
+        isStopped = false;
+        isThrowing = true;
+        if (traced) {
+            EventTrace.record(EventTrace.BALL_THROWN, 0, 0, velocityX, velocityY);
+        }
+    }
+
+    /**
+     * X方向の初速に投球時の上限を適用します。
+     * @param vx X方向の初速
+     * @return 上限を適用した初速
+     */
+    public static float clampVelocityX(float vx) {
+        if (Math.abs(vx) > MAX_VELOCITY_Y * 0.5f) { // X方向はY方向より遅めに制限
+            return (vx > 0 ? 1 : -1) * MAX_VELOCITY_Y * 0.5f;
+        }
+        return vx;
+    }
+
+    /**
+     * Y方向の初速に投球時の上限を適用します。
+     * @param vy Y方向の初速
+     * @return 上限を適用した初速
+     */
+    public static float clampVelocityY(float vy) {
+        if (Math.abs(vy) > MAX_VELOCITY_Y) {
+            return (vy > 0 ? 1 : -1) * MAX_VELOCITY_Y;
+        }
+        return vy;
+    }
+
+    /**
+     * 現在位置のボールと指定された円 (ピンなど) が重なっているかどうかを判定します。
+     * @param cx 円の中心X座標
+     * @param cy 円の中心Y座標
+     * @param otherRadius 円の半径
+     * @return 重なっていればtrue、そうでなければfalse
+     */
+    public boolean collidesWith(float cx, float cy, float otherRadius) {
+        // 中心間の距離の2乗が半径の合計の2乗よりも小さければ衝突
+        float distanceX = x - cx;
+        float distanceY = y - cy;
+        float radiusSum = radius + otherRadius;
+
+        return distanceX * distanceX + distanceY * distanceY < radiusSum * radiusSum;
+    }
+
+    /**
+     * 直前のサブステップでボールが通過した線分と、指定された円が接触したかどうかを判定します。
+     * 離散的な重なり判定と違い、高速でもピンをすり抜けません。
+     * @param cx 円の中心X座標
+     * @param cy 円の中心Y座標
+     * @param otherRadius 円の半径
+     * @return 接触していればtrue、そうでなければfalse
+     */
+    public boolean sweepHits(float cx, float cy, float otherRadius) {
+        return timeOfImpact(cx, cy, otherRadius) != NO_HIT;
+    }
+
+    /**
+     * 直前のサブステップの移動 (開始位置→現在位置) の中で、指定された円に最初に接触する時刻を求めます。
+     * @param cx 円の中心X座標
+     * @param cy 円の中心Y座標
+     * @param otherRadius 円の半径
+     * @return 接触時刻 (0: 開始位置, 1: 現在位置)。接触しない場合はNO_HIT
+     */
+    public float timeOfImpact(float cx, float cy, float otherRadius) {
+        float radiusSum = radius + otherRadius;
+        float fx = sweepStartX - cx; // 円の中心から開始位置へのベクトル
+        float fy = sweepStartY - cy;
+        float c = fx * fx + fy * fy - radiusSum * radiusSum;
+        if (c <= 0) {
+            return 0f; // 開始時点で既に重なっている
+        }
+
+        float dx = x - sweepStartX; // 移動ベクトル
+        float dy = y - sweepStartY;
+        float b = fx * dx + fy * dy;
+        if (b >= 0) {
+            return NO_HIT; // 円から遠ざかっている
+        }
+        float a = dx * dx + dy * dy;
+        float discriminant = b * b - a * c;
+        if (discriminant < 0) {
+            return NO_HIT; // 線分の延長線が円と交わらない
+        }
+
+        // |f + t*d| = radiusSum の小さい方の解
+        float t = (-b - (float) Math.sqrt(discriminant)) / a;
+        return t <= 1f ? t : NO_HIT;
+    }
+
+    /**
+     * ボールに力積を与えて速度を変化させます (ピンとの衝突の反作用など)。
+     * @param impulseX X方向の力積
+     * @param impulseY Y方向の力積
+     */
+    public void applyImpulse(float impulseX, float impulseY) {
+        velocityX += impulseX / MASS;
+        velocityY += impulseY / MASS;
+    }
+
+    /**
+     * 速度は変えずにボールの位置をずらします (立っているピンとの重なりの解消用)。
+     * @param dx X方向の移動量
+     * @param dy Y方向の移動量
+     */
+    public void displace(float dx, float dy) {
+        x += dx;
+        y += dy;
+    }
+
+    /**
+     * ボールを初期位置にリセットし、停止状態にします。
+     */
+    public void reset() {
+        this.x = initialX;
+        this.y = initialY;
+        this.prevX = initialX;
+        this.prevY = initialY;
+        this.sweepStartX = initialX;
+        this.sweepStartY = initialY;
+        this.velocityX = 0;
+        this.velocityY = 0;
+        this.isStopped = true;
+        this.isThrowing = false;
+        if (traced) {
+            EventTrace.record(EventTrace.BALL_RESET, 0, 0, initialX, initialY);
+        }
+    }
+
+    /**
+     * 保存しておいた位置・速度・状態をそのまま設定します (一時停止からの復元用)。
+     * @param x 中心X座標
+     * @param y 中心Y座標
+     * @param velocityX X方向の速度
+     * @param velocityY Y方向の速度
+     * @param stopped 停止しているかどうか
+     * @param throwing 投げられている最中かどうか
+     */
+    public void restore(float x, float y, float velocityX, float velocityY, boolean stopped, boolean throwing) {
+        this.x = x;
+        this.y = y;
+        this.prevX = x;
+        this.prevY = y;
+        this.sweepStartX = x;
+        this.sweepStartY = y;
+        this.velocityX = velocityX;
+        this.velocityY = velocityY;
+        this.isStopped = stopped;
+        this.isThrowing = throwing;
+    }
+
+    /**
+     * ボールを強制的に停止させます。
+     */
+    public void stop() {
+        this.isStopped = true;
+        this.isThrowing = false;
+        this.velocityX = 0;
+        this.velocityY = 0;
+    }
+
+    /**
+     * 投球・停止・リセットをEventTraceに記録するかを設定します。
+     * @param traced 記録する場合true
+     */
+    public void setTraced(boolean traced) {
+        this.traced = traced;
+    }
+
+    // --- Getterメソッド ---
+    public float getX() { return x; }
+    public float getY() { return y; }
+    public float getPrevX() { return prevX; }
+    public float getPrevY() { return prevY; }
+    public float getRadius() { return radius; }
+    public float getVelocityX() { return velocityX; }
+    public float getVelocityY() { return velocityY; }
+    public float getInitialX() { return initialX; }
+    public float getInitialY() { return initialY; }
+    public boolean isStopped() { return isStopped; }
+    public boolean isThrowing() { return isThrowing; }
+}
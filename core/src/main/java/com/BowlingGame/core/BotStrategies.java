@@ -0,0 +1,92 @@
+package com.BowlingGame.core;
+
+import java.util.SplittableRandom;
+
+/**
+ * 組み込みのBotStrategy。どれも状態を持たないので、複数のスレッドで共有できます。
+ */
+public final class BotStrategies {
+    private static final float MIN_SPEED = 15f; // ランダムに投げるときの初速の下限
+    private static final float POCKET_OFFSET = 0.3f; // ヘッドピンからポケット (ピン間隔に対する割合) へのずらし量
+
+    private BotStrategies() {
+    }
+
+    /**
+     * レーンの幅の中で目標X座標を、MIN_SPEED～MAX_VELOCITY_Yで初速を一様に選ぶ投げ方を返します。
+     * @return BotStrategy
+     */
+    public static BotStrategy random() {
+        return (simulation, random) -> {
+            float laneWidth = simulation.getWidth() * Simulation.LANE_WIDTH_RATIO;
+            float laneLeft = (simulation.getWidth() - laneWidth) / 2;
+            simulation.throwBall(laneLeft + laneWidth * (float) random.nextDouble(),
+                    MIN_SPEED + (BallPhysics.MAX_VELOCITY_Y - MIN_SPEED) * (float) random.nextDouble());
+        };
+    }
+
+    /**
+     * 1投目はヘッドピンの横のポケット、2投目以降は残ったピンの中心を狙い、
+     * 狙いと初速に正規分布のぶれを加える投げ方を返します。
+     * @param aimNoise 狙う位置のぶれの標準偏差 (ピクセル)
+     * @param speed 初速
+     * @param speedNoise 初速のぶれの標準偏差
+     * @return BotStrategy
+     */
+    public static BotStrategy aimed(float aimNoise, float speed, float speedNoise) {
+        return (simulation, random) -> {
+            PinRack pins = simulation.getPins();
+            int standing = pins.getStandingMask();
+            float x = 0;
+            float y = 0;
+            for (int i = 0; i < PinRack.PIN_COUNT; i++) {
+                if ((standing & (1 << i)) != 0) {
+                    x += pins.getX(i);
+                    y += pins.getY(i);
+                }
+            }
+            int count = Integer.bitCount(standing);
+            if (standing == PinRack.ALL_PINS_MASK) {
+                // 全部立っていれば、ヘッドピンと2番ピンの間を狙う
+                x = pins.getX(0) + (pins.getX(1) - pins.getX(0)) * POCKET_OFFSET;
+                y = pins.getY(0);
+            } else if (count > 0) {
+                x /= count;
+                y /= count;
+            } else {
+                x = pins.getX(0);
+                y = pins.getY(0);
+            }
+            x += aimNoise * gaussian(random);
+            float throwSpeed = Math.max(1f, speed + speedNoise * gaussian(random));
+            simulation.throwBall(targetXFor(simulation.getBall(), x, y, throwSpeed), throwSpeed);
+        };
+    }
+
+    /**
+     * ボールがY座標yを通過するときにX座標xにいるようなthrowBall()の目標X座標を返します。
+     * 軌跡は直線なので、X方向とY方向の初速の比が (x - 初期X座標) : (y - 初期Y座標) になるよう
+     * BallPhysics.throwVelocityX()を逆に解きます。
+     * @param ball 投球前のボール
+     * @param x 通過させたいX座標
+     * @param y 通過させたいY座標 (ボールの初期位置より奥)
+     * @param speed Y方向への初速
+     * @return 目標X座標
+     */
+    public static float targetXFor(BallPhysics ball, float x, float y, float speed) {
+        float initialY = ball.getInitialY();
+        float depth = initialY - y;
+        if (depth <= 0) {
+            return x;
+        }
+        float velocityX = (x - ball.getInitialX()) * speed / depth;
+        return ball.getInitialX() + velocityX * (initialY / 2) / (BallPhysics.MAX_VELOCITY_Y * 0.5f);
+    }
+
+    // 標準正規分布の乱数 (Box-Muller法)
+    private static float gaussian(SplittableRandom random) {
+        double u1 = 1.0 - random.nextDouble(); // log(0)を避ける
+        double u2 = random.nextDouble();
+        return (float) (Math.sqrt(-2 * Math.log(u1)) * Math.cos(2 * Math.PI * u2));
+    }
+}
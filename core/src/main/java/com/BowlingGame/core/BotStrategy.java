@@ -0,0 +1,17 @@
+package com.BowlingGame.core;
+
+import java.util.SplittableRandom;
+
+/**
+ * CPUプレイヤーの投球の決め方。
+ * LeagueSimulatorでは1つのインスタンスを全スレッドで共有するため、実装は状態を持たないようにしてください。
+ * 乱数は呼び出し側がゲームごとに用意したものを使います。
+ */
+public interface BotStrategy {
+    /**
+     * 投球待ちのシミュレーションに対して1投します (throwBall()またはthrowBallWithVelocity()を呼び出す)。
+     * @param simulation 投球待ちのシミュレーション
+     * @param random このゲーム専用の乱数
+     */
+    void playShot(Simulation simulation, SplittableRandom random);
+}
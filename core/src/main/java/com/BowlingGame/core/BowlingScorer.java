@@ -0,0 +1,127 @@
+package com.BowlingGame.core;
+
+/**
+ * 投球ごとに倒したピンの数の配列から、1ゲームのスコアを一度に計算するクラス。
+ * GameStateのように1投ずつ状態を進めるのではなく、配列を先頭から1回なめるだけで、フレームごとのオブジェクトも作りません。
+ * 取り込んだリーグのデータの再計算や、GameStateの結果との突き合わせに使います。
+ *
+ * <p>結果はGameStateと同じで、ボーナス投球が揃っていないフレーム以降はUNSCOREDになり、合計にも含めません。
+ * 途中までのゲームも計算できますが、ピンの数が範囲外、フレームの合計が10を超える、ゲームの終了後にも投球があるなど、
+ * ありえない並びの場合はINVALIDを返します。</p>
+ */
+public final class BowlingScorer {
+    public static final int INVALID = -1; // score()で投球の並びが正しくない場合の戻り値
+    private static final int PINS = GameState.PIN_COUNT;
+
+    private BowlingScorer() {
+    }
+
+    /**
+     * 1ゲームの合計スコアを計算します。
+     * @param rolls 各投球で倒したピンの数
+     * @param offset rollsの読み出し開始位置
+     * @param count 投球数
+     * @return 確定したフレームまでの合計スコア。並びが正しくなければINVALID
+     */
+    public static int score(int[] rolls, int offset, int count) {
+        return score(rolls, offset, count, null, 0);
+    }
+
+    /**
+     * 1ゲームの合計スコアとフレームごとの累積スコアを計算します。
+     * @param rolls 各投球で倒したピンの数
+     * @param offset rollsの読み出し開始位置
+     * @param count 投球数
+     * @param frameScores フレームごとの累積スコアの書き込み先 (未確定はUNSCORED)。nullなら書き込まない
+     * @param framesOffset frameScoresの書き込み開始位置
+     * @return 確定したフレームまでの合計スコア。並びが正しくなければINVALID (frameScoresの内容は不定)
+     */
+    public static int score(int[] rolls, int offset, int count, int[] frameScores, int framesOffset) {
+        if (count < 0 || count > GameState.MAX_ROLLS) {
+            return INVALID;
+        }
+        int end = offset + count;
+        int i = offset;
+        int total = 0;
+        boolean resolving = true; // これまでのフレームが全て確定しているか (確定は先頭から順)
+        for (int frame = 0; frame < GameState.MAX_FRAMES; frame++) {
+            int frameScore = GameState.UNSCORED;
+            if (i < end) {
+                int first = rolls[i];
+                if (first < 0 || first > PINS) {
+                    return INVALID;
+                }
+                if (frame < GameState.MAX_FRAMES - 1) {
+                    if (first == PINS) {
+                        // ストライク: 次の2投がボーナス (範囲は後のフレームで確かめる)
+                        if (i + 2 < end) {
+                            frameScore = PINS + rolls[i + 1] + rolls[i + 2];
+                        }
+                        i += 1;
+                    } else if (i + 1 < end) {
+                        int second = rolls[i + 1];
+                        if (second < 0 || first + second > PINS) {
+                            return INVALID;
+                        }
+                        if (first + second < PINS) {
+                            frameScore = first + second;
+                        } else if (i + 2 < end) {
+                            frameScore = PINS + rolls[i + 2]; // スペア: 次の1投がボーナス
+                        }
+                        i += 2;
+                    } else {
+                        i += 1; // 1投目だけのフレーム
+                    }
+                } else {
+                    int used = lastFrameRolls(rolls, i, end);
+                    if (used < 0) {
+                        return INVALID;
+                    }
+                    if (used > 0) {
+                        frameScore = 0;
+                        for (int r = 0; r < used; r++) {
+                            frameScore += rolls[i + r];
+                        }
+                        i += used;
+                    } else {
+                        i = end; // 10フレーム目の途中
+                    }
+                }
+            }
+            if (resolving && frameScore != GameState.UNSCORED) {
+                total += frameScore;
+            } else {
+                resolving = false;
+            }
+            if (frameScores != null) {
+                frameScores[framesOffset + frame] = resolving ? total : GameState.UNSCORED;
+            }
+        }
+        return i < end ? INVALID : total; // 10フレーム目の後に投球が残っていれば不正
+    }
+
+    // 10フレーム目の投球を確かめ、フレームが終わっていればその投球数 (2か3)、途中なら0、不正なら-1を返す
+    private static int lastFrameRolls(int[] rolls, int i, int end) {
+        int first = rolls[i];
+        if (i + 1 >= end) {
+            return 0;
+        }
+        int second = rolls[i + 1];
+        if (second < 0 || second > PINS || (first < PINS && first + second > PINS)) {
+            return -1;
+        }
+        if (first + second < PINS) {
+            return 2; // オープンフレームは2投で終わり
+        }
+        if (i + 2 >= end) {
+            return 0;
+        }
+        int third = rolls[i + 2];
+        // 3投目の前に立っているピン: ストライクの後の2投目がストライクでなければその残り、それ以外は立て直した10本
+        int standing = first == PINS && second < PINS ? PINS - second : PINS;
+        if (third < 0 || third > standing) {
+            return -1;
+        }
+        return 3;
+    }
+}
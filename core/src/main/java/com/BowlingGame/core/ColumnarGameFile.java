@@ -0,0 +1,169 @@
+package com.BowlingGame.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 多数のゲームの投球を列ごとに並べたファイル。取り込んだリーグのデータをまとめてスコア計算するために使います。
+ *
+ * <p>ヘッダーの後に、全ゲームの投球数の列 (1ゲーム1バイト)、続いてi投目 (0～MAX_ROLLS-1) ごとに全ゲームの倒したピン数の列が並びます。
+ * 同じ投球の値が連続しているため、ゲームの範囲ごとに読むと各列を先頭から順に読むことになります。
+ * ファイルはメモリマップして読み、scoreAll()はゲームの範囲をfork/joinで分割して全コアで計算します。</p>
+ */
+public final class ColumnarGameFile implements AutoCloseable {
+    public static final int MAGIC = 0x42574C43; // "BWLC"
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 16; // magic, version, ゲーム数 (long)
+    private static final int GAMES_PER_TASK = 4096; // これ以下のゲーム数になったら分割せずに計算する
+
+    private final RandomAccessFile file;
+    private final MappedByteBuffer buffer;
+    private final int gameCount;
+
+    private ColumnarGameFile(RandomAccessFile file, MappedByteBuffer buffer, int gameCount) {
+        this.file = file;
+        this.buffer = buffer;
+        this.gameCount = gameCount;
+    }
+
+    /**
+     * ゲームを列ごとの形式でファイルに書き出します。
+     * @param path 書き出し先
+     * @param rollCounts ゲームごとの投球数
+     * @param rolls ゲームごとの倒したピン数 (ゲームgのi投目は rolls[g * MAX_ROLLS + i])
+     * @param gameCount ゲーム数
+     * @throws IOException 書き出しに失敗した場合
+     */
+    public static void write(File path, int[] rollCounts, int[] rolls, int gameCount) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(path, "rw")) {
+            file.setLength(0);
+            long size = HEADER_SIZE + (long) gameCount * (1 + GameState.MAX_ROLLS);
+            MappedByteBuffer out = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+            out.order(ByteOrder.LITTLE_ENDIAN);
+            out.putInt(MAGIC);
+            out.putInt(VERSION);
+            out.putLong(gameCount);
+            for (int game = 0; game < gameCount; game++) {
+                out.put((byte) rollCounts[game]);
+            }
+            for (int roll = 0; roll < GameState.MAX_ROLLS; roll++) {
+                for (int game = 0; game < gameCount; game++) {
+                    out.put((byte) (roll < rollCounts[game] ? rolls[game * GameState.MAX_ROLLS + roll] : 0));
+                }
+            }
+            out.force();
+        }
+    }
+
+    /**
+     * ファイルを読み取り用に開きます。
+     * @param path ファイルのパス
+     * @return 開いたファイル
+     * @throws IOException 読み込みに失敗した場合
+     * @throws IllegalArgumentException 形式が違う場合
+     */
+    public static ColumnarGameFile open(File path) throws IOException {
+        RandomAccessFile file = new RandomAccessFile(path, "r");
+        try {
+            long length = file.length();
+            if (length < HEADER_SIZE) {
+                throw new IllegalArgumentException("not a columnar game file");
+            }
+            MappedByteBuffer buffer = file.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, length);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.getInt(0) != MAGIC) {
+                throw new IllegalArgumentException("not a columnar game file");
+            }
+            if (buffer.getInt(4) != VERSION) {
+                throw new IllegalArgumentException("unsupported columnar game file version: " + buffer.getInt(4));
+            }
+            long games = buffer.getLong(8);
+            if (games < 0 || HEADER_SIZE + games * (1 + GameState.MAX_ROLLS) > length) {
+                throw new IllegalArgumentException("truncated columnar game file: " + games + " games");
+            }
+            return new ColumnarGameFile(file, buffer, (int) games);
+        } catch (IOException | RuntimeException e) {
+            file.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 1ゲームの投球を読み出します。
+     * @param game ゲームの番号
+     * @param rolls 倒したピン数の書き込み先 (MAX_ROLLS以上)
+     * @return 投球数
+     */
+    public int readGame(int game, int[] rolls) {
+        return readGame(buffer, game, rolls);
+    }
+
+    private int readGame(ByteBuffer in, int game, int[] rolls) {
+        int rollCount = in.get(HEADER_SIZE + game);
+        int count = Math.min(Math.max(rollCount, 0), GameState.MAX_ROLLS);
+        for (int roll = 0; roll < count; roll++) {
+            rolls[roll] = in.get(rollColumn(roll) + game);
+        }
+        return rollCount;
+    }
+
+    // i投目の列の先頭位置
+    private int rollColumn(int roll) {
+        return HEADER_SIZE + gameCount * (1 + roll);
+    }
+
+    /**
+     * 全ゲームのスコアを並列に計算します。
+     * @param pool 計算に使うForkJoinPool
+     * @return ゲームごとの合計スコア (並びが正しくないゲームはBowlingScorer.INVALID)
+     */
+    public int[] scoreAll(ForkJoinPool pool) {
+        int[] scores = new int[gameCount];
+        pool.invoke(new ScoreTask(scores, 0, gameCount));
+        return scores;
+    }
+
+    // --- Getterメソッド ---
+    public int getGameCount() { return gameCount; }
+
+    @Override
+    public void close() throws IOException {
+        file.close();
+    }
+
+    // [from, to) のゲームを計算するタスク。大きければ半分に分けてforkする
+    private final class ScoreTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] scores;
+        private final int from;
+        private final int to;
+
+        ScoreTask(int[] scores, int from, int to) {
+            this.scores = scores;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > GAMES_PER_TASK) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new ScoreTask(scores, from, mid), new ScoreTask(scores, mid, to));
+                return;
+            }
+            ByteBuffer in = buffer.duplicate(); // 位置を共有しないようタスクごとに複製する
+            int[] rolls = new int[GameState.MAX_ROLLS];
+            for (int game = from; game < to; game++) {
+                scores[game] = BowlingScorer.score(rolls, 0, readGame(in, game, rolls));
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.BowlingGame.core;
+
+/**
+ * 摩擦による速度減衰率 (摩擦係数のdt乗) を、ステップ幅ごとに覚えておくクラス。
+ * StrictMath.pow()はJITの組み込み関数にならず1回に数十ナノ秒かかる (JDK 17で約65ns、配列の参照は約1ns) ため、
+ * サブステップごとに呼ばず、1ティックの幅をサブステップ数で割った幅 (高々MAX_SUBSTEPS通り) を一度ずつ計算して使い回します。
+ * 値はStrictMathで計算するので、覚えておいた値を使っても端末によらず同じ結果になります。
+ */
+final class DampingCache {
+    private static final int CAPACITY = 32; // 覚えておくステップ幅の数 (ティックの幅2通り分のサブステップ)
+
+    private final float factor; // dt = 1での減衰率
+    private final float[] steps = new float[CAPACITY];
+    private final float[] values = new float[CAPACITY];
+    private int size;
+    private int next; // 満杯のときに次に上書きする位置
+    private float lastStep = 1f; // 直前に返した値のステップ幅
+    private float lastValue;
+
+    /**
+     * @param factor dt = 1での減衰率
+     */
+    DampingCache(float factor) {
+        this.factor = factor;
+        this.lastValue = factor;
+    }
+
+    /**
+     * ステップ幅dtでの減衰率を返します。
+     * @param dt ステップ幅 (基準ティック単位)
+     * @return factorのdt乗
+     */
+    float get(float dt) {
+        if (dt == lastStep) {
+            return lastValue;
+        }
+        lastStep = dt;
+        for (int i = 0; i < size; i++) {
+            if (steps[i] == dt) {
+                lastValue = values[i];
+                return lastValue;
+            }
+        }
+        lastValue = dt == 1f ? factor : (float) StrictMath.pow(factor, dt); // 端末によらず同じ値になるようStrictMathを使う
+        steps[next] = dt;
+        values[next] = lastValue;
+        next = (next + 1) % CAPACITY;
+        size = Math.min(size + 1, CAPACITY);
+        return lastValue;
+    }
+}
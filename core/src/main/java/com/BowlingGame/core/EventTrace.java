@@ -0,0 +1,110 @@
+package com.BowlingGame.core;
+
+import java.io.IOException;
+
+/**
+ * ゲームループ中のイベントを記録する軽量なトレース。
+ * 文字列を作らず、イベント番号と数値だけを事前に確保したリングバッファに書き込むため、
+ * 記録時にメモリ割り当てやI/Oは発生しません。内容はdump()でまとめて書き出します。
+ *
+ * <p>既定では無効です。記録はゲームループのスレッド1つから行う前提のため、
+ * 書き込むのはSimulation.setTraced(true)にしたシミュレーション (ゲームループのもの) だけです。
+ * 別のスレッドで進める予測・集計用のシミュレーションは記録しません。
+ * アプリはデバッグビルドのとき (BuildConfig.DEBUG) だけ有効にするため、リリースビルドでは記録しません。</p>
+ */
+public final class EventTrace {
+    // イベント番号
+    public static final int BALL_THROWN = 1; // a, b: なし / x, y: 速度
+    public static final int BALL_STOPPED = 2; // x, y: 停止位置
+    public static final int BALL_RESET = 3; // x, y: 初期位置
+    public static final int PINS_SCORED = 4; // a: フレーム, b: 倒したピン数 / x: 投球回数, y: 合計スコア
+    public static final int NEXT_SHOT = 5; // a: フレーム, b: 投球回数
+    public static final int NEXT_FRAME = 6; // a: フレーム
+    public static final int GAME_RESET = 7;
+    public static final int GAME_OVER = 8; // a: 合計スコア
+    public static final int SHOT_RESULT = 9; // a: 倒したピン数, b: 残ったピンのマスク
+
+    private static final String[] NAMES = {
+            "?", "BALL_THROWN", "BALL_STOPPED", "BALL_RESET", "PINS_SCORED",
+            "NEXT_SHOT", "NEXT_FRAME", "GAME_RESET", "GAME_OVER", "SHOT_RESULT"
+    };
+
+    public static final int CAPACITY = 1024; // 保持するイベント数 (2のべき乗)
+    private static final int MASK = CAPACITY - 1;
+
+    // リングバッファ (イベントごとの各項目をプリミティブ配列で持つ)
+    private static final long[] times = new long[CAPACITY]; // 記録時刻 (System.nanoTime)
+    private static final int[] events = new int[CAPACITY];
+    private static final int[] argsA = new int[CAPACITY];
+    private static final int[] argsB = new int[CAPACITY];
+    private static final float[] argsX = new float[CAPACITY];
+    private static final float[] argsY = new float[CAPACITY];
+    private static long count; // これまでに記録したイベント数
+
+    private static volatile boolean enabled;
+
+    private EventTrace() {
+    }
+
+    /**
+     * トレースの有効・無効を切り替えます。
+     * @param on 有効にする場合true
+     */
+    public static void setEnabled(boolean on) {
+        enabled = on;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * イベントを記録します。
+     * @param event イベント番号
+     * @param a 整数の引数1
+     * @param b 整数の引数2
+     * @param x 小数の引数1
+     * @param y 小数の引数2
+     */
+    public static void record(int event, int a, int b, float x, float y) {
+        if (!enabled) {
+            return;
+        }
+        int slot = (int) (count & MASK);
+        times[slot] = System.nanoTime();
+        events[slot] = event;
+        argsA[slot] = a;
+        argsB[slot] = b;
+        argsX[slot] = x;
+        argsY[slot] = y;
+        count++;
+    }
+
+    /**
+     * 記録済みのイベントを破棄します。
+     */
+    public static void clear() {
+        count = 0;
+    }
+
+    /**
+     * 保持しているイベントを古い順に1行ずつ書き出します。
+     * 書式: 時刻(ns) イベント名 a b x y
+     * @param out 書き出し先
+     * @throws IOException 書き出しに失敗した場合
+     */
+    public static void dump(Appendable out) throws IOException {
+        long end = count;
+        long start = Math.max(0, end - CAPACITY);
+        for (long i = start; i < end; i++) {
+            int slot = (int) (i & MASK);
+            int event = events[slot];
+            out.append(Long.toString(times[slot])).append(' ')
+                    .append(event > 0 && event < NAMES.length ? NAMES[event] : Integer.toString(event)).append(' ')
+                    .append(Integer.toString(argsA[slot])).append(' ')
+                    .append(Integer.toString(argsB[slot])).append(' ')
+                    .append(Float.toString(argsX[slot])).append(' ')
+                    .append(Float.toString(argsY[slot])).append('\n');
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.BowlingGame.core;
+
+import java.io.IOException;
+
+/**
+ * 1フレームの処理を段階 (Canvasの取得・ゲームロジックの更新・描画・画面への反映) ごとに計測し、
+ * それぞれの分布をLatencyHistogramに記録するクラス。
+ * 各段階を記録するスレッドは1つに限ります (UPDATEはシミュレーションスレッド、それ以外は描画スレッド)。
+ * 読み出しは任意のスレッドからロックなしで行えます。
+ */
+public final class FrameProfile {
+    // 計測する段階
+    public static final int LOCK_CANVAS = 0; // lockCanvas()
+    public static final int UPDATE = 1; // 1ティック分のupdate()
+    public static final int DRAW = 2; // render()
+    public static final int POST = 3; // unlockCanvasAndPost()
+    public static final int FRAME = 4; // フレーム全体 (Canvasの取得から画面への反映まで)
+    public static final int PHASE_COUNT = 5;
+
+    private static final String[] NAMES = {"lockCanvas", "update", "draw", "post", "frame"};
+
+    public static final long DEFAULT_FRAME_BUDGET_NANOS = 1_000_000_000L / 60; // 60fpsでの1フレームの時間
+
+    private final LatencyHistogram[] phases = new LatencyHistogram[PHASE_COUNT];
+
+    public FrameProfile() {
+        this(DEFAULT_FRAME_BUDGET_NANOS);
+    }
+
+    /**
+     * @param frameBudgetNanos 1フレームに使える時間 (ナノ秒)。これを超えたフレームをジャンクとして数える
+     */
+    public FrameProfile(long frameBudgetNanos) {
+        for (int i = 0; i < PHASE_COUNT; i++) {
+            // 段階ごとのジャンクは、その段階だけでフレームの時間を使い切った場合
+            phases[i] = new LatencyHistogram(NAMES[i], frameBudgetNanos);
+        }
+    }
+
+    /**
+     * 段階の処理時間を記録します。
+     * @param phase 段階 (LOCK_CANVASなど)
+     * @param nanos 処理時間 (ナノ秒)
+     */
+    public void record(int phase, long nanos) {
+        phases[phase].record(nanos);
+    }
+
+    public LatencyHistogram getPhase(int phase) {
+        return phases[phase];
+    }
+
+    /**
+     * 記録をすべて破棄します。記録スレッドから呼び出してください。
+     */
+    public void reset() {
+        for (LatencyHistogram phase : phases) {
+            phase.reset();
+        }
+    }
+
+    /**
+     * 全段階の集計結果を書き出します (1行目は見出し、時間はマイクロ秒)。
+     * @param out 書き出し先
+     * @throws IOException 書き出しに失敗した場合
+     */
+    public void dump(Appendable out) throws IOException {
+        out.append("phase count mean_us p50_us p95_us p99_us max_us jank\n");
+        for (LatencyHistogram phase : phases) {
+            phase.writeSummary(out);
+        }
+    }
+}
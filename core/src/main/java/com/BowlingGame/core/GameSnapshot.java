@@ -0,0 +1,170 @@
+package com.BowlingGame.core;
+
+/**
+ * ゲームの状態を固定長のバイト配列にビット単位で詰めて保存・復元するクラス。
+ * 一時停止や画面回転からの復帰に使います。エンコード・デコードとも与えられたバッファ以外のメモリ割り当ては行いません。
+ *
+ * <p>形式 (ビット単位、先頭から):
+ * バージョン 8 / 投球数 5 / 各投球のピン数 4×21 / フレーム 4 / 投球回数 2 / 状態フラグ 4 /
+ * 立っているピン 10 / 投球開始時に立っていたピン 10 / ボールの状態 2 / 画面サイズ 16×2 / ボールの位置・速度 32×4</p>
+ *
+ * <p>投球中に保存した場合、倒れて滑っているピンは復元せずレーン上から取り除きます。</p>
+ */
+public final class GameSnapshot {
+    public static final int VERSION = 1;
+    private static final int BITS = 8 + 5 + 4 * GameState.MAX_ROLLS + 4 + 2 + 4 + 10 + 10 + 2 + 16 * 2 + 32 * 4;
+    public static final int SIZE = (BITS + 7) / 8; // バイト数
+
+    // 状態フラグ
+    private static final int FLAG_WAITING = 1;
+    private static final int FLAG_RUNNING = 1 << 1;
+    private static final int FLAG_OVER = 1 << 2;
+    private static final int FLAG_SHOT_PROCESSED = 1 << 3;
+    private static final int BALL_STOPPED = 1;
+    private static final int BALL_THROWING = 1 << 1;
+
+    private GameSnapshot() {
+    }
+
+    /**
+     * シミュレーションの状態をバッファに書き込みます。
+     * @param simulation 保存するシミュレーション
+     * @param buffer 書き込み先 (SIZEバイト以上)
+     */
+    public static void encode(Simulation simulation, byte[] buffer) {
+        if (buffer.length < SIZE) {
+            throw new IllegalArgumentException("buffer too small: " + buffer.length + " < " + SIZE);
+        }
+        GameState gameState = simulation.getGameState();
+        BallPhysics ball = simulation.getBall();
+        PinRack pins = simulation.getPins();
+
+        int pos = 0;
+        pos = write(buffer, pos, VERSION, 8);
+        int rollCount = gameState.getRollCount();
+        pos = write(buffer, pos, rollCount, 5);
+        for (int i = 0; i < GameState.MAX_ROLLS; i++) {
+            pos = write(buffer, pos, i < rollCount ? gameState.getRoll(i) : 0, 4);
+        }
+        pos = write(buffer, pos, gameState.getCurrentFrame(), 4);
+        pos = write(buffer, pos, gameState.getCurrentShot(), 2);
+        int flags = (gameState.isWaitingForThrow() ? FLAG_WAITING : 0)
+                | (gameState.isGameRunning() ? FLAG_RUNNING : 0)
+                | (gameState.isGameOver() ? FLAG_OVER : 0)
+                | (gameState.isShotProcessed() ? FLAG_SHOT_PROCESSED : 0);
+        pos = write(buffer, pos, flags, 4);
+        pos = write(buffer, pos, pins.getStandingMask(), 10);
+        pos = write(buffer, pos, simulation.getStandingBeforeShot(), 10);
+        int ballFlags = (ball.isStopped() ? BALL_STOPPED : 0) | (ball.isThrowing() ? BALL_THROWING : 0);
+        pos = write(buffer, pos, ballFlags, 2);
+        pos = write(buffer, pos, Math.round(simulation.getWidth()), 16);
+        pos = write(buffer, pos, Math.round(simulation.getHeight()), 16);
+        pos = write(buffer, pos, Float.floatToRawIntBits(ball.getX()), 32);
+        pos = write(buffer, pos, Float.floatToRawIntBits(ball.getY()), 32);
+        pos = write(buffer, pos, Float.floatToRawIntBits(ball.getVelocityX()), 32);
+        write(buffer, pos, Float.floatToRawIntBits(ball.getVelocityY()), 32);
+    }
+
+    /**
+     * バッファからシミュレーションの状態を復元します。
+     * シミュレーションはsetup()で現在の画面サイズに配置済みである必要があります。
+     * 保存時と画面サイズが異なる場合、ボールの位置と速度は画面サイズの比率で変換します。
+     * @param buffer encode()で書き込んだバッファ
+     * @param simulation 復元先のシミュレーション
+     */
+    public static void decode(byte[] buffer, Simulation simulation) {
+        if (buffer.length < SIZE) {
+            throw new IllegalArgumentException("buffer too small: " + buffer.length + " < " + SIZE);
+        }
+        int pos = 0;
+        int version = read(buffer, pos, 8);
+        pos += 8;
+        if (version != VERSION) {
+            throw new IllegalArgumentException("unsupported snapshot version: " + version);
+        }
+
+        // 投球の記録を先頭から再生してスコアと進行状態を組み立て直す
+        GameState gameState = simulation.getGameState();
+        gameState.resetGame();
+        int rollCount = read(buffer, pos, 5);
+        pos += 5;
+        for (int i = 0; i < GameState.MAX_ROLLS; i++) {
+            int pinsDown = read(buffer, pos, 4);
+            pos += 4;
+            if (i < rollCount) {
+                gameState.scorePins(pinsDown);
+                if (gameState.isFrameFinished()) {
+                    gameState.nextFrame();
+                } else {
+                    gameState.nextShot();
+                }
+            }
+        }
+        int frame = read(buffer, pos, 4);
+        pos += 4;
+        int shot = read(buffer, pos, 2);
+        pos += 2;
+        int flags = read(buffer, pos, 4);
+        pos += 4;
+        if (frame != gameState.getCurrentFrame() || shot != gameState.getCurrentShot()
+                || ((flags & FLAG_OVER) != 0) != gameState.isGameOver()) {
+            throw new IllegalArgumentException("inconsistent snapshot: frame " + frame + " shot " + shot);
+        }
+        if ((flags & FLAG_WAITING) == 0) {
+            gameState.startThrow();
+        }
+        gameState.setShotProcessed((flags & FLAG_SHOT_PROCESSED) != 0);
+
+        int standingMask = read(buffer, pos, 10);
+        pos += 10;
+        int standingBeforeShot = read(buffer, pos, 10);
+        pos += 10;
+        simulation.getPins().restoreStanding(standingMask);
+        simulation.setStandingBeforeShot(standingBeforeShot);
+
+        int ballFlags = read(buffer, pos, 2);
+        pos += 2;
+        float savedWidth = read(buffer, pos, 16);
+        pos += 16;
+        float savedHeight = read(buffer, pos, 16);
+        pos += 16;
+        float scaleX = savedWidth > 0 ? simulation.getWidth() / savedWidth : 1f;
+        float scaleY = savedHeight > 0 ? simulation.getHeight() / savedHeight : 1f;
+        float x = Float.intBitsToFloat(read(buffer, pos, 32));
+        pos += 32;
+        float y = Float.intBitsToFloat(read(buffer, pos, 32));
+        pos += 32;
+        float velocityX = Float.intBitsToFloat(read(buffer, pos, 32));
+        pos += 32;
+        float velocityY = Float.intBitsToFloat(read(buffer, pos, 32));
+        simulation.getBall().restore(x * scaleX, y * scaleY, velocityX * scaleX, velocityY * scaleY,
+                (ballFlags & BALL_STOPPED) != 0, (ballFlags & BALL_THROWING) != 0);
+    }
+
+    // valueの下位bitsビットをpos (ビット位置) から書き込み、次のビット位置を返す
+    private static int write(byte[] buffer, int pos, int value, int bits) {
+        for (int i = bits - 1; i >= 0; i--) {
+            int byteIndex = pos >>> 3;
+            int bitIndex = 7 - (pos & 7);
+            if (((value >>> i) & 1) != 0) {
+                buffer[byteIndex] |= (byte) (1 << bitIndex);
+            } else {
+                buffer[byteIndex] &= (byte) ~(1 << bitIndex);
+            }
+            pos++;
+        }
+        return pos;
+    }
+
+    // pos (ビット位置) からbitsビット読み込む
+    private static int read(byte[] buffer, int pos, int bits) {
+        int value = 0;
+        for (int i = 0; i < bits; i++) {
+            int byteIndex = pos >>> 3;
+            int bitIndex = 7 - (pos & 7);
+            value = (value << 1) | ((buffer[byteIndex] >>> bitIndex) & 1);
+            pos++;
+        }
+        return value;
+    }
+}
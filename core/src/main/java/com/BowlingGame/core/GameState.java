@@ -0,0 +1,238 @@
+package com.BowlingGame.core;
+
+/**
+ * ゲームの進行状態 (フレーム・投球) とスコアを管理するクラス。
+ * スコアは投球ごとに定数時間で更新します。ボーナス待ちのフレームをキューで持ち、
+ * 確定したフレームから順に累積スコアをプリミティブ配列に記録します。
+ */
+public class GameState {
+    private int currentFrame; // 現在のフレーム数 (1-10)
+    private int currentShot; // 現在の投球回数 (1 or 2, 10フレーム目は最大3)
+    private int totalScore; // 合計スコア (確定したフレームまでの累積)
+
+    private boolean isWaitingForThrow; // 投球待ち状態
+    private boolean isGameRunning; // ゲームが進行中か
+    private boolean isGameOver; // ゲームが終了したか
+    private boolean shotProcessed; // 現在のショットの結果が処理済みか
+    private boolean traced; // EventTraceに記録するか (ゲームループのシミュレーションだけ)
+
+    public static final int MAX_FRAMES = 10;
+    public static final int MAX_ROLLS = 21; // 1ゲームの最大投球数 (9フレーム×2 + 10フレーム目3投)
+    public static final int PIN_COUNT = 10;
+    public static final int UNSCORED = -1; // スコアが未確定のフレームを表す値
+
+    // 投球の記録
+    private final int[] rolls = new int[MAX_ROLLS]; // 各投球で倒したピンの数
+    private int rollCount; // 投球数
+
+    // フレームごとの累積スコア (未確定はUNSCORED)
+    private final int[] cumulativeScores = new int[MAX_FRAMES];
+    private int scoredFrames; // スコアが確定したフレーム数 (先頭から順に確定する)
+
+    // 現在のフレームの途中経過
+    private int frameRolls; // このフレームで投げた回数
+    private int framePins; // このフレームで倒したピンの合計
+    private int rackPins; // 次の投球の時点で立っているピンの数
+
+    // ボーナス待ちのフレームのキュー (リングバッファ)。
+    // フレームは必ず先頭から順に確定するため、同時に待つのは最大3フレーム。
+    private static final int QUEUE_SIZE = 4; // 2のべき乗 (インデックスをマスクで回す)
+    private final int[] pendingFrame = new int[QUEUE_SIZE]; // フレーム番号 (0始まり)
+    private final int[] pendingRolls = new int[QUEUE_SIZE]; // 残りのボーナス投球数
+    private final int[] pendingScore = new int[QUEUE_SIZE]; // これまでのフレーム得点 (ボーナス込み)
+    private int pendingHead;
+    private int pendingCount;
+
+    public GameState() {
+        resetGame();
+    }
+
+    /**
+     * ゲーム全体を初期状態にリセットします。
+     */
+    public void resetGame() {
+        currentFrame = 1;
+        currentShot = 1;
+        totalScore = 0;
+        rollCount = 0;
+        for (int i = 0; i < MAX_FRAMES; i++) {
+            cumulativeScores[i] = UNSCORED;
+        }
+        scoredFrames = 0;
+        frameRolls = 0;
+        framePins = 0;
+        rackPins = PIN_COUNT;
+        pendingHead = 0;
+        pendingCount = 0;
+        isWaitingForThrow = true;
+        isGameRunning = true;
+        isGameOver = false;
+        shotProcessed = false;
+        if (traced) {
+            EventTrace.record(EventTrace.GAME_RESET, 0, 0, 0, 0);
+        }
+    }
+
+    /**
+     * 投球開始状態に設定します。
+     */
+    public void startThrow() {
+        isWaitingForThrow = false;
+    }
+
+    /**
+     * 1投で倒れたピンの数を記録し、スコアを更新します。
+     * ストライク・スペアのボーナスはキューに入れて後続の投球で加算します。
+     * @param fallenPins この投球で倒れたピンの数
+     */
+    public void scorePins(int fallenPins) {
+        if (!isGameRunning || isGameOver) {
+            return;
+        }
+        if (fallenPins < 0 || fallenPins > rackPins) {
+            throw new IllegalArgumentException("fallenPins out of range: " + fallenPins + " (standing " + rackPins + ")");
+        }
+
+        rolls[rollCount++] = fallenPins;
+
+        // ボーナス待ちのフレームにこの投球を加算 (最大3フレームなので定数時間)
+        for (int i = 0; i < pendingCount; i++) {
+            int slot = (pendingHead + i) & (QUEUE_SIZE - 1);
+            if (pendingRolls[slot] > 0) {
+                pendingScore[slot] += fallenPins;
+                pendingRolls[slot]--;
+            }
+        }
+
+        // 現在のフレームの途中経過を更新
+        frameRolls++;
+        framePins += fallenPins;
+        rackPins -= fallenPins;
+        if (rackPins == 0) {
+            rackPins = PIN_COUNT; // 全部倒れたらピンを立て直す (10フレーム目のボーナス投球用)
+        }
+
+        int frameIndex = currentFrame - 1;
+        if (currentFrame < MAX_FRAMES) {
+            if (frameRolls == 1 && fallenPins == PIN_COUNT) {
+                enqueue(frameIndex, 2, PIN_COUNT); // ストライク: 次の2投がボーナス
+            } else if (frameRolls == 2) {
+                enqueue(frameIndex, framePins == PIN_COUNT ? 1 : 0, framePins); // スペアなら次の1投がボーナス
+            }
+        } else if (isFrameFinished()) {
+            enqueue(frameIndex, 0, framePins); // 10フレーム目はボーナス投球もフレーム内で完結する
+        }
+
+        resolvePending();
+        if (traced) {
+            EventTrace.record(EventTrace.PINS_SCORED, currentFrame, fallenPins, currentShot, totalScore);
+        }
+    }
+
+    // ボーナス待ちキューの末尾にフレームを追加する
+    private void enqueue(int frameIndex, int bonusRolls, int score) {
+        int slot = (pendingHead + pendingCount) & (QUEUE_SIZE - 1);
+        pendingFrame[slot] = frameIndex;
+        pendingRolls[slot] = bonusRolls;
+        pendingScore[slot] = score;
+        pendingCount++;
+    }
+
+    // キューの先頭からボーナスが揃ったフレームを確定させ、累積スコアを記録する
+    private void resolvePending() {
+        while (pendingCount > 0 && pendingRolls[pendingHead] == 0) {
+            totalScore += pendingScore[pendingHead];
+            cumulativeScores[pendingFrame[pendingHead]] = totalScore;
+            scoredFrames++;
+            pendingHead = (pendingHead + 1) & (QUEUE_SIZE - 1);
+            pendingCount--;
+        }
+    }
+
+    /**
+     * 次の投球、または次のフレームへ移行します。
+     */
+    public void nextShot() {
+        currentShot++;
+        isWaitingForThrow = true; // 次の投球を待つ状態に
+        if (traced) {
+            EventTrace.record(EventTrace.NEXT_SHOT, currentFrame, currentShot, 0, 0);
+        }
+    }
+
+    /**
+     * 現在のフレームが終了したかどうかを判定します。
+     * @return フレームが終了していればtrue
+     */
+    public boolean isFrameFinished() {
+        if (currentFrame == MAX_FRAMES) {
+            // 10フレーム目: 2投目までにストライクかスペアなら3投目まで可能、それ以外は2投で終了
+            return frameRolls >= 3 || (frameRolls == 2 && framePins < PIN_COUNT);
+        } else {
+            // 1～9フレーム目: ストライクか2投で終了
+            return framePins == PIN_COUNT || frameRolls >= 2;
+        }
+    }
+
+    /**
+     * 次のフレームへ移行します。ゲームが終了したかもチェックします。
+     */
+    public void nextFrame() {
+        if (currentFrame < MAX_FRAMES) {
+            currentFrame++;
+            currentShot = 1;
+            frameRolls = 0;
+            framePins = 0;
+            rackPins = PIN_COUNT;
+            isWaitingForThrow = true;
+            if (traced) {
+                EventTrace.record(EventTrace.NEXT_FRAME, currentFrame, 0, 0, 0);
+            }
+        } else {
+            // 全てのフレームが終了したらゲームオーバー
+            isGameRunning = false;
+            isGameOver = true;
+            if (traced) {
+                EventTrace.record(EventTrace.GAME_OVER, totalScore, 0, 0, 0);
+            }
+        }
+    }
+
+    /**
+     * 指定したフレームまでの累積スコアを返します (スコア表示用)。
+     * @param frame フレーム番号 (1-10)
+     * @return 累積スコア。ボーナス待ちなどで未確定の場合はUNSCORED
+     */
+    public int getFrameScore(int frame) {
+        return cumulativeScores[frame - 1];
+    }
+
+    /**
+     * 指定した投球で倒れたピンの数を返します。
+     * @param index 投球の番号 (0始まり)
+     * @return 倒れたピンの数
+     */
+    public int getRoll(int index) {
+        return rolls[index];
+    }
+
+    /**
+     * 進行とスコアの変化をEventTraceに記録するかを設定します。
+     * @param traced 記録する場合true
+     */
+    public void setTraced(boolean traced) {
+        this.traced = traced;
+    }
+
+    // --- Getterメソッド ---
+    public int getCurrentFrame() { return currentFrame; }
+    public int getCurrentShot() { return currentShot; }
+    public int getTotalScore() { return totalScore; }
+    public int getRollCount() { return rollCount; }
+    public int getScoredFrames() { return scoredFrames; }
+    public boolean isWaitingForThrow() { return isWaitingForThrow; }
+    public boolean isGameRunning() { return isGameRunning; }
+    public boolean isGameOver() { return isGameOver; }
+    public void setShotProcessed(boolean processed) { this.shotProcessed = processed; }
+    public boolean isShotProcessed() { return shotProcessed; }
+}
@@ -0,0 +1,107 @@
+package com.BowlingGame.core;
+
+/**
+ * HUDに表示するスコア・フレーム・投球回数の文字列を組み立てるクラス。
+ * 文字列は再利用するchar配列に組み立て、値が変わったときだけ作り直すので、
+ * 毎フレーム呼び出してもメモリ割り当ては行いません。描画スレッドから使います。
+ */
+public final class HudText {
+    private static final int LINE_CAPACITY = 32; // 1行の最大文字数
+
+    private static final String SCORE_PREFIX = "Score: ";
+    private static final String FRAME_PREFIX = "Frame: ";
+    private static final String FRAME_SUFFIX = " / " + GameState.MAX_FRAMES;
+    private static final String SHOT_PREFIX = "Shot: ";
+    private static final String SHOT_SUFFIX = " / 2";
+
+    // 表示中の文字列と、その元になった値 (-1は未作成)
+    private final char[] scoreText = new char[LINE_CAPACITY];
+    private final char[] frameText = new char[LINE_CAPACITY];
+    private final char[] shotText = new char[LINE_CAPACITY];
+    private int scoreLength;
+    private int frameLength;
+    private int shotLength;
+    private int shownScore = -1;
+    private int shownFrame = -1;
+    private int shownShot = -1;
+
+    /**
+     * 表示するティックの状態に合わせて、値が変わった行だけ文字列を作り直します。
+     * @param state 表示するティックの状態
+     */
+    public void update(RenderState state) {
+        int score = state.getTotalScore();
+        if (score != shownScore) {
+            shownScore = score;
+            scoreLength = format(scoreText, SCORE_PREFIX, score, "");
+        }
+        int frame = state.getCurrentFrame();
+        if (frame != shownFrame) {
+            shownFrame = frame;
+            frameLength = format(frameText, FRAME_PREFIX, frame, FRAME_SUFFIX);
+        }
+        int shot = state.getCurrentShot();
+        if (shot != shownShot) {
+            shownShot = shot;
+            shotLength = format(shotText, SHOT_PREFIX, shot, SHOT_SUFFIX);
+        }
+    }
+
+    /**
+     * prefix + value + suffix をbufferに書き込み、文字数を返します。
+     * @param buffer 書き込み先
+     * @param prefix 数値の前の文字列
+     * @param value 数値
+     * @param suffix 数値の後の文字列
+     * @return 書き込んだ文字数
+     */
+    public static int format(char[] buffer, String prefix, int value, String suffix) {
+        int length = appendText(buffer, 0, prefix);
+        length = appendInt(buffer, length, value);
+        return appendText(buffer, length, suffix);
+    }
+
+    /**
+     * 文字列をbufferのposから書き込み、次の位置を返します。
+     * @param buffer 書き込み先
+     * @param pos 書き込み開始位置
+     * @param text 文字列
+     * @return 次の位置
+     */
+    public static int appendText(char[] buffer, int pos, String text) {
+        text.getChars(0, text.length(), buffer, pos);
+        return pos + text.length();
+    }
+
+    /**
+     * 整数を10進数でbufferのposから書き込み、次の位置を返します。
+     * @param buffer 書き込み先
+     * @param pos 書き込み開始位置
+     * @param value 数値
+     * @return 次の位置
+     */
+    public static int appendInt(char[] buffer, int pos, int value) {
+        if (value < 0) {
+            buffer[pos++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (int v = value / 10; v > 0; v /= 10) {
+            digits++;
+        }
+        int end = pos + digits;
+        for (int i = end - 1; i >= pos; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return end;
+    }
+
+    // --- Getterメソッド ---
+    public char[] getScoreText() { return scoreText; }
+    public int getScoreLength() { return scoreLength; }
+    public char[] getFrameText() { return frameText; }
+    public int getFrameLength() { return frameLength; }
+    public char[] getShotText() { return shotText; }
+    public int getShotLength() { return shotLength; }
+}
@@ -0,0 +1,88 @@
+package com.BowlingGame.core;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * タッチ入力をUIスレッドからシミュレーションスレッドへ渡すリングバッファ。
+ * 書き込み (offer) はUIスレッド1つ、読み出し (poll) はシミュレーションスレッド1つに限ることで、
+ * ロックなしで受け渡します。イベントはプリミティブ配列に保持するため、メモリ割り当ては行いません。
+ */
+public final class InputQueue {
+    // イベントの種類
+    public static final int ACTION_DOWN = 0;
+    public static final int ACTION_MOVE = 1;
+    public static final int ACTION_UP = 2;
+    public static final int ACTION_CANCEL = 3;
+
+    public static final int CAPACITY = 64; // 保持できるイベント数 (2のべき乗)
+    private static final int MASK = CAPACITY - 1;
+
+    private final int[] actions = new int[CAPACITY];
+    private final float[] xs = new float[CAPACITY];
+    private final float[] ys = new float[CAPACITY];
+    private final long[] times = new long[CAPACITY];
+
+    private final AtomicLong head = new AtomicLong(); // 次に書き込む位置 (書き込みスレッドだけが進める)
+    private final AtomicLong tail = new AtomicLong(); // 次に読み出す位置 (読み出しスレッドだけが進める)
+
+    // poll()で取り出したイベント (読み出しスレッド用)
+    private int action;
+    private float x;
+    private float y;
+    private long timeNanos;
+
+    /**
+     * イベントを追加します。書き込みスレッドから呼び出します。
+     * @param action イベントの種類 (ACTION_DOWNなど)
+     * @param x タッチ位置のX座標
+     * @param y タッチ位置のY座標
+     * @param timeNanos イベントの時刻 (ナノ秒)
+     * @return キューが満杯で追加できなかった場合false
+     */
+    public boolean offer(int action, float x, float y, long timeNanos) {
+        long h = head.get();
+        if (h - tail.get() >= CAPACITY) {
+            return false;
+        }
+        int slot = (int) (h & MASK);
+        actions[slot] = action;
+        xs[slot] = x;
+        ys[slot] = y;
+        times[slot] = timeNanos;
+        head.lazySet(h + 1); // 書き込んだ内容が読み出し側に見えてから位置を進める
+        return true;
+    }
+
+    /**
+     * 最も古いイベントを取り出します。取り出した内容はgetAction()などで参照できます。
+     * 読み出しスレッドから呼び出します。
+     * @return イベントがなかった場合false
+     */
+    public boolean poll() {
+        long t = tail.get();
+        if (t == head.get()) {
+            return false;
+        }
+        int slot = (int) (t & MASK);
+        action = actions[slot];
+        x = xs[slot];
+        y = ys[slot];
+        timeNanos = times[slot];
+        tail.lazySet(t + 1); // 読み終えてからスロットを書き込み側に返す
+        return true;
+    }
+
+    /**
+     * 未処理のイベントがあるかどうかを返します。
+     * @return イベントがなければtrue
+     */
+    public boolean isEmpty() {
+        return tail.get() == head.get();
+    }
+
+    // --- 取り出したイベントのGetterメソッド ---
+    public int getAction() { return action; }
+    public float getX() { return x; }
+    public float getY() { return y; }
+    public long getTimeNanos() { return timeNanos; }
+}
@@ -0,0 +1,153 @@
+package com.BowlingGame.core;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 処理時間 (ナノ秒) の分布を記録するヒストグラム。
+ * HdrHistogramと同じく、2のべき乗ごとの区間をさらにSUB_BUCKETS個に等分した対数線形のバケットを使うため、
+ * 固定サイズの配列で相対誤差1/SUB_BUCKETS以内のパーセンタイルを求められます。
+ *
+ * <p>記録は1つのスレッド (ゲームループ) から行う前提で、ロックやメモリ割り当ては行いません。
+ * 集計値はAtomicLongArrayに書き込むため、他のスレッドからもロックなしで読み出せます
+ * (読み出し中の記録は反映されない場合があります)。</p>
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS; // 2のべき乗区間あたりのバケット数
+    private static final int MAX_EXPONENT = 40; // 記録できる最大値は約2^41ナノ秒 (約36分)、それ以上は最後のバケットに入れる
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    // 集計値のインデックス
+    private static final int TOTAL_COUNT = 0;
+    private static final int TOTAL_NANOS = 1;
+    private static final int MAX_NANOS = 2;
+    private static final int JANK_COUNT = 3;
+
+    private final String name;
+    private final long jankThresholdNanos; // これを超えた記録をジャンクとして数える (0以下なら数えない)
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLongArray totals = new AtomicLongArray(4);
+
+    /**
+     * @param name 書き出し時の名前
+     * @param jankThresholdNanos ジャンクとみなす時間 (ナノ秒)。0以下ならジャンクを数えない
+     */
+    public LatencyHistogram(String name, long jankThresholdNanos) {
+        this.name = name;
+        this.jankThresholdNanos = jankThresholdNanos;
+    }
+
+    /**
+     * 処理時間を1件記録します。記録するスレッドは1つに限ります。
+     * @param nanos 処理時間 (ナノ秒)。負の値は0として扱う
+     */
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        int index = bucketIndex(nanos);
+        // 書き込むのは記録スレッドだけなので、読み出して1足した値をlazySetで書けば十分
+        counts.lazySet(index, counts.get(index) + 1);
+        totals.lazySet(TOTAL_COUNT, totals.get(TOTAL_COUNT) + 1);
+        totals.lazySet(TOTAL_NANOS, totals.get(TOTAL_NANOS) + nanos);
+        if (nanos > totals.get(MAX_NANOS)) {
+            totals.lazySet(MAX_NANOS, nanos);
+        }
+        if (jankThresholdNanos > 0 && nanos > jankThresholdNanos) {
+            totals.lazySet(JANK_COUNT, totals.get(JANK_COUNT) + 1);
+        }
+    }
+
+    /**
+     * 記録をすべて破棄します。記録スレッドから呼び出してください。
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.lazySet(i, 0);
+        }
+        for (int i = 0; i < totals.length(); i++) {
+            totals.lazySet(i, 0);
+        }
+    }
+
+    /**
+     * 指定したパーセンタイルの値を返します。
+     * 値はバケットの上限なので、実際の値より最大1/SUB_BUCKETS程度大きくなります。
+     * @param percentile パーセンタイル (0～100)
+     * @return 処理時間 (ナノ秒)。記録がなければ0
+     */
+    public long getPercentile(double percentile) {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += counts.get(i);
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(total * Math.min(100.0, Math.max(0.0, percentile)) / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(bucketUpperBound(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    public String getName() { return name; }
+    public long getCount() { return totals.get(TOTAL_COUNT); }
+    public long getMax() { return totals.get(MAX_NANOS); }
+    public long getJankCount() { return totals.get(JANK_COUNT); }
+
+    /**
+     * 平均の処理時間を返します。
+     * @return 平均 (ナノ秒)。記録がなければ0
+     */
+    public long getMean() {
+        long count = getCount();
+        return count == 0 ? 0 : totals.get(TOTAL_NANOS) / count;
+    }
+
+    /**
+     * 集計結果を1行で書き出します。
+     * 書式: 名前 件数 平均 p50 p95 p99 最大 ジャンク数 (時間はマイクロ秒)
+     * @param out 書き出し先
+     * @throws IOException 書き出しに失敗した場合
+     */
+    public void writeSummary(Appendable out) throws IOException {
+        out.append(name).append(' ')
+                .append(Long.toString(getCount())).append(' ')
+                .append(Long.toString(getMean() / 1000)).append(' ')
+                .append(Long.toString(getPercentile(50) / 1000)).append(' ')
+                .append(Long.toString(getPercentile(95) / 1000)).append(' ')
+                .append(Long.toString(getPercentile(99) / 1000)).append(' ')
+                .append(Long.toString(getMax() / 1000)).append(' ')
+                .append(Long.toString(getJankCount())).append('\n');
+    }
+
+    // 値が入るバケットの番号を返す
+    private static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value; // 小さい値は1刻み
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value); // 最上位ビットの位置
+        if (exponent > MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        int sub = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    // バケットに入る最大の値を返す
+    private static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int sub = index & (SUB_BUCKETS - 1);
+        long lower = (long) (SUB_BUCKETS + sub) << (exponent - SUB_BUCKET_BITS);
+        return lower + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+}
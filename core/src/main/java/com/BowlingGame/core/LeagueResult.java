@@ -0,0 +1,150 @@
+package com.BowlingGame.core;
+
+/**
+ * LeagueSimulatorで多数のゲームを行った結果の集計。
+ * スコアは0～300の度数分布で持つため、ゲーム数によらず大きさは一定です。
+ */
+public final class LeagueResult {
+    public static final int MAX_SCORE = 300; // パーフェクトゲームのスコア
+
+    private final int[] scoreCounts = new int[MAX_SCORE + 1]; // スコアごとのゲーム数
+    private long games; // 最後までプレイしたゲーム数
+    private long abandonedGames; // ティック数の上限で打ち切ったゲーム数
+    private long rolls; // 投球数の合計
+    private long ticks; // 進めたティック数の合計
+    private long elapsedNanos; // 全ゲームにかかった時間
+
+    LeagueResult() {
+    }
+
+    // 1ゲームの結果を加える (1つのタスクだけが書き込む)
+    void add(int score, int rollCount, long gameTicks) {
+        scoreCounts[score]++;
+        games++;
+        rolls += rollCount;
+        ticks += gameTicks;
+    }
+
+    // 打ち切ったゲームを数える
+    void abandon(long gameTicks) {
+        abandonedGames++;
+        ticks += gameTicks;
+    }
+
+    // 別のタスクの集計を合わせる
+    void merge(LeagueResult other) {
+        for (int score = 0; score <= MAX_SCORE; score++) {
+            scoreCounts[score] += other.scoreCounts[score];
+        }
+        games += other.games;
+        abandonedGames += other.abandonedGames;
+        rolls += other.rolls;
+        ticks += other.ticks;
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * 平均スコアを返します。
+     * @return 平均。ゲームがなければ0
+     */
+    public double getMeanScore() {
+        if (games == 0) {
+            return 0;
+        }
+        long total = 0;
+        for (int score = 0; score <= MAX_SCORE; score++) {
+            total += (long) score * scoreCounts[score];
+        }
+        return (double) total / games;
+    }
+
+    /**
+     * スコアの標準偏差を返します。
+     * @return 標準偏差。ゲームがなければ0
+     */
+    public double getScoreStdDev() {
+        if (games == 0) {
+            return 0;
+        }
+        double mean = getMeanScore();
+        double sum = 0;
+        for (int score = 0; score <= MAX_SCORE; score++) {
+            double d = score - mean;
+            sum += d * d * scoreCounts[score];
+        }
+        return Math.sqrt(sum / games);
+    }
+
+    /**
+     * スコアのパーセンタイルを返します。
+     * @param percentile パーセンタイル (0～100)
+     * @return そのパーセンタイルのスコア。ゲームがなければ0
+     */
+    public int getScorePercentile(double percentile) {
+        if (games == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(games * percentile / 100.0));
+        long seen = 0;
+        for (int score = 0; score <= MAX_SCORE; score++) {
+            seen += scoreCounts[score];
+            if (seen >= rank) {
+                return score;
+            }
+        }
+        return MAX_SCORE;
+    }
+
+    /**
+     * 最低スコアを返します。
+     * @return 最低スコア。ゲームがなければ0
+     */
+    public int getMinScore() {
+        for (int score = 0; score <= MAX_SCORE; score++) {
+            if (scoreCounts[score] > 0) {
+                return score;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * 最高スコアを返します。
+     * @return 最高スコア。ゲームがなければ0
+     */
+    public int getMaxScore() {
+        for (int score = MAX_SCORE; score >= 0; score--) {
+            if (scoreCounts[score] > 0) {
+                return score;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * 1秒あたりに終えたゲーム数を返します。
+     * @return ゲーム数/秒
+     */
+    public double getGamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : (games + abandonedGames) / (elapsedNanos / 1e9);
+    }
+
+    /**
+     * 指定したスコアのゲーム数を返します。
+     * @param score スコア (0～300)
+     * @return ゲーム数
+     */
+    public int getScoreCount(int score) {
+        return scoreCounts[score];
+    }
+
+    // --- Getterメソッド ---
+    public long getGames() { return games; }
+    public long getAbandonedGames() { return abandonedGames; }
+    public long getRolls() { return rolls; }
+    public long getTicks() { return ticks; }
+    public long getElapsedNanos() { return elapsedNanos; }
+}
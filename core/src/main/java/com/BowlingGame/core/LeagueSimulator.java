@@ -0,0 +1,111 @@
+package com.BowlingGame.core;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * 描画なしで多数のゲームを並列に最後までプレイするシミュレーター。
+ * スコア計算や物理演算を変更したときに、大量のゲームでスコアの分布や処理速度が変わらないかを確認するために使います。
+ *
+ * <p>ゲームの範囲をfork/joinで分割し、各タスクは専用のSimulationを使い回して順にゲームを行います。
+ * ゲームごとの乱数はseedとゲーム番号から作るため、スレッド数によらず結果は同じです。
+ * 集計はスコアの度数分布だけなので、100万ゲームでもメモリ使用量はタスク数分のSimulationと集計程度です。</p>
+ */
+public final class LeagueSimulator {
+    public static final long MAX_TICKS_PER_GAME = 1_000_000L; // 1ゲームの最大ティック数 (これを超えたら打ち切る)
+    private static final int GAMES_PER_TASK = 64; // これ以下のゲーム数になったら分割せずにプレイする
+
+    private final float width;
+    private final float height;
+    private final float dt;
+    private final ForkJoinPool pool;
+
+    /**
+     * @param width 領域の幅
+     * @param height 領域の高さ
+     * @param dt 1ティックの長さ (基準ティック単位)
+     * @param pool ゲームを実行するForkJoinPool
+     */
+    public LeagueSimulator(float width, float height, float dt, ForkJoinPool pool) {
+        if (dt <= 0) {
+            throw new IllegalArgumentException("dt must be positive: " + dt);
+        }
+        this.width = width;
+        this.height = height;
+        this.dt = dt;
+        this.pool = pool;
+    }
+
+    /**
+     * 指定した数のゲームをプレイし、結果を集計します。
+     * @param strategy 投球の決め方 (全スレッドで共有する)
+     * @param games ゲーム数
+     * @param seed 乱数の種
+     * @return 集計結果
+     */
+    public LeagueResult run(BotStrategy strategy, long games, long seed) {
+        if (games < 0) {
+            throw new IllegalArgumentException("games must not be negative: " + games);
+        }
+        long start = System.nanoTime();
+        LeagueResult result = pool.invoke(new GamesTask(strategy, seed, 0, games));
+        result.setElapsedNanos(System.nanoTime() - start);
+        return result;
+    }
+
+    // [from, to) のゲームをプレイするタスク。大きければ半分に分けてforkする
+    private final class GamesTask extends RecursiveTask<LeagueResult> {
+        private static final long serialVersionUID = 1L;
+
+        private final BotStrategy strategy;
+        private final long seed;
+        private final long from;
+        private final long to;
+
+        GamesTask(BotStrategy strategy, long seed, long from, long to) {
+            this.strategy = strategy;
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected LeagueResult compute() {
+            if (to - from > GAMES_PER_TASK) {
+                long mid = (from + to) >>> 1;
+                GamesTask left = new GamesTask(strategy, seed, from, mid);
+                left.fork();
+                LeagueResult result = new GamesTask(strategy, seed, mid, to).compute();
+                result.merge(left.join());
+                return result;
+            }
+            LeagueResult result = new LeagueResult();
+            Simulation simulation = new Simulation(); // このタスク専用
+            simulation.setup(width, height);
+            for (long game = from; game < to; game++) {
+                playGame(simulation, new SplittableRandom(seed * 0x9E3779B97F4A7C15L + game), result);
+            }
+            return result;
+        }
+
+        // 1ゲームを最後までプレイして集計に加える
+        private void playGame(Simulation simulation, SplittableRandom random, LeagueResult result) {
+            simulation.restart();
+            GameState gameState = simulation.getGameState();
+            long ticks = 0;
+            while (!gameState.isGameOver()) {
+                if (ticks >= MAX_TICKS_PER_GAME) {
+                    result.abandon(ticks);
+                    return;
+                }
+                if (simulation.canThrow()) {
+                    strategy.playShot(simulation, random);
+                }
+                simulation.update(dt);
+                ticks++;
+            }
+            result.add(gameState.getTotalScore(), gameState.getRollCount(), ticks);
+        }
+    }
+}
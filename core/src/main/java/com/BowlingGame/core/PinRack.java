@@ -0,0 +1,331 @@
+package com.BowlingGame.core;
+
+/**
+ * 10本のピンの状態をまとめて保持し、ピン同士・ボールとの衝突を処理するクラス。
+ * 位置や速度はピンごとのオブジェクトではなくプリミティブ配列 (Structure of Arrays) で持ち、
+ * 立っているピンはビットマスクで管理します。ティックごとの処理でメモリ割り当ては発生しません。
+ */
+public class PinRack {
+    // 定数
+    public static final int PIN_COUNT = 10; // ピンの本数
+    public static final int ALL_PINS_MASK = (1 << PIN_COUNT) - 1; // 全ピンが立っている状態のマスク
+    public static final float PIN_WIDTH = 30; // ピンの幅 (描画用)
+    public static final float PIN_HEIGHT = 100; // ピンの高さ (描画用)
+    public static final float PIN_RADIUS = 15; // 衝突判定用の半径 (簡易的に円とみなす)
+    public static final float PIN_MASS = 1.5f; // ピンの質量
+    public static final float RESTITUTION = 0.6f; // 反発係数
+    public static final float FRICTION_FACTOR = 0.9f; // 倒れたピンの滑りに対する速度減衰率
+    public static final float STOP_THRESHOLD = 0.3f; // 停止とみなす速度の閾値
+    public static final float KNOCK_DOWN_SPEED = 1.5f; // 立っているピンが倒れる最小の速度
+    public static final float MAX_SUBSTEP_TRAVEL = PIN_RADIUS; // 1サブステップで移動してよい最大距離
+    public static final int MAX_SUBSTEPS = 16; // 1回の更新あたりの最大サブステップ数
+
+    // ピンごとの状態 (インデックスは1番ピンが0、以降は手前の列から左→右)
+    private final float[] x = new float[PIN_COUNT]; // 中心X座標
+    private final float[] y = new float[PIN_COUNT]; // 中心Y座標
+    private final float[] velocityX = new float[PIN_COUNT]; // X方向の速度
+    private final float[] velocityY = new float[PIN_COUNT]; // Y方向の速度
+    private final float[] orientation = new float[PIN_COUNT]; // 倒れた向き (ラジアン、描画用)
+    private final float[] homeX = new float[PIN_COUNT]; // 立てる位置のX座標
+    private final float[] homeY = new float[PIN_COUNT]; // 立てる位置のY座標
+
+    private int standingMask; // 立っているピン (ビットi = i番目のピン)
+    private int activeMask; // レーン上に残っているピン (立っている + このショットで倒れて滑っている)
+    private int movingMask; // 動いているピン
+
+    // ピンが落ちる (ピットやガターに入る) 範囲
+    private float boundsLeft = Float.NEGATIVE_INFINITY;
+    private float boundsTop = Float.NEGATIVE_INFINITY;
+    private float boundsRight = Float.POSITIVE_INFINITY;
+
+    private final DampingCache dampingCache = new DampingCache(FRICTION_FACTOR); // ステップ幅ごとの速度減衰率
+
+    /**
+     * 標準的な10ピン配置 (三角形) でピンの立てる位置を設定し、全てのピンを立てます。
+     * @param centerX 1番ピンのX座標
+     * @param baseY 1番ピンのY座標 (レーン奥側)
+     */
+    public void setup(float centerX, float baseY) {
+        float rowSpacing = PIN_HEIGHT * 0.8f; // 行ごとのY座標の間隔
+        float pinSpacing = PIN_WIDTH * 1.2f; // ピンごとのX座標の間隔
+
+        int pinIndex = 0;
+        for (int row = 0; row < 4; row++) {
+            // row列目には row+1 本のピンを中央揃えで並べる
+            float rowY = baseY + rowSpacing * row;
+            float rowLeftX = centerX - pinSpacing * row / 2f;
+            for (int i = 0; i <= row; i++) {
+                homeX[pinIndex] = rowLeftX + pinSpacing * i;
+                homeY[pinIndex] = rowY;
+                pinIndex++;
+            }
+        }
+        resetAll();
+    }
+
+    /**
+     * ピンがレーンから落ちる範囲を設定します。この範囲を出たピンはレーン上から取り除かれます。
+     * @param left レーンの左端
+     * @param top レーンの奥端
+     * @param right レーンの右端
+     */
+    public void setBounds(float left, float top, float right) {
+        this.boundsLeft = left;
+        this.boundsTop = top;
+        this.boundsRight = right;
+    }
+
+    /**
+     * 全てのピンを立てた状態にリセットします。
+     */
+    public void resetAll() {
+        for (int i = 0; i < PIN_COUNT; i++) {
+            x[i] = homeX[i];
+            y[i] = homeY[i];
+            velocityX[i] = 0;
+            velocityY[i] = 0;
+            orientation[i] = 0;
+        }
+        standingMask = ALL_PINS_MASK;
+        activeMask = ALL_PINS_MASK;
+        movingMask = 0;
+    }
+
+    /**
+     * 指定したピンだけが立っている状態にします (保存した状態からの復元用)。
+     * 立っているピンは元の位置に立て、それ以外のピンはレーン上から取り除きます。
+     * @param mask 立っているピンのマスク
+     */
+    public void restoreStanding(int mask) {
+        resetAll();
+        standingMask = mask & ALL_PINS_MASK;
+        activeMask = standingMask;
+    }
+
+    /**
+     * 倒れたピンをレーン上から取り除きます (2投目の前のデッドウッド除去)。
+     * 立っているピンはそのまま残ります。
+     */
+    public void clearDeadwood() {
+        for (int i = 0; i < PIN_COUNT; i++) {
+            velocityX[i] = 0;
+            velocityY[i] = 0;
+        }
+        activeMask = standingMask;
+        movingMask = 0;
+    }
+
+    /**
+     * 直前のサブステップでのボールの移動とピンの接触を判定し、衝突していれば力積を与えます。
+     * ボールもピンから反作用を受けて減速・方向転換します。
+     * @param ball 判定対象のボール
+     */
+    public void collideBall(BallPhysics ball) {
+        float ballRadius = ball.getRadius();
+        for (int i = 0; i < PIN_COUNT; i++) {
+            if ((activeMask & (1 << i)) == 0) {
+                continue;
+            }
+            if (ball.timeOfImpact(x[i], y[i], PIN_RADIUS) == BallPhysics.NO_HIT) {
+                continue;
+            }
+
+            // 衝突法線 (ボール中心 → ピン中心)
+            float nx = x[i] - ball.getX();
+            float ny = y[i] - ball.getY();
+            float distance = (float) Math.sqrt(nx * nx + ny * ny);
+            if (distance == 0) {
+                nx = 0;
+                ny = -1;
+            } else {
+                nx /= distance;
+                ny /= distance;
+            }
+
+            // 法線方向の相対速度 (近づいている場合のみ力積を与える)
+            float relativeNormal = (ball.getVelocityX() - velocityX[i]) * nx + (ball.getVelocityY() - velocityY[i]) * ny;
+            if (relativeNormal > 0) {
+                float impulse = (1 + RESTITUTION) * relativeNormal / (1 / BallPhysics.MASS + 1 / PIN_MASS);
+                ball.applyImpulse(-impulse * nx, -impulse * ny);
+                applyImpulse(i, impulse * nx, impulse * ny);
+            }
+
+            // 重なりを必ず解消する。倒れたピンはボールの外側に押し出し (ボールの方がずっと重いのでピンだけ動かす)、
+            // 倒れなかったピンは床に固定されているとみなしてボールの方を押し戻す (次のサブステップで再び接触しない)
+            float penetration = ballRadius + PIN_RADIUS - distance;
+            if (penetration > 0) {
+                if ((standingMask & (1 << i)) == 0) {
+                    x[i] += nx * penetration;
+                    y[i] += ny * penetration;
+                } else {
+                    ball.displace(-nx * penetration, -ny * penetration);
+                }
+            }
+        }
+    }
+
+    /**
+     * 動いているピンを進め、ピン同士の衝突を処理します。
+     * 移動量が大きい場合は内部でサブステップに分割します。
+     * @param dt 経過時間 (基準ティック単位)
+     */
+    public void step(float dt) {
+        if (movingMask == 0) {
+            return;
+        }
+        int substeps = substepsFor(dt);
+        float stepDt = dt / substeps;
+        for (int s = 0; s < substeps && movingMask != 0; s++) {
+            integrate(stepDt);
+            collidePins();
+        }
+    }
+
+    /**
+     * 1サブステップあたりのピンの移動量がMAX_SUBSTEP_TRAVEL以下になるサブステップ数を返します。
+     * @param dt 経過時間 (基準ティック単位)
+     * @return サブステップ数 (1～MAX_SUBSTEPS)
+     */
+    public int substepsFor(float dt) {
+        float maxSpeedSq = 0;
+        for (int i = 0; i < PIN_COUNT; i++) {
+            if ((movingMask & (1 << i)) != 0) {
+                float speedSq = velocityX[i] * velocityX[i] + velocityY[i] * velocityY[i];
+                if (speedSq > maxSpeedSq) {
+                    maxSpeedSq = speedSq;
+                }
+            }
+        }
+        float travelSq = maxSpeedSq * dt * dt;
+        if (travelSq <= MAX_SUBSTEP_TRAVEL * MAX_SUBSTEP_TRAVEL) {
+            return 1;
+        }
+        int substeps = (int) Math.ceil(Math.sqrt(travelSq) / MAX_SUBSTEP_TRAVEL);
+        return Math.min(substeps, MAX_SUBSTEPS);
+    }
+
+    // 動いているピンの位置を更新し、摩擦で減速させる
+    private void integrate(float dt) {
+        float damping = dampingCache.get(dt);
+        for (int i = 0; i < PIN_COUNT; i++) {
+            int bit = 1 << i;
+            if ((movingMask & bit) == 0) {
+                continue;
+            }
+            x[i] += velocityX[i] * dt;
+            y[i] += velocityY[i] * dt;
+            velocityX[i] *= damping;
+            velocityY[i] *= damping;
+
+            if (x[i] < boundsLeft || x[i] > boundsRight || y[i] < boundsTop) {
+                // ガターやピットに落ちたピンはレーン上から取り除く
+                activeMask &= ~bit;
+                movingMask &= ~bit;
+                velocityX[i] = 0;
+                velocityY[i] = 0;
+            } else if (Math.abs(velocityX[i]) < STOP_THRESHOLD && Math.abs(velocityY[i]) < STOP_THRESHOLD) {
+                movingMask &= ~bit;
+                velocityX[i] = 0;
+                velocityY[i] = 0;
+            }
+        }
+    }
+
+    // 少なくとも一方が動いているピンの組について、重なっていれば弾性衝突させる
+    private void collidePins() {
+        float minDistance = PIN_RADIUS * 2;
+        for (int i = 0; i < PIN_COUNT; i++) {
+            int bitI = 1 << i;
+            if ((activeMask & bitI) == 0) {
+                continue;
+            }
+            for (int j = i + 1; j < PIN_COUNT; j++) {
+                int bitJ = 1 << j;
+                if ((activeMask & bitJ) == 0 || ((movingMask & (bitI | bitJ)) == 0)) {
+                    continue;
+                }
+                float nx = x[j] - x[i];
+                float ny = y[j] - y[i];
+                float distanceSq = nx * nx + ny * ny;
+                if (distanceSq >= minDistance * minDistance) {
+                    continue;
+                }
+                float distance = (float) Math.sqrt(distanceSq);
+                if (distance == 0) {
+                    nx = 1;
+                    ny = 0;
+                } else {
+                    nx /= distance;
+                    ny /= distance;
+                }
+
+                // 同じ質量同士の衝突: 法線方向の相対速度に応じた力積を双方に与える
+                float relativeNormal = (velocityX[i] - velocityX[j]) * nx + (velocityY[i] - velocityY[j]) * ny;
+                if (relativeNormal > 0) {
+                    float impulse = (1 + RESTITUTION) * relativeNormal * PIN_MASS / 2;
+                    applyImpulse(i, -impulse * nx, -impulse * ny);
+                    applyImpulse(j, impulse * nx, impulse * ny);
+                }
+
+                // 重なりを解消する。立っているピンは床に固定されている (質量無限大) とみなして動かさず、
+                // 倒れたピン同士なら半分ずつ動かす
+                boolean anchoredI = (standingMask & bitI) != 0;
+                boolean anchoredJ = (standingMask & bitJ) != 0;
+                float correction = minDistance - distance;
+                float shareI = anchoredI ? 0f : anchoredJ ? 1f : 0.5f;
+                float shareJ = anchoredJ ? 0f : anchoredI ? 1f : 0.5f;
+                x[i] -= nx * correction * shareI;
+                y[i] -= ny * correction * shareI;
+                x[j] += nx * correction * shareJ;
+                y[j] += ny * correction * shareJ;
+            }
+        }
+    }
+
+    // i番目のピンに力積を与える。立っているピンは十分な速さになった場合だけ倒れる
+    private void applyImpulse(int i, float impulseX, float impulseY) {
+        int bit = 1 << i;
+        velocityX[i] += impulseX / PIN_MASS;
+        velocityY[i] += impulseY / PIN_MASS;
+        float speedSq = velocityX[i] * velocityX[i] + velocityY[i] * velocityY[i];
+
+        if ((standingMask & bit) != 0) {
+            if (speedSq < KNOCK_DOWN_SPEED * KNOCK_DOWN_SPEED) {
+                // 揺れるだけで倒れない
+                velocityX[i] = 0;
+                velocityY[i] = 0;
+                return;
+            }
+            standingMask &= ~bit; // ピンを倒す
+            orientation[i] = (float) StrictMath.atan2(velocityY[i], velocityX[i]);
+        }
+        movingMask |= bit;
+    }
+
+    /**
+     * 倒れているピンの本数を返します。
+     * @return 倒れているピンの本数
+     */
+    public int countFallen() {
+        return PIN_COUNT - Integer.bitCount(standingMask);
+    }
+
+    /**
+     * ピンが動いているかどうかを返します。
+     * @return いずれかのピンが動いていればtrue
+     */
+    public boolean isMoving() {
+        return movingMask != 0;
+    }
+
+    // --- Getterメソッド ---
+    public boolean isStanding(int i) { return (standingMask & (1 << i)) != 0; }
+    public boolean isActive(int i) { return (activeMask & (1 << i)) != 0; }
+    public int getStandingMask() { return standingMask; }
+    public int getActiveMask() { return activeMask; }
+    public float getX(int i) { return x[i]; }
+    public float getY(int i) { return y[i]; }
+    public float getVelocityX(int i) { return velocityX[i]; }
+    public float getVelocityY(int i) { return velocityY[i]; }
+    public float getOrientation(int i) { return orientation[i]; }
+}
@@ -0,0 +1,253 @@
+package com.BowlingGame.core;
+
+import java.io.IOException;
+
+/**
+ * プレイヤーの成績 (ストライク率、残りピンごとのスペア率、1投目の平均、フレームごとの平均) を逐次集計するクラス。
+ * 集計はすべてプリミティブのカウンタで持ち、1投ごとにrecordRoll()で定数時間で更新します。
+ * 保存したゲームから計算し直すことはないため、履歴がどれだけ多くても成績はすぐに読み出せます。
+ *
+ * <p>起動時にはaddHistory()で履歴を先頭から1回だけ順に読んで作り直し、以降のゲームは投球ごとに加えます。
+ * 各メソッドは同期しているので、シミュレーションスレッドで更新しながら他のスレッドで読み出せます。</p>
+ */
+public final class PlayerStatistics {
+    private static final int ALL_PINS = PinRack.ALL_PINS_MASK;
+
+    // 1投目 (ピンが全部立っている状態からの投球)
+    private long racks; // 1投目の回数
+    private long strikes;
+    private long firstBallPins; // 1投目で倒したピンの合計
+
+    // スペアのチャンス (1投目で残ったピンへの投球)
+    private long spareChances;
+    private long spares;
+    private final int[] leaveChances = new int[ALL_PINS + 1]; // 残りピンのマスクごとのチャンス数
+    private final int[] leaveConversions = new int[ALL_PINS + 1]; // 残りピンのマスクごとのスペア数
+
+    // ゲームとフレーム
+    private long games;
+    private long totalScore;
+    private final long[] framePoints = new long[GameState.MAX_FRAMES]; // フレームごとの得点の合計
+    private final long[] frameCounts = new long[GameState.MAX_FRAMES]; // 得点が確定したフレームの数
+
+    // 集計中のゲームの状態
+    private int rackRemaining; // 直前の投球の後に残っているピンの数
+    private int lastStanding = Simulation.UNKNOWN_PIN_MASK; // 直前の投球の後に立っているピン
+    private final int[] frameScratch = new int[GameState.MAX_FRAMES]; // recordGame()用
+
+    /**
+     * 1投の結果を加えます。
+     * @param shot フレーム内の投球の番号 (1～3)
+     * @param pins 倒したピンの数
+     * @param standingAfter 投球後に立っているピンのマスク (不明ならSimulation.UNKNOWN_PIN_MASK)
+     */
+    public synchronized void recordRoll(int shot, int pins, int standingAfter) {
+        // フレームの1投目か、10フレーム目で前の投球までに全部倒していれば新しいラックへの投球
+        boolean newRack = shot == 1 || rackRemaining == 0;
+        int before = newRack ? GameState.PIN_COUNT : rackRemaining;
+        if (newRack) {
+            racks++;
+            firstBallPins += pins;
+            if (pins == GameState.PIN_COUNT) {
+                strikes++;
+            }
+        } else {
+            spareChances++;
+            boolean converted = pins == before;
+            if (converted) {
+                spares++;
+            }
+            if (lastStanding != Simulation.UNKNOWN_PIN_MASK) {
+                int leave = lastStanding & ALL_PINS;
+                leaveChances[leave]++;
+                if (converted) {
+                    leaveConversions[leave]++;
+                }
+            }
+        }
+        rackRemaining = before - pins;
+        lastStanding = standingAfter;
+    }
+
+    /**
+     * 終了したゲームのフレームごとの得点と合計スコアを加えます。
+     * @param gameState 終了したゲーム
+     */
+    public synchronized void recordGame(GameState gameState) {
+        for (int frame = 0; frame < GameState.MAX_FRAMES; frame++) {
+            frameScratch[frame] = gameState.getFrameScore(frame + 1);
+        }
+        recordFrames(frameScratch);
+    }
+
+    // フレームごとの累積スコアから得点と合計スコアを加える
+    private void recordFrames(int[] frameScores) {
+        int previous = 0;
+        for (int frame = 0; frame < GameState.MAX_FRAMES; frame++) {
+            int cumulative = frameScores[frame];
+            if (cumulative != GameState.UNSCORED) {
+                framePoints[frame] += cumulative - previous;
+                frameCounts[frame]++;
+                previous = cumulative;
+            }
+        }
+        games++;
+        totalScore += previous;
+    }
+
+    /**
+     * 履歴の全ゲームを先頭から順に加えます。
+     * @param history 履歴
+     */
+    public void addHistory(ScoreHistory history) {
+        addHistory(history, 0, history.size());
+    }
+
+    /**
+     * 履歴の [from, to) のゲームを順に加えます。
+     * 投球ごとのフレーム内の番号は、倒したピンの数からGameStateと同じ規則で求めます。
+     * @param history 履歴
+     * @param from 最初のレコード番号
+     * @param to 最後のレコード番号の次
+     */
+    public synchronized void addHistory(ScoreHistory history, long from, long to) {
+        int[] rolls = new int[GameState.MAX_ROLLS];
+        int[] masks = new int[GameState.MAX_ROLLS];
+        int[] frameScores = new int[GameState.MAX_FRAMES];
+        for (long index = from; index < to; index++) {
+            int rollCount = history.read(index, rolls, masks, frameScores);
+            int frame = 1;
+            int shot = 1;
+            for (int i = 0; i < rollCount; i++) {
+                recordRoll(shot, rolls[i], masks[i]);
+                if (frame < GameState.MAX_FRAMES && (shot == 2 || rolls[i] == GameState.PIN_COUNT)) {
+                    frame++; // ストライクか2投でフレーム終了
+                    shot = 1;
+                } else {
+                    shot++;
+                }
+            }
+            recordFrames(frameScores);
+        }
+    }
+
+    /**
+     * 別の集計を加えます (別スレッドで履歴から作り直した集計を合わせるときなど)。
+     * 集計中のゲームの状態は変えません。
+     * @param other 加える集計
+     */
+    public void merge(PlayerStatistics other) {
+        // 値をコピーしてから加えることで、2つのロックを同時に取らない
+        PlayerStatistics copy = new PlayerStatistics();
+        synchronized (other) {
+            copy.addCounts(other);
+        }
+        synchronized (this) {
+            addCounts(copy);
+        }
+    }
+
+    private void addCounts(PlayerStatistics other) {
+        racks += other.racks;
+        strikes += other.strikes;
+        firstBallPins += other.firstBallPins;
+        spareChances += other.spareChances;
+        spares += other.spares;
+        for (int leave = 0; leave <= ALL_PINS; leave++) {
+            leaveChances[leave] += other.leaveChances[leave];
+            leaveConversions[leave] += other.leaveConversions[leave];
+        }
+        games += other.games;
+        totalScore += other.totalScore;
+        for (int frame = 0; frame < GameState.MAX_FRAMES; frame++) {
+            framePoints[frame] += other.framePoints[frame];
+            frameCounts[frame] += other.frameCounts[frame];
+        }
+    }
+
+    /**
+     * ストライク率 (1投目で全部倒した割合) を返します。
+     * @return 割合 (0～1)。1投目がなければ0
+     */
+    public synchronized float getStrikeRate() {
+        return racks == 0 ? 0f : (float) strikes / racks;
+    }
+
+    /**
+     * 1投目で倒したピンの平均を返します。
+     * @return 平均。1投目がなければ0
+     */
+    public synchronized float getFirstBallAverage() {
+        return racks == 0 ? 0f : (float) firstBallPins / racks;
+    }
+
+    /**
+     * スペア率 (1投目で残ったピンを2投目で全部倒した割合) を返します。
+     * @return 割合 (0～1)。チャンスがなければ0
+     */
+    public synchronized float getSpareConversionRate() {
+        return spareChances == 0 ? 0f : (float) spares / spareChances;
+    }
+
+    /**
+     * 残りピンの形ごとのスペア率を返します。
+     * @param leave 残りピンのマスク
+     * @return 割合 (0～1)。チャンスがなければ0
+     */
+    public synchronized float getLeaveConversionRate(int leave) {
+        int chances = leaveChances[leave & ALL_PINS];
+        return chances == 0 ? 0f : (float) leaveConversions[leave & ALL_PINS] / chances;
+    }
+
+    /**
+     * フレームの平均得点を返します。
+     * @param frame フレーム番号 (1～10)
+     * @return 平均。確定したフレームがなければ0
+     */
+    public synchronized float getFrameAverage(int frame) {
+        long count = frameCounts[frame - 1];
+        return count == 0 ? 0f : (float) framePoints[frame - 1] / count;
+    }
+
+    /**
+     * 1ゲームの平均スコアを返します。
+     * @return 平均。ゲームがなければ0
+     */
+    public synchronized float getAverageScore() {
+        return games == 0 ? 0f : (float) totalScore / games;
+    }
+
+    /**
+     * 集計を人が読める形式で書き出します。
+     * @param out 書き出し先
+     * @throws IOException 書き出しに失敗した場合
+     */
+    public synchronized void dump(Appendable out) throws IOException {
+        out.append("games ").append(Long.toString(games))
+                .append(" average ").append(Float.toString(getAverageScore())).append('\n');
+        out.append("strike ").append(Float.toString(getStrikeRate()))
+                .append(" first ball ").append(Float.toString(getFirstBallAverage()))
+                .append(" spare ").append(Float.toString(getSpareConversionRate())).append('\n');
+        out.append("frames");
+        for (int frame = 1; frame <= GameState.MAX_FRAMES; frame++) {
+            out.append(' ').append(Float.toString(getFrameAverage(frame)));
+        }
+        out.append('\n');
+        for (int leave = 0; leave <= ALL_PINS; leave++) {
+            if (leaveChances[leave] > 0) {
+                out.append("leave ").append(Integer.toBinaryString(leave))
+                        .append(' ').append(Integer.toString(leaveConversions[leave]))
+                        .append('/').append(Integer.toString(leaveChances[leave])).append('\n');
+            }
+        }
+    }
+
+    // --- Getterメソッド ---
+    public synchronized long getGames() { return games; }
+    public synchronized long getRacks() { return racks; }
+    public synchronized long getStrikes() { return strikes; }
+    public synchronized long getSpareChances() { return spareChances; }
+    public synchronized long getSpares() { return spares; }
+    public synchronized int getLeaveChances(int leave) { return leaveChances[leave & ALL_PINS]; }
+    public synchronized int getLeaveConversions(int leave) { return leaveConversions[leave & ALL_PINS]; }
+}
@@ -0,0 +1,60 @@
+package com.BowlingGame.core;
+
+/**
+ * フレーム処理時間のオーバーレイに表示する行 (段階ごとのパーセンタイルとジャンク数) を組み立てるクラス。
+ * 行は一定フレームごとに再利用するchar配列に組み立て直すので、毎フレーム呼び出してもメモリ割り当ては行いません。
+ * 描画スレッドから使います。
+ */
+public final class ProfileText {
+    public static final int REFRESH_FRAMES = 30; // 表示を更新する間隔 (フレーム数)
+    private static final int LINE_CAPACITY = 128; // 1行の最大文字数
+
+    private final char[][] lines = new char[FrameProfile.PHASE_COUNT][LINE_CAPACITY];
+    private final int[] lengths = new int[FrameProfile.PHASE_COUNT];
+    private int refreshCountdown; // 次に表示を更新するまでのフレーム数
+
+    /**
+     * 1フレーム分進め、更新の間隔が過ぎていれば全ての行を作り直します。
+     * @param profile 表示するFrameProfile
+     */
+    public void update(FrameProfile profile) {
+        if (--refreshCountdown > 0) {
+            return;
+        }
+        refreshCountdown = REFRESH_FRAMES;
+        for (int i = 0; i < FrameProfile.PHASE_COUNT; i++) {
+            LatencyHistogram phase = profile.getPhase(i);
+            char[] line = lines[i];
+            int length = HudText.appendText(line, 0, phase.getName());
+            length = appendMicros(line, HudText.appendText(line, length, " p50 "), phase.getPercentile(50));
+            length = appendMicros(line, HudText.appendText(line, length, " p95 "), phase.getPercentile(95));
+            length = appendMicros(line, HudText.appendText(line, length, " p99 "), phase.getPercentile(99));
+            length = appendMicros(line, HudText.appendText(line, length, " max "), phase.getMax());
+            length = HudText.appendText(line, length, "us jank ");
+            lengths[i] = HudText.appendInt(line, length, (int) Math.min(phase.getJankCount(), Integer.MAX_VALUE));
+        }
+    }
+
+    // ナノ秒をマイクロ秒の整数でbufferのposから書き込み、次の位置を返す
+    private static int appendMicros(char[] buffer, int pos, long nanos) {
+        return HudText.appendInt(buffer, pos, (int) Math.min(nanos / 1000, Integer.MAX_VALUE));
+    }
+
+    /**
+     * 段階の行を返します。
+     * @param phase 段階 (FrameProfile.UPDATEなど)
+     * @return 行の文字 (getLength()の長さまでが有効)
+     */
+    public char[] getLine(int phase) {
+        return lines[phase];
+    }
+
+    /**
+     * 段階の行の文字数を返します。
+     * @param phase 段階 (FrameProfile.UPDATEなど)
+     * @return 文字数
+     */
+    public int getLength(int phase) {
+        return lengths[phase];
+    }
+}
@@ -0,0 +1,219 @@
+package com.BowlingGame.core;
+
+import java.io.IOException;
+
+/**
+ * 計測したフレームの処理時間と端末の温度状態から、描画の品質とフレームレートの段階を決めるクラス。
+ * 段階0が最高品質で、段階が上がるごとにフレームレート (120/60/30fps)、描画解像度の倍率、
+ * アンチエイリアス、演出の細かさのいずれかを下げます。
+ *
+ * <p>WINDOW_FRAMES枚ごとに、遅いフレーム (目標の時間のSLOW_RATIOを超えたもの) が1割を超えていれば
+ * すぐに1段下げます。上げるのは、1段上の目標の時間に対しても余裕のある窓がUPGRADE_WINDOWS回続き、
+ * かつ前回下げてからのクールダウンが過ぎた場合だけです。上げた直後にまた下げた場合はクールダウンを倍にするので、
+ * 2つの段階の間を行き来し続けることはありません。性能に余裕のある端末では最高の段階から下がりません。</p>
+ *
+ * <p>温度状態が悪くなった場合は、計測によらずその状態で許す段階まですぐに下げます。
+ * onFrame()は描画スレッドから呼び出し、メモリ割り当ては行いません。段階はどのスレッドからも読み出せます。</p>
+ */
+public final class QualityGovernor {
+    // 段階ごとの設定 (インデックスが段階)
+    public static final int LEVEL_COUNT = 6;
+    private static final int[] TARGET_FPS = {120, 60, 60, 60, 30, 30};
+    private static final float[] RENDER_SCALE = {1f, 1f, 0.85f, 0.7f, 0.7f, 0.5f};
+    private static final boolean[] ANTI_ALIAS = {true, true, true, false, false, false};
+
+    // 演出の細かさ
+    public static final int EFFECTS_MINIMAL = 0; // エイムガイドは線だけ、倒れたピンは回転させない
+    public static final int EFFECTS_REDUCED = 1; // 倒れたピンは回転させない
+    public static final int EFFECTS_FULL = 2;
+    private static final int[] EFFECT_DETAIL = {
+            EFFECTS_FULL, EFFECTS_FULL, EFFECTS_FULL, EFFECTS_REDUCED, EFFECTS_REDUCED, EFFECTS_MINIMAL
+    };
+
+    // 端末の温度状態 (android.os.PowerManager.THERMAL_STATUS_* と同じ値)
+    public static final int THERMAL_NONE = 0;
+    public static final int THERMAL_LIGHT = 1;
+    public static final int THERMAL_MODERATE = 2;
+    public static final int THERMAL_SEVERE = 3;
+    public static final int THERMAL_CRITICAL = 4;
+    private static final int[] THERMAL_FLOOR = {0, 0, 2, 4, 5}; // 温度状態ごとに許す最高の段階 (CRITICAL以上は最低の段階)
+
+    // 判断の基準
+    public static final int WINDOW_FRAMES = 30; // 1回の判断に使うフレーム数
+    public static final float SLOW_RATIO = 0.85f; // 目標のフレーム時間に対してこれを超えたフレームは遅い
+    public static final float FAST_RATIO = 0.5f; // 1段上の目標のフレーム時間に対してこれ未満なら余裕がある
+    private static final int ALLOWED_FRAMES = WINDOW_FRAMES / 10; // 窓の中で許す遅いフレームの数 (90パーセンタイルで判断)
+    public static final int UPGRADE_WINDOWS = 4; // 段階を上げるのに必要な、余裕のある窓の連続回数
+    public static final long BASE_COOLDOWN_NANOS = 2_000_000_000L; // 段階を下げてから上げ直すまでの最短時間
+    public static final long MAX_COOLDOWN_NANOS = 64_000_000_000L;
+    public static final long OSCILLATION_NANOS = 10_000_000_000L; // 上げてからこの時間内に下げたら行き来とみなす
+
+    private volatile int level;
+    private int topLevel; // 画面のリフレッシュレートで出せる最高の段階
+    private int thermalFloor; // 温度状態で許す最高の段階
+    private int thermalStatus = THERMAL_NONE;
+
+    // 現在の窓
+    private int windowFrames;
+    private int slowFrames; // 目標の時間に対して遅いフレーム
+    private int busyFrames; // 1段上の目標の時間に対して余裕のないフレーム
+
+    private int goodWindows; // 余裕のある窓の連続回数
+    private long cooldownNanos = BASE_COOLDOWN_NANOS;
+    private long upgradeAllowedAtNanos = Long.MIN_VALUE; // これより前は段階を上げない
+    private boolean upgraded; // 段階を上げたことがあるか
+    private long lastUpgradeNanos;
+    private long upgrades;
+    private long downgrades;
+
+    /**
+     * 画面のリフレッシュレートを設定します。これを超えるフレームレートの段階は使いません。
+     * @param refreshRate リフレッシュレート (Hz)
+     */
+    public synchronized void setDisplayRefreshRate(float refreshRate) {
+        int top = LEVEL_COUNT - 1;
+        for (int i = 0; i < LEVEL_COUNT; i++) {
+            if (TARGET_FPS[i] <= refreshRate + 0.5f) {
+                top = i;
+                break;
+            }
+        }
+        boolean raise = level == topLevel; // 最高の段階にいたなら新しい最高の段階から始める
+        topLevel = top;
+        setLevel(raise ? Math.max(top, thermalFloor) : Math.max(level, minLevel()));
+    }
+
+    /**
+     * 端末の温度状態を設定します。悪くなった場合はすぐに段階を下げ、良くなった場合は計測に応じて少しずつ上げます。
+     * @param status 温度状態 (THERMAL_NONEなど。PowerManager.getCurrentThermalStatus()の値をそのまま渡せる)
+     */
+    public synchronized void setThermalStatus(int status) {
+        thermalStatus = status;
+        thermalFloor = THERMAL_FLOOR[Math.max(0, Math.min(status, THERMAL_FLOOR.length - 1))];
+        if (level < minLevel()) {
+            setLevel(minLevel());
+            downgrades++;
+        }
+    }
+
+    /**
+     * 描画したフレームの処理時間を加え、窓が埋まったら段階を見直します。
+     * @param nowNanos フレームの時刻 (System.nanoTime基準)
+     * @param workNanos フレームの処理時間 (Canvasの取得から画面への反映まで)
+     * @return 段階を変えた場合true
+     */
+    public synchronized boolean onFrame(long nowNanos, long workNanos) {
+        int current = level;
+        if (workNanos > getFrameIntervalNanos(current) * SLOW_RATIO) {
+            slowFrames++;
+        }
+        if (current > minLevel() && workNanos >= getFrameIntervalNanos(current - 1) * FAST_RATIO) {
+            busyFrames++;
+        }
+        if (++windowFrames < WINDOW_FRAMES) {
+            return false;
+        }
+
+        boolean changed = false;
+        if (slowFrames > ALLOWED_FRAMES && current < LEVEL_COUNT - 1) {
+            // 上げた直後に下げるなら、次に上げるまでの間隔を倍にする
+            boolean oscillating = upgraded && nowNanos - lastUpgradeNanos < OSCILLATION_NANOS;
+            cooldownNanos = oscillating ? Math.min(cooldownNanos * 2, MAX_COOLDOWN_NANOS) : BASE_COOLDOWN_NANOS;
+            upgradeAllowedAtNanos = nowNanos + cooldownNanos;
+            setLevel(current + 1);
+            downgrades++;
+            changed = true;
+        } else if (current > minLevel() && busyFrames <= ALLOWED_FRAMES) {
+            if (++goodWindows >= UPGRADE_WINDOWS && nowNanos >= upgradeAllowedAtNanos) {
+                setLevel(current - 1);
+                upgraded = true;
+                lastUpgradeNanos = nowNanos;
+                upgrades++;
+                changed = true;
+            }
+        } else {
+            goodWindows = 0;
+        }
+        resetWindow();
+        return changed;
+    }
+
+    // 段階を変え、変わる前の設定で計測したフレームを捨てる
+    private void setLevel(int newLevel) {
+        if (newLevel != level) {
+            level = newLevel;
+            goodWindows = 0;
+            resetWindow();
+        }
+    }
+
+    private void resetWindow() {
+        windowFrames = 0;
+        slowFrames = 0;
+        busyFrames = 0;
+    }
+
+    // 今の条件で使える最高の段階
+    private int minLevel() {
+        return Math.max(topLevel, thermalFloor);
+    }
+
+    /**
+     * 段階と、これまでに上げ下げした回数を書き出します。
+     * @param out 書き出し先
+     * @throws IOException 書き出しに失敗した場合
+     */
+    public synchronized void dump(Appendable out) throws IOException {
+        int current = level;
+        out.append("quality level ").append(Integer.toString(current))
+                .append(" fps ").append(Integer.toString(getTargetFps(current)))
+                .append(" scale ").append(Float.toString(getRenderScale(current)))
+                .append(" antialias ").append(Boolean.toString(isAntiAlias(current)))
+                .append(" effects ").append(Integer.toString(getEffectDetail(current)))
+                .append(" thermal ").append(Integer.toString(thermalStatus))
+                .append(" upgrades ").append(Long.toString(upgrades))
+                .append(" downgrades ").append(Long.toString(downgrades)).append('\n');
+    }
+
+    /**
+     * 段階の目標フレームレートを返します。
+     * @param level 段階 (0～LEVEL_COUNT-1)
+     * @return フレームレート (fps)
+     */
+    public static int getTargetFps(int level) {
+        return TARGET_FPS[level];
+    }
+
+    /**
+     * 段階の目標フレームレートでの1フレームの時間を返します。
+     * @param level 段階 (0～LEVEL_COUNT-1)
+     * @return 1フレームの時間 (ナノ秒)
+     */
+    public static long getFrameIntervalNanos(int level) {
+        return 1_000_000_000L / TARGET_FPS[level];
+    }
+
+    /**
+     * 段階の描画解像度の倍率を返します (サーフェスのバッファを画面のサイズのこの倍率にする)。
+     * @param level 段階 (0～LEVEL_COUNT-1)
+     * @return 倍率 (1以下)
+     */
+    public static float getRenderScale(int level) {
+        return RENDER_SCALE[level];
+    }
+
+    public static boolean isAntiAlias(int level) {
+        return ANTI_ALIAS[level];
+    }
+
+    public static int getEffectDetail(int level) {
+        return EFFECT_DETAIL[level];
+    }
+
+    // --- Getterメソッド ---
+    public int getLevel() { return level; }
+    public synchronized int getTopLevel() { return topLevel; }
+    public synchronized int getThermalStatus() { return thermalStatus; }
+    public synchronized long getUpgradeCount() { return upgrades; }
+    public synchronized long getDowngradeCount() { return downgrades; }
+}
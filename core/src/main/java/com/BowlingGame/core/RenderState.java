@@ -0,0 +1,100 @@
+package com.BowlingGame.core;
+
+/**
+ * 描画に必要なゲームの状態を1ティック分まとめて保持するクラス。
+ * シミュレーションスレッドがcapture()で書き込み、RenderStateExchangeを介して描画スレッドに渡します。
+ * 描画スレッドはこのオブジェクトだけを読むため、Simulationをロックする必要がありません。
+ */
+public final class RenderState {
+    // ボール (前回ティックと現在の位置を持ち、描画時に補間する)
+    private float ballX;
+    private float ballY;
+    private float ballPrevX;
+    private float ballPrevY;
+    private float ballRadius;
+
+    // ピン
+    private int standingMask;
+    private int activeMask;
+    private final float[] pinX = new float[PinRack.PIN_COUNT];
+    private final float[] pinY = new float[PinRack.PIN_COUNT];
+    private final float[] pinOrientation = new float[PinRack.PIN_COUNT];
+
+    // エイムガイド
+    private boolean aiming;
+    private float aimEndX;
+    private float aimEndY;
+    private int aimContactPin;
+
+    // スコアと進行状態
+    private int totalScore;
+    private int currentFrame;
+    private int currentShot;
+    private boolean gameOver;
+
+    private long tickTimeNanos; // このティックの時刻 (System.nanoTime基準)
+    private long sequence; // 何回目のティックの状態か (0は未書き込み)
+
+    /**
+     * シミュレーションの現在の状態を書き込みます。
+     * @param simulation 読み出すシミュレーション
+     * @param tickTimeNanos このティックの時刻 (System.nanoTime基準)
+     * @param sequence ティックの通し番号
+     */
+    public void capture(Simulation simulation, long tickTimeNanos, long sequence) {
+        BallPhysics ball = simulation.getBall();
+        ballX = ball.getX();
+        ballY = ball.getY();
+        ballPrevX = ball.getPrevX();
+        ballPrevY = ball.getPrevY();
+        ballRadius = ball.getRadius();
+
+        PinRack pins = simulation.getPins();
+        standingMask = pins.getStandingMask();
+        activeMask = pins.getActiveMask();
+        for (int i = 0; i < PinRack.PIN_COUNT; i++) {
+            pinX[i] = pins.getX(i);
+            pinY[i] = pins.getY(i);
+            pinOrientation[i] = pins.getOrientation(i);
+        }
+
+        aiming = simulation.isAiming();
+        TrajectoryPredictor aim = simulation.getAim();
+        aimEndX = aim.getGuideEndX();
+        aimEndY = aim.getGuideEndY();
+        aimContactPin = aim.getContactPin();
+
+        GameState gameState = simulation.getGameState();
+        totalScore = gameState.getTotalScore();
+        currentFrame = gameState.getCurrentFrame();
+        currentShot = gameState.getCurrentShot();
+        gameOver = gameState.isGameOver();
+
+        this.tickTimeNanos = tickTimeNanos;
+        this.sequence = sequence;
+    }
+
+    // --- Getterメソッド ---
+    public float getBallX() { return ballX; }
+    public float getBallY() { return ballY; }
+    public float getBallPrevX() { return ballPrevX; }
+    public float getBallPrevY() { return ballPrevY; }
+    public float getBallRadius() { return ballRadius; }
+    public int getStandingMask() { return standingMask; }
+    public int getActiveMask() { return activeMask; }
+    public boolean isStanding(int i) { return (standingMask & (1 << i)) != 0; }
+    public boolean isActive(int i) { return (activeMask & (1 << i)) != 0; }
+    public float getPinX(int i) { return pinX[i]; }
+    public float getPinY(int i) { return pinY[i]; }
+    public float getPinOrientation(int i) { return pinOrientation[i]; }
+    public boolean isAiming() { return aiming; }
+    public float getAimEndX() { return aimEndX; }
+    public float getAimEndY() { return aimEndY; }
+    public int getAimContactPin() { return aimContactPin; }
+    public int getTotalScore() { return totalScore; }
+    public int getCurrentFrame() { return currentFrame; }
+    public int getCurrentShot() { return currentShot; }
+    public boolean isGameOver() { return gameOver; }
+    public long getTickTimeNanos() { return tickTimeNanos; }
+    public long getSequence() { return sequence; }
+}
@@ -0,0 +1,48 @@
+package com.BowlingGame.core;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * シミュレーションスレッドから描画スレッドへRenderStateを受け渡すトリプルバッファ。
+ * 書き込み用・受け渡し用・読み出し用の3つのバッファを持ち、受け渡し用のバッファとの入れ替えを
+ * AtomicIntegerの1回の交換で行うので、どちらのスレッドも相手を待たずに進めます。
+ *
+ * <p>書き込みと読み出しはそれぞれ1つのスレッドから行う前提です。
+ * 描画が遅れても書き込み側は止まらず、描画側は常に最新の公開済みの状態を受け取ります。</p>
+ */
+public final class RenderStateExchange {
+    private static final int INDEX_MASK = 0b11;
+    private static final int FRESH = 0b100; // 受け渡し用のバッファにまだ読まれていない状態がある
+
+    private final RenderState[] buffers = {new RenderState(), new RenderState(), new RenderState()};
+    private final AtomicInteger middle = new AtomicInteger(2); // 受け渡し用のバッファの番号とFRESHフラグ
+    private int back = 0; // 書き込み用 (書き込みスレッドだけが触る)
+    private int front = 1; // 読み出し用 (読み出しスレッドだけが触る)
+
+    /**
+     * 書き込み用のバッファを返します。書き込んだらpublish()で公開してください。
+     * @return 書き込み用のRenderState
+     */
+    public RenderState getBackBuffer() {
+        return buffers[back];
+    }
+
+    /**
+     * 書き込み用のバッファを公開し、受け渡し用だったバッファを次の書き込み用にします。
+     */
+    public void publish() {
+        back = middle.getAndSet(back | FRESH) & INDEX_MASK;
+    }
+
+    /**
+     * 公開済みの最新の状態を返します。新しい状態がなければ前回と同じものを返します。
+     * 返したオブジェクトは次にacquire()を呼ぶまで書き換えられません。
+     * @return 読み出し用のRenderState
+     */
+    public RenderState acquire() {
+        if ((middle.get() & FRESH) != 0) {
+            front = middle.getAndSet(front) & INDEX_MASK;
+        }
+        return buffers[front];
+    }
+}
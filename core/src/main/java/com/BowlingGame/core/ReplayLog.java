@@ -0,0 +1,156 @@
+package com.BowlingGame.core;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * 1ゲーム分の操作 (投球とリスタート) を、何ティック目に行われたかと一緒に記録するログ。
+ * シミュレーションは決定的なので、同じ画面サイズ・ティックの長さで同じ操作を同じティックに与えれば、
+ * 投球の結果とスコアは毎回同じになります。Simulation.startRecording()で記録し、startReplay()で再生します。
+ *
+ * <p>バイナリ形式 (ビッグエンディアン):
+ * マジック 4 / バージョン 1 / 物理定数のフィンガープリント 4 / 幅・高さ・ティックの長さ 4×3 / 操作数 4 /
+ * 操作ごとに ティック 4・種類 1・引数 4×2</p>
+ */
+public final class ReplayLog {
+    public static final int MAGIC = 0x42574C52; // "BWLR"
+    public static final int VERSION = 1;
+
+    // 操作の種類
+    public static final int THROW = 0; // a: 目標のX座標, b: Y方向の初速 (Simulation.throwBall)
+    public static final int LAUNCH = 1; // a, b: 初速 (Simulation.throwBallWithVelocity)
+    public static final int RESTART = 2; // a, b: なし (Simulation.restart)
+
+    private static final int INITIAL_CAPACITY = 32; // 1ゲームの最大投球数より少し多め
+
+    private final float width;
+    private final float height;
+    private final float tickScale;
+    private final int physicsFingerprint;
+
+    // 操作の記録 (足りなくなったら倍に伸ばす)
+    private long[] ticks = new long[INITIAL_CAPACITY];
+    private byte[] types = new byte[INITIAL_CAPACITY];
+    private float[] argsA = new float[INITIAL_CAPACITY];
+    private float[] argsB = new float[INITIAL_CAPACITY];
+    private int count;
+
+    /**
+     * 新しいログを作ります。
+     * @param width 記録時の領域の幅
+     * @param height 記録時の領域の高さ
+     * @param tickScale 1ティックの長さ (基準ティック単位、update()に渡すdt)
+     */
+    public ReplayLog(float width, float height, float tickScale) {
+        this(width, height, tickScale, Simulation.physicsFingerprint());
+    }
+
+    private ReplayLog(float width, float height, float tickScale, int physicsFingerprint) {
+        this.width = width;
+        this.height = height;
+        this.tickScale = tickScale;
+        this.physicsFingerprint = physicsFingerprint;
+    }
+
+    /**
+     * 操作を追加します。
+     * @param tick 操作を行ったティック (Simulation.getTick())
+     * @param type 操作の種類 (THROWなど)
+     * @param a 引数1
+     * @param b 引数2
+     */
+    public void add(long tick, int type, float a, float b) {
+        if (count > 0 && tick < ticks[count - 1]) {
+            throw new IllegalArgumentException("tick went backwards: " + tick + " < " + ticks[count - 1]);
+        }
+        if (count == ticks.length) {
+            int capacity = count * 2;
+            ticks = Arrays.copyOf(ticks, capacity);
+            types = Arrays.copyOf(types, capacity);
+            argsA = Arrays.copyOf(argsA, capacity);
+            argsB = Arrays.copyOf(argsB, capacity);
+        }
+        ticks[count] = tick;
+        types[count] = (byte) type;
+        argsA[count] = a;
+        argsB[count] = b;
+        count++;
+    }
+
+    /**
+     * ログを書き出します。
+     * @param out 書き出し先
+     * @throws IOException 書き出しに失敗した場合
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeByte(VERSION);
+        data.writeInt(physicsFingerprint);
+        data.writeFloat(width);
+        data.writeFloat(height);
+        data.writeFloat(tickScale);
+        data.writeInt(count);
+        for (int i = 0; i < count; i++) {
+            data.writeInt((int) ticks[i]);
+            data.writeByte(types[i]);
+            data.writeFloat(argsA[i]);
+            data.writeFloat(argsB[i]);
+        }
+        data.flush();
+    }
+
+    /**
+     * writeTo()で書き出したログを読み込みます。
+     * @param in 読み込み元
+     * @return 読み込んだログ
+     * @throws IOException 読み込みに失敗した場合
+     * @throws IllegalArgumentException 形式が違う場合や、物理定数が記録時と異なる場合
+     */
+    public static ReplayLog readFrom(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        int magic = data.readInt();
+        if (magic != MAGIC) {
+            throw new IllegalArgumentException("not a replay log: " + Integer.toHexString(magic));
+        }
+        int version = data.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("unsupported replay version: " + version);
+        }
+        int fingerprint = data.readInt();
+        if (fingerprint != Simulation.physicsFingerprint()) {
+            // 物理定数が変わっていると同じ操作でも結果が変わるので再生できない
+            throw new IllegalArgumentException("replay recorded with different physics: "
+                    + Integer.toHexString(fingerprint));
+        }
+        ReplayLog log = new ReplayLog(data.readFloat(), data.readFloat(), data.readFloat(), fingerprint);
+        int count = data.readInt();
+        if (count < 0) {
+            throw new IllegalArgumentException("negative event count: " + count);
+        }
+        for (int i = 0; i < count; i++) {
+            long tick = data.readInt() & 0xFFFFFFFFL;
+            int type = data.readUnsignedByte();
+            if (type > RESTART) {
+                throw new IllegalArgumentException("unknown replay event: " + type);
+            }
+            log.add(tick, type, data.readFloat(), data.readFloat());
+        }
+        return log;
+    }
+
+    // --- Getterメソッド ---
+    public float getWidth() { return width; }
+    public float getHeight() { return height; }
+    public float getTickScale() { return tickScale; }
+    public int getPhysicsFingerprint() { return physicsFingerprint; }
+    public int getEventCount() { return count; }
+    public long getTick(int i) { return ticks[i]; }
+    public int getType(int i) { return types[i]; }
+    public float getA(int i) { return argsA[i]; }
+    public float getB(int i) { return argsB[i]; }
+}
@@ -0,0 +1,475 @@
+package com.BowlingGame.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 終了したゲームの記録をファイルに追記していく履歴。
+ * 1ゲーム (各投球の倒したピン数と投球後に立っているピン、フレームごとの累積スコア、終了日時) を
+ * 固定長 (RECORD_SIZE) のレコードとしてメモリマップしたファイルの末尾に書き込むため、
+ * 何百万ゲーム分あってもn番目のゲームを直接読み出せます。
+ *
+ * <p>ファイルの先頭 (HEADER_SIZE) には件数と、次の小さな索引を持ちます。</p>
+ * <ul>
+ *   <li>ハイスコアの上位TOP_CAPACITY件のレコード番号 (追記のたびに更新)</li>
+ *   <li>スコアごとのゲーム数 (0～300)</li>
+ * </ul>
+ * <p>日時はレコードの順に単調増加するよう記録する (時計が戻っても前のレコードより前にはしない) ため、
+ * 期間の検索はレコードの二分探索で行います。</p>
+ *
+ * <p>形式1 (立っているピンのマスクがない) のファイルは、開くときに現在の形式に書き換えます。</p>
+ *
+ * <p>書き込みは1つのスレッドから行ってください (ScoreHistoryRecorderがゲームのスレッドの外で行います)。
+ * 各メソッドは同期しているので、読み出しは他のスレッドからも行えます。</p>
+ */
+public final class ScoreHistory implements AutoCloseable {
+    public static final int MAGIC = 0x42574C48; // "BWLH"
+    public static final int VERSION = 2; // 2: 各投球後に立っているピンのマスクを追加
+    private static final int VERSION_1 = 1;
+    private static final int RECORD_SIZE_1 = 64; // 形式1のレコードの大きさ (マスク以外の配置は同じ)
+    public static final int HEADER_SIZE = 4096;
+    public static final int RECORD_SIZE = 96;
+    public static final int TOP_CAPACITY = 100; // 索引に残すハイスコアの件数
+    public static final int MAX_SCORE = 300;
+    private static final int RECORDS_PER_CHUNK = 65536; // ファイルを拡張・マップする単位のレコード数 (6MB)
+
+    // ヘッダーの配置 (バイト位置)
+    private static final int HEADER_MAGIC = 0;
+    private static final int HEADER_VERSION = 4;
+    private static final int HEADER_RECORD_SIZE = 8;
+    private static final int HEADER_COUNT = 16; // long: レコード数
+    private static final int HEADER_LAST_TIMESTAMP = 24; // long: 最後のレコードの日時
+    private static final int HEADER_TOP_COUNT = 32; // int: ハイスコアの件数
+    private static final int HEADER_TOP = 36; // int[TOP_CAPACITY]: スコアの高い順のレコード番号
+    private static final int HEADER_SCORE_COUNTS = HEADER_TOP + TOP_CAPACITY * 4; // int[MAX_SCORE + 1]
+
+    // レコードの配置 (バイト位置)
+    private static final int RECORD_TIMESTAMP = 0; // long: 終了日時 (エポックミリ秒)
+    private static final int RECORD_TOTAL = 8; // short: 合計スコア
+    private static final int RECORD_ROLL_COUNT = 10; // byte: 投球数
+    private static final int RECORD_ROLLS = 12; // byte[MAX_ROLLS]: 各投球で倒したピンの数
+    private static final int RECORD_FRAMES = RECORD_ROLLS + GameState.MAX_ROLLS + 1; // short[MAX_FRAMES]: フレームごとの累積スコア
+    private static final int RECORD_MASKS = RECORD_FRAMES + GameState.MAX_FRAMES * 2; // short[MAX_ROLLS]: 各投球後に立っているピン
+
+    private final RandomAccessFile file;
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private final List<MappedByteBuffer> chunks = new ArrayList<>();
+    private long count;
+    private long lastTimestamp;
+    private int topCount;
+
+    private ScoreHistory(RandomAccessFile file) throws IOException {
+        this.file = file;
+        this.channel = file.getChannel();
+        this.header = map(0, HEADER_SIZE);
+    }
+
+    /**
+     * 履歴のファイルを開きます。ファイルがなければ作成し、形式1のファイルなら現在の形式に書き換えます。
+     * @param path ファイルのパス
+     * @return 履歴
+     * @throws IOException 読み書きに失敗した場合
+     * @throws IllegalArgumentException 履歴のファイルでないか、形式が違うか、壊れている場合
+     */
+    public static ScoreHistory open(File path) throws IOException {
+        if (readVersion(path) == VERSION_1) {
+            migrateVersion1(path);
+        }
+        RandomAccessFile file = new RandomAccessFile(path, "rw");
+        try {
+            boolean created = file.length() == 0;
+            ScoreHistory history = new ScoreHistory(file);
+            if (created) {
+                history.initHeader();
+            } else {
+                history.readHeader();
+            }
+            return history;
+        } catch (IOException | RuntimeException e) {
+            file.close();
+            throw e;
+        }
+    }
+
+    // ヘッダーの形式番号を読む。履歴のファイルでなければ-1 (open()のreadHeader()で弾く)
+    private static int readVersion(File path) throws IOException {
+        if (path.length() < HEADER_SIZE) {
+            return -1;
+        }
+        try (RandomAccessFile file = new RandomAccessFile(path, "r")) {
+            file.seek(HEADER_MAGIC);
+            if (Integer.reverseBytes(file.readInt()) != MAGIC) { // RandomAccessFileはビッグエンディアンで読む
+                return -1;
+            }
+            file.seek(HEADER_VERSION);
+            return Integer.reverseBytes(file.readInt());
+        }
+    }
+
+    // 形式1のファイルを現在の形式に書き換える。立っているピンは記録がないのでUNKNOWN_PIN_MASKにする
+    // 別のファイルに書き出してから置き換えるため、途中で失敗しても元のファイルは残る
+    private static void migrateVersion1(File path) throws IOException {
+        File migrated = new File(path.getPath() + ".migrating");
+        Files.deleteIfExists(migrated.toPath());
+        int[] rolls = new int[GameState.MAX_ROLLS];
+        int[] masks = new int[GameState.MAX_ROLLS];
+        int[] frames = new int[GameState.MAX_FRAMES];
+        Arrays.fill(masks, Simulation.UNKNOWN_PIN_MASK);
+        try (RandomAccessFile old = new RandomAccessFile(path, "r");
+             ScoreHistory history = open(migrated)) {
+            FileChannel channel = old.getChannel();
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            long count = header.getLong(HEADER_COUNT);
+            if (header.getInt(HEADER_RECORD_SIZE) != RECORD_SIZE_1
+                    || count < 0 || HEADER_SIZE + count * RECORD_SIZE_1 > old.length()) {
+                throw new IllegalArgumentException("broken version 1 score history: " + count + " records");
+            }
+            for (long first = 0; first < count; first += RECORDS_PER_CHUNK) {
+                int n = (int) Math.min(RECORDS_PER_CHUNK, count - first);
+                MappedByteBuffer records = channel.map(FileChannel.MapMode.READ_ONLY,
+                        HEADER_SIZE + first * RECORD_SIZE_1, (long) n * RECORD_SIZE_1);
+                records.order(ByteOrder.LITTLE_ENDIAN);
+                for (int i = 0; i < n; i++) {
+                    int base = i * RECORD_SIZE_1;
+                    for (int roll = 0; roll < GameState.MAX_ROLLS; roll++) {
+                        rolls[roll] = records.get(base + RECORD_ROLLS + roll);
+                    }
+                    for (int frame = 0; frame < GameState.MAX_FRAMES; frame++) {
+                        frames[frame] = records.getShort(base + RECORD_FRAMES + frame * 2);
+                    }
+                    // 索引 (ハイスコアとスコアごとの件数) もappend()で同じ順に作り直す
+                    history.append(records.getLong(base + RECORD_TIMESTAMP), rolls, masks, 0,
+                            records.get(base + RECORD_ROLL_COUNT), frames, 0, records.getShort(base + RECORD_TOTAL));
+                }
+            }
+        }
+        Files.move(migrated.toPath(), path.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void initHeader() {
+        header.putInt(HEADER_MAGIC, MAGIC);
+        header.putInt(HEADER_VERSION, VERSION);
+        header.putInt(HEADER_RECORD_SIZE, RECORD_SIZE);
+        header.putLong(HEADER_COUNT, 0);
+        header.putLong(HEADER_LAST_TIMESTAMP, Long.MIN_VALUE);
+        header.putInt(HEADER_TOP_COUNT, 0);
+        lastTimestamp = Long.MIN_VALUE;
+    }
+
+    private void readHeader() throws IOException {
+        if (header.getInt(HEADER_MAGIC) != MAGIC) {
+            throw new IllegalArgumentException("not a score history file");
+        }
+        if (header.getInt(HEADER_VERSION) != VERSION || header.getInt(HEADER_RECORD_SIZE) != RECORD_SIZE) {
+            throw new IllegalArgumentException("unsupported score history version: " + header.getInt(HEADER_VERSION));
+        }
+        count = header.getLong(HEADER_COUNT);
+        if (count < 0 || HEADER_SIZE + count * RECORD_SIZE > file.length()) {
+            throw new IllegalArgumentException("truncated score history: " + count + " records");
+        }
+        lastTimestamp = header.getLong(HEADER_LAST_TIMESTAMP);
+        topCount = Math.min(header.getInt(HEADER_TOP_COUNT), TOP_CAPACITY);
+        for (long mapped = 0; mapped < count; mapped += RECORDS_PER_CHUNK) {
+            mapNextChunk();
+        }
+    }
+
+    private MappedByteBuffer map(long position, long size) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, position, size);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    private void mapNextChunk() throws IOException {
+        long position = HEADER_SIZE + (long) chunks.size() * RECORDS_PER_CHUNK * RECORD_SIZE;
+        chunks.add(map(position, (long) RECORDS_PER_CHUNK * RECORD_SIZE)); // 足りなければファイルが拡張される
+    }
+
+    /**
+     * 終了したゲームを追記します。
+     * @param simulation 終了したゲームのシミュレーション
+     * @param timestampMillis 終了日時 (エポックミリ秒)
+     * @return 追記したレコードの番号
+     * @throws IOException ファイルの拡張に失敗した場合
+     */
+    public long append(Simulation simulation, long timestampMillis) throws IOException {
+        GameState gameState = simulation.getGameState();
+        int rollCount = gameState.getRollCount();
+        int[] rolls = new int[rollCount];
+        int[] masks = new int[rollCount];
+        for (int i = 0; i < rollCount; i++) {
+            rolls[i] = gameState.getRoll(i);
+            masks[i] = simulation.getRollStandingMask(i);
+        }
+        int[] frames = new int[GameState.MAX_FRAMES];
+        for (int frame = 0; frame < GameState.MAX_FRAMES; frame++) {
+            frames[frame] = gameState.getFrameScore(frame + 1);
+        }
+        return append(timestampMillis, rolls, masks, 0, rollCount, frames, 0, gameState.getTotalScore());
+    }
+
+    /**
+     * 終了したゲームを追記します。配列はコピーするので、呼び出し後に再利用できます。
+     * @param timestampMillis 終了日時 (エポックミリ秒)。前のレコードより前なら前のレコードと同じ日時にする
+     * @param rolls 各投球で倒したピンの数
+     * @param standingMasks 各投球後に立っているピンのマスク (不明ならSimulation.UNKNOWN_PIN_MASK)
+     * @param rollsOffset rollsとstandingMasksの読み出し開始位置
+     * @param rollCount 投球数 (0～MAX_ROLLS)
+     * @param frameScores フレームごとの累積スコア (未確定はUNSCORED)
+     * @param framesOffset frameScoresの読み出し開始位置
+     * @param totalScore 合計スコア (0～300)
+     * @return 追記したレコードの番号
+     * @throws IOException ファイルの拡張に失敗した場合
+     */
+    public synchronized long append(long timestampMillis, int[] rolls, int[] standingMasks, int rollsOffset, int rollCount,
+                                    int[] frameScores, int framesOffset, int totalScore) throws IOException {
+        if (rollCount < 0 || rollCount > GameState.MAX_ROLLS || totalScore < 0 || totalScore > MAX_SCORE) {
+            throw new IllegalArgumentException("invalid game: " + rollCount + " rolls, score " + totalScore);
+        }
+        long index = count;
+        if (index == (long) chunks.size() * RECORDS_PER_CHUNK) {
+            mapNextChunk();
+        }
+        long timestamp = Math.max(timestampMillis, lastTimestamp); // 期間の二分探索のため単調増加にする
+
+        // レコードを書き込んでから索引と件数を更新する
+        MappedByteBuffer chunk = chunkOf(index);
+        int base = offsetOf(index);
+        chunk.putLong(base + RECORD_TIMESTAMP, timestamp);
+        chunk.putShort(base + RECORD_TOTAL, (short) totalScore);
+        chunk.put(base + RECORD_ROLL_COUNT, (byte) rollCount);
+        for (int i = 0; i < GameState.MAX_ROLLS; i++) {
+            chunk.put(base + RECORD_ROLLS + i, (byte) (i < rollCount ? rolls[rollsOffset + i] : 0));
+            chunk.putShort(base + RECORD_MASKS + i * 2,
+                    (short) (i < rollCount ? standingMasks[rollsOffset + i] : Simulation.UNKNOWN_PIN_MASK));
+        }
+        for (int frame = 0; frame < GameState.MAX_FRAMES; frame++) {
+            chunk.putShort(base + RECORD_FRAMES + frame * 2, (short) frameScores[framesOffset + frame]);
+        }
+
+        insertTop(index, totalScore);
+        int countOffset = HEADER_SCORE_COUNTS + totalScore * 4;
+        header.putInt(countOffset, header.getInt(countOffset) + 1);
+        lastTimestamp = timestamp;
+        header.putLong(HEADER_LAST_TIMESTAMP, timestamp);
+        count = index + 1;
+        header.putLong(HEADER_COUNT, count);
+        return index;
+    }
+
+    // ハイスコアの索引に挿入する (同じスコアなら先に記録した方を上にする)
+    private void insertTop(long index, int score) {
+        int rank = topCount;
+        while (rank > 0 && getTotalScore(header.getInt(HEADER_TOP + (rank - 1) * 4)) < score) {
+            rank--;
+        }
+        if (rank >= TOP_CAPACITY) {
+            return;
+        }
+        int last = Math.min(topCount, TOP_CAPACITY - 1);
+        for (int i = last; i > rank; i--) {
+            header.putInt(HEADER_TOP + i * 4, header.getInt(HEADER_TOP + (i - 1) * 4));
+        }
+        header.putInt(HEADER_TOP + rank * 4, (int) index);
+        topCount = last + 1;
+        header.putInt(HEADER_TOP_COUNT, topCount);
+    }
+
+    private MappedByteBuffer chunkOf(long index) {
+        return chunks.get((int) (index / RECORDS_PER_CHUNK));
+    }
+
+    private static int offsetOf(long index) {
+        return (int) (index % RECORDS_PER_CHUNK) * RECORD_SIZE;
+    }
+
+    private void checkIndex(long index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("record " + index + " of " + count);
+        }
+    }
+
+    /**
+     * 記録したゲーム数を返します。
+     * @return ゲーム数
+     */
+    public synchronized long size() {
+        return count;
+    }
+
+    /**
+     * ゲームの終了日時を返します。
+     * @param index レコード番号
+     * @return 終了日時 (エポックミリ秒)
+     */
+    public synchronized long getTimestamp(long index) {
+        checkIndex(index);
+        return chunkOf(index).getLong(offsetOf(index) + RECORD_TIMESTAMP);
+    }
+
+    /**
+     * ゲームの合計スコアを返します。
+     * @param index レコード番号
+     * @return 合計スコア
+     */
+    public synchronized int getTotalScore(long index) {
+        checkIndex(index);
+        return chunkOf(index).getShort(offsetOf(index) + RECORD_TOTAL);
+    }
+
+    /**
+     * ゲームの投球数を返します。
+     * @param index レコード番号
+     * @return 投球数
+     */
+    public synchronized int getRollCount(long index) {
+        checkIndex(index);
+        return chunkOf(index).get(offsetOf(index) + RECORD_ROLL_COUNT);
+    }
+
+    /**
+     * ゲームのi投目で倒したピンの数を返します。
+     * @param index レコード番号
+     * @param roll 投球の番号 (0始まり)
+     * @return ピンの数
+     */
+    public synchronized int getRoll(long index, int roll) {
+        checkIndex(index);
+        return chunkOf(index).get(offsetOf(index) + RECORD_ROLLS + roll);
+    }
+
+    /**
+     * ゲームのフレームの累積スコアを返します。
+     * @param index レコード番号
+     * @param frame フレーム番号 (1～10)
+     * @return 累積スコア (未確定ならUNSCORED)
+     */
+    public synchronized int getFrameScore(long index, int frame) {
+        checkIndex(index);
+        return chunkOf(index).getShort(offsetOf(index) + RECORD_FRAMES + (frame - 1) * 2);
+    }
+
+    /**
+     * ゲームのi投目の後に立っていたピンのマスクを返します。
+     * @param index レコード番号
+     * @param roll 投球の番号 (0始まり)
+     * @return マスク。続きから再開したゲームの再開前の投球など、不明ならSimulation.UNKNOWN_PIN_MASK
+     */
+    public synchronized int getRollStandingMask(long index, int roll) {
+        checkIndex(index);
+        return chunkOf(index).getShort(offsetOf(index) + RECORD_MASKS + roll * 2);
+    }
+
+    /**
+     * ゲームの投球とフレームのスコアをまとめて読み出します (集計の再計算など、多数のゲームを順に読む場合用)。
+     * @param index レコード番号
+     * @param rolls 各投球で倒したピンの数の書き込み先 (MAX_ROLLS以上)
+     * @param standingMasks 各投球後に立っているピンのマスクの書き込み先 (MAX_ROLLS以上)
+     * @param frameScores フレームごとの累積スコアの書き込み先 (MAX_FRAMES以上)
+     * @return 投球数
+     */
+    public synchronized int read(long index, int[] rolls, int[] standingMasks, int[] frameScores) {
+        checkIndex(index);
+        MappedByteBuffer chunk = chunkOf(index);
+        int base = offsetOf(index);
+        int rollCount = chunk.get(base + RECORD_ROLL_COUNT);
+        for (int i = 0; i < rollCount; i++) {
+            rolls[i] = chunk.get(base + RECORD_ROLLS + i);
+            standingMasks[i] = chunk.getShort(base + RECORD_MASKS + i * 2);
+        }
+        for (int frame = 0; frame < GameState.MAX_FRAMES; frame++) {
+            frameScores[frame] = chunk.getShort(base + RECORD_FRAMES + frame * 2);
+        }
+        return rollCount;
+    }
+
+    /**
+     * ハイスコアの索引に入っている件数を返します (最大TOP_CAPACITY)。
+     * @return 件数
+     */
+    public synchronized int getTopCount() {
+        return topCount;
+    }
+
+    /**
+     * スコアが上からrank番目 (0始まり) のゲームのレコード番号を返します。
+     * @param rank 順位 (0～getTopCount()-1)
+     * @return レコード番号
+     */
+    public synchronized long getTopRecord(int rank) {
+        if (rank < 0 || rank >= topCount) {
+            throw new IndexOutOfBoundsException("rank " + rank + " of " + topCount);
+        }
+        return header.getInt(HEADER_TOP + rank * 4);
+    }
+
+    /**
+     * 指定したスコアのゲーム数を返します。
+     * @param score スコア (0～300)
+     * @return ゲーム数
+     */
+    public synchronized int getScoreCount(int score) {
+        return header.getInt(HEADER_SCORE_COUNTS + score * 4);
+    }
+
+    /**
+     * 終了日時がtimestampMillis以降の最初のレコード番号を返します (二分探索)。
+     * 期間 [from, to) のゲームはfirstIndexAtOrAfter(from)からfirstIndexAtOrAfter(to)の手前までです。
+     * @param timestampMillis 日時 (エポックミリ秒)
+     * @return レコード番号。該当しなければsize()
+     */
+    public synchronized long firstIndexAtOrAfter(long timestampMillis) {
+        long low = 0;
+        long high = count;
+        while (low < high) {
+            long mid = (low + high) >>> 1;
+            if (chunkOf(mid).getLong(offsetOf(mid) + RECORD_TIMESTAMP) < timestampMillis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * 期間 [fromMillis, toMillis) に終了したゲーム数を返します。
+     * @param fromMillis 期間の開始 (エポックミリ秒、含む)
+     * @param toMillis 期間の終了 (エポックミリ秒、含まない)
+     * @return ゲーム数
+     */
+    public synchronized long countBetween(long fromMillis, long toMillis) {
+        return Math.max(0, firstIndexAtOrAfter(toMillis) - firstIndexAtOrAfter(fromMillis));
+    }
+
+    /**
+     * 書き込んだ内容をストレージに反映します。
+     */
+    public synchronized void force() {
+        for (MappedByteBuffer chunk : chunks) {
+            chunk.force();
+        }
+        header.force(); // 件数はレコードの後に反映する
+    }
+
+    /**
+     * 書き込んだ内容を反映してファイルを閉じます。
+     * @throws IOException 閉じるのに失敗した場合
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        force();
+        file.close();
+    }
+}
@@ -0,0 +1,180 @@
+package com.BowlingGame.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 終了したゲームをゲームのスレッドの外でScoreHistoryに書き込むクラス。
+ * ゲームのスレッドはsubmit()で結果をリングバッファにコピーするだけで、ファイルを開く・拡張する・書き込むのは専用のスレッドです。
+ * 書き込み (submit) はゲームのスレッド1つに限ることで、InputQueueと同じくロックなしで受け渡します。
+ *
+ * <p>PlayerStatisticsを渡した場合、ファイルを開いた直後にそれまでの履歴から集計を作り直して加えます。
+ * その間にsubmit()されたゲームは集計を作り直した後に書き込むため、二重に数えません。</p>
+ *
+ * <p>壊れているか読めない形式のファイルは別名 (末尾に.bad) で残し、新しい履歴を始めます。</p>
+ */
+public final class ScoreHistoryRecorder {
+    public static final int CAPACITY = 8; // 書き込み待ちにできるゲーム数 (2のべき乗)
+    private static final int MASK = CAPACITY - 1;
+
+    private final File path;
+    private final PlayerStatistics statistics; // 履歴から作り直した集計を加える先 (nullなら作り直さない)
+    private final Thread writer;
+    private volatile ScoreHistory history; // 書き込みスレッドが開くまではnull
+    private volatile IOException error; // 最後に発生した入出力のエラー
+    private volatile boolean running = true;
+
+    // 書き込み待ちのゲーム
+    private final long[] timestamps = new long[CAPACITY];
+    private final int[] totals = new int[CAPACITY];
+    private final int[] rollCounts = new int[CAPACITY];
+    private final int[] rolls = new int[CAPACITY * GameState.MAX_ROLLS];
+    private final int[] standingMasks = new int[CAPACITY * GameState.MAX_ROLLS];
+    private final int[] frameScores = new int[CAPACITY * GameState.MAX_FRAMES];
+    private final AtomicLong head = new AtomicLong(); // 次に書き込む位置 (ゲームのスレッドだけが進める)
+    private final AtomicLong tail = new AtomicLong(); // 次に読み出す位置 (書き込みスレッドだけが進める)
+    private long dropped; // 満杯で捨てたゲーム数 (ゲームのスレッドだけが書き込む)
+
+    /**
+     * @param path 履歴のファイル (書き込みスレッドが開く)
+     * @param statistics 履歴から作り直した集計を加える先。nullなら作り直さない
+     */
+    public ScoreHistoryRecorder(File path, PlayerStatistics statistics) {
+        this.path = path;
+        this.statistics = statistics;
+        this.writer = new Thread(this::runWriter, "ScoreHistoryWriter");
+        this.writer.setDaemon(true);
+    }
+
+    /**
+     * 書き込みスレッドを開始します。開始前にsubmit()したゲームは、ファイルを開いた後に書き込みます。
+     */
+    public void start() {
+        writer.start();
+    }
+
+    /**
+     * 終了したゲームを書き込み待ちに加えます。ゲームのスレッドから呼び出し、メモリ割り当ては行いません。
+     * @param simulation 終了したゲームのシミュレーション
+     * @param timestampMillis 終了日時 (エポックミリ秒)
+     * @return 書き込み待ちが満杯で捨てた場合false
+     */
+    public boolean submit(Simulation simulation, long timestampMillis) {
+        long h = head.get();
+        if (h - tail.get() >= CAPACITY) {
+            dropped++;
+            return false;
+        }
+        int slot = (int) (h & MASK);
+        GameState gameState = simulation.getGameState();
+        timestamps[slot] = timestampMillis;
+        totals[slot] = gameState.getTotalScore();
+        int rollCount = gameState.getRollCount();
+        rollCounts[slot] = rollCount;
+        for (int i = 0; i < rollCount; i++) {
+            rolls[slot * GameState.MAX_ROLLS + i] = gameState.getRoll(i);
+            standingMasks[slot * GameState.MAX_ROLLS + i] = simulation.getRollStandingMask(i);
+        }
+        for (int frame = 0; frame < GameState.MAX_FRAMES; frame++) {
+            frameScores[slot * GameState.MAX_FRAMES + frame] = gameState.getFrameScore(frame + 1);
+        }
+        head.lazySet(h + 1); // 書き込んだ内容が書き込みスレッドに見えてから位置を進める
+        LockSupport.unpark(writer);
+        return true;
+    }
+
+    // 書き込みスレッドの本体。待ちがなければ起こされるまで休む
+    private void runWriter() {
+        try {
+            history = openHistory();
+        } catch (IOException e) {
+            error = e;
+            return;
+        } catch (RuntimeException e) {
+            error = new IOException("could not open score history: " + e.getMessage(), e);
+            return;
+        }
+        if (statistics != null) {
+            // 書き込み待ちのゲームはまだファイルにないので、ここで読むのはそれより前のゲームだけ
+            try {
+                PlayerStatistics rebuilt = new PlayerStatistics();
+                rebuilt.addHistory(history);
+                statistics.merge(rebuilt);
+            } catch (RuntimeException e) {
+                // 集計を作り直せなくても、これからのゲームの書き込みは続ける
+                error = new IOException("could not rebuild statistics from score history: " + e.getMessage(), e);
+            }
+        }
+        while (true) {
+            boolean stopping = !running; // 止める前に残っている分は書き込む
+            drain();
+            if (stopping) {
+                break;
+            }
+            if (tail.get() == head.get()) {
+                LockSupport.park(this);
+            }
+        }
+        try {
+            history.close();
+        } catch (IOException e) {
+            error = e;
+        }
+    }
+
+    // 履歴を開く。開けないファイルは上書きせずに別名で残し、空の履歴を作り直す
+    private ScoreHistory openHistory() throws IOException {
+        try {
+            return ScoreHistory.open(path);
+        } catch (IllegalArgumentException e) {
+            File aside = new File(path.getPath() + ".bad");
+            Files.move(path.toPath(), aside.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            error = new IOException("moved unreadable score history to " + aside.getName() + ": " + e.getMessage(), e);
+            return ScoreHistory.open(path);
+        }
+    }
+
+    private void drain() {
+        long t = tail.get();
+        while (t != head.get()) {
+            int slot = (int) (t & MASK);
+            try {
+                history.append(timestamps[slot], rolls, standingMasks, slot * GameState.MAX_ROLLS, rollCounts[slot],
+                        frameScores, slot * GameState.MAX_FRAMES, totals[slot]);
+            } catch (IOException e) {
+                error = e;
+            } catch (RuntimeException e) {
+                // 書き込めないゲームは捨てて、書き込みスレッドは止めない (止めると以降のゲームが全て捨てられる)
+                error = new IOException("could not append to score history: " + e.getMessage(), e);
+            }
+            t++;
+            tail.lazySet(t); // 書き込み終えてからスロットを返す
+        }
+    }
+
+    /**
+     * 書き込み待ちのゲームを全て書き込んでからファイルを閉じ、書き込みスレッドを終了します。
+     * @throws InterruptedException 終了を待つ間に割り込まれた場合
+     */
+    public void close() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join();
+    }
+
+    /**
+     * 履歴を返します。読み出しはどのスレッドからも行えます。
+     * @return 履歴。まだ開いていないか、開けなかった場合はnull
+     */
+    public ScoreHistory getHistory() {
+        return history;
+    }
+
+    // --- Getterメソッド ---
+    public IOException getError() { return error; }
+    public long getDropped() { return dropped; }
+}
@@ -0,0 +1,598 @@
+package com.BowlingGame.core;
+
+import java.util.Arrays;
+
+/**
+ * ボール・ピン・スコアをまとめて進めるシミュレーション本体。
+ * 描画やAndroidに依存しないため、GameViewからもJVM上のツールからも同じように使えます。
+ *
+ * <p>同じ領域サイズ・同じdtで同じ操作を同じティックに与えれば結果は常に同じになります (決定的)。
+ * これを利用して、操作をReplayLogに記録し、後から実機やJVM上で同じゲームを再現できます。</p>
+ */
+public class Simulation {
+    private final BallPhysics ball;
+    private final PinRack pins;
+    private final GameState gameState;
+
+    private float width; // レーンを含む領域の幅
+    private float height; // レーンを含む領域の高さ
+    private int standingBeforeShot; // 投球開始時に立っていたピンのマスク
+    private final int[] rollStandingMasks = new int[GameState.MAX_ROLLS]; // 各投球の後に立っていたピン (履歴と成績用)
+
+    // 成績の集計 (nullなら集計しない)。途中から再開したゲームと再生したゲームは集計しない
+    private PlayerStatistics statistics;
+    private boolean statisticsTracking; // 現在のゲームを最初から見ているか
+    private boolean traced; // EventTraceに記録するか
+
+    // タッチ入力 (UIスレッドから書き込み、update()の先頭で読み出す)
+    private final InputQueue input = new InputQueue();
+    private final SwipeTracker swipe = new SwipeTracker();
+
+    // エイムガイド (指を離したら投げられる軌跡。タッチ入力を処理したティックだけ計算し直す)
+    private final TrajectoryPredictor aim = new TrajectoryPredictor();
+    private boolean aiming; // ガイドを表示するか
+    private float lastTouchX; // 最後に処理したタッチ位置
+    private float lastTouchY;
+
+    // 記録と再生
+    private long tick; // これまでにupdate()を呼んだ回数 (ReplayLogのティック番号)
+    private ReplayLog recording; // 操作を記録中のログ (nullなら記録しない)
+    private ReplayLog replay; // 再生中のログ (nullなら再生しない)
+    private int replayIndex; // 次に再生する操作の番号
+
+    // 定数
+    public static final int PIN_COUNT = PinRack.PIN_COUNT; // ピンの本数
+    public static final float LANE_WIDTH_RATIO = 0.8f; // レーンの幅の画面に対する比率
+    public static final float LANE_HEIGHT_RATIO = 0.6f; // レーンの高さの画面に対する比率
+    public static final float BALL_START_RATIO = 0.9f; // ボールの初期Y座標の画面に対する比率
+    public static final float LANE_END_RATIO = 0.2f; // これより奥に進んだらショット終了とみなすY座標の比率
+    public static final float TAP_THROW_SPEED = 30f; // タップで投げたときのY方向の初速
+    public static final float MIN_SWIPE_SPEED = 300f; // スワイプ投球とみなす奥方向の最小速度 (ピクセル/秒)
+    public static final float MIN_SWIPE_DISTANCE = 40f; // スワイプ投球とみなす奥方向の最小移動量 (ピクセル)
+    public static final int UNKNOWN_PIN_MASK = -1; // getRollStandingMask()で記録がない投球の値
+    // 定数以外 (衝突の解き方など) の変更で同じ操作の結果が変わったら上げる。physicsFingerprint()に含める
+    private static final int PHYSICS_REVISION = 2;
+
+    public Simulation() {
+        ball = new BallPhysics();
+        pins = new PinRack(); // 10本のピンを管理
+        gameState = new GameState();
+        Arrays.fill(rollStandingMasks, UNKNOWN_PIN_MASK);
+    }
+
+    /**
+     * 領域サイズに合わせてピンとボールを初期位置に配置します。
+     * @param width 領域の幅
+     * @param height 領域の高さ
+     */
+    public void setup(float width, float height) {
+        this.width = width;
+        this.height = height;
+
+        float laneCenterX = width / 2f;
+        float laneTopY = height * (1 - LANE_HEIGHT_RATIO); // レーンの開始Y座標
+
+        // ピンの基点Y座標 (レーン奥のピンを配置するY座標)
+        float pinsBaseY = laneTopY + (height * LANE_HEIGHT_RATIO * 0.2f); // レーンの開始から20%くらいの位置
+
+        // ボーリングの標準的な10ピン配置
+        pins.setup(laneCenterX, pinsBaseY);
+        // レーンの左右の端と奥 (ピット) を出たピンは取り除く
+        pins.setBounds(width * ((1 - LANE_WIDTH_RATIO) / 2), laneTopY, width * ((1 + LANE_WIDTH_RATIO) / 2));
+
+        // ボールの初期位置もレーンに合わせて調整
+        ball.setInitialPosition(laneCenterX, height * BALL_START_RATIO); // 画面下部、中央
+        ball.reset();
+        if (gameState.getRollCount() == 0 && replay == null) {
+            statisticsTracking = true; // まだ1投もしていないゲームは最初から見ている
+        }
+    }
+
+    /**
+     * ゲームロジックを基準ティック1回分進めます。
+     */
+    public void update() {
+        update(1f);
+    }
+
+    /**
+     * ゲームロジックを進めます。
+     * ボールの移動、ピンとの衝突判定、スコア計算などを処理します。
+     * @param dt 経過時間 (基準ティック単位。60Hzで1ティックなら1)
+     */
+    public void update(float dt) {
+        if (replay != null) {
+            applyReplay(); // 再生中はログの操作だけを反映する
+        } else {
+            processInput(dt); // 前回のティック以降に届いたタッチ入力を反映
+        }
+        step(dt);
+        tick++;
+    }
+
+    // ボールとピンを1ティック分進める
+    private void step(float dt) {
+        ball.beginTick();
+        if (!gameState.isGameRunning() || gameState.isWaitingForThrow()) {
+            return; // 投球中でなければ何もしない
+        }
+        advanceWorld(dt);
+
+        if (ball.isStopped() && !pins.isMoving()) {
+            processShotResult(); // ボールとピンが全て止まったらショット結果を処理
+        }
+    }
+
+    // ボールとピンの動きを進める (スコアや進行状態には触れない)
+    private void advanceWorld(float dt) {
+        if (!ball.isStopped()) {
+            // 移動量に応じてサブステップに分割し、各サブステップの移動線分でピンとの接触を判定する
+            int substeps = ball.substepsFor(dt);
+            float step = dt / substeps;
+            for (int i = 0; i < substeps; i++) {
+                ball.advance(step); // ボールの位置更新
+                pins.collideBall(ball); // ピンとの衝突 (連続衝突判定なので高速でもすり抜けない)
+                pins.step(step); // はじかれたピンの移動とピン同士の衝突
+            }
+            ball.settle();
+
+            // ボールがピンのエリアを通過した、または停止したかを判定
+            // 今回は簡易的に、ボールが特定のY座標より奥に進んだら停止とみなす
+            if (ball.getY() < height * LANE_END_RATIO || ball.isStopped()) {
+                ball.stop(); // ボールを完全に停止させる
+            }
+        } else {
+            pins.step(dt); // ボールが止まった後もピンが止まるまで動かす
+        }
+    }
+
+    /**
+     * 指定したピンが立っている状態から1投だけ試し、投球後に立っているピンを返します。
+     * ゲームの進行状態やスコアは変えませんが、ボールとピンの状態は上書きするので、
+     * 試行専用のSimulation (setup()済み) で呼び出してください。
+     * @param standingMask 投球前に立っているピンのマスク
+     * @param targetX ボールを投げる目標のX座標
+     * @param speed Y方向への初速
+     * @param dt 1ティックの長さ (基準ティック単位)
+     * @param maxTicks 最大ティック数 (これを超えたら打ち切る)
+     * @return 投球後に立っているピンのマスク
+     */
+    public int simulateShot(int standingMask, float targetX, float speed, float dt, int maxTicks) {
+        pins.restoreStanding(standingMask);
+        ball.reset();
+        ball.throwBall(targetX, speed);
+        for (int i = 0; i < maxTicks && !(ball.isStopped() && !pins.isMoving()); i++) {
+            ball.beginTick();
+            advanceWorld(dt);
+        }
+        return pins.getStandingMask();
+    }
+
+    // ショットの結果（倒れたピンの数）を処理し、スコアを更新し、次の状態へ移行
+    private void processShotResult() {
+        if (gameState.isShotProcessed()) { // 二重処理防止
+            return;
+        }
+
+        // この投球で倒れたピンだけを数える (前の投球で倒れたピンは含めない)
+        int standingAfter = pins.getStandingMask();
+        int knockedDown = Integer.bitCount(standingBeforeShot & ~standingAfter);
+        if (traced) {
+            EventTrace.record(EventTrace.SHOT_RESULT, knockedDown, standingAfter, 0, 0);
+        }
+        int shot = gameState.getCurrentShot();
+        gameState.scorePins(knockedDown);
+        rollStandingMasks[gameState.getRollCount() - 1] = standingAfter;
+        if (statistics != null && statisticsTracking) {
+            statistics.recordRoll(shot, knockedDown, standingAfter);
+        }
+        ball.reset();
+
+        if (gameState.isFrameFinished()) {
+            // フレーム終了、次のフレームへ
+            resetAllPins();
+            gameState.nextFrame();
+            if (gameState.isGameOver() && statistics != null && statisticsTracking) {
+                statistics.recordGame(gameState);
+            }
+        } else {
+            // フレーム内の次の投球へ
+            if (pins.getStandingMask() == 0) {
+                resetAllPins(); // 10フレーム目でストライク・スペアの後はピンを立て直す
+            } else {
+                pins.clearDeadwood(); // 倒れたピンを取り除き、立っているピンはそのまま
+            }
+            gameState.nextShot();
+        }
+        gameState.setShotProcessed(true); // ショット処理済みフラグを設定
+    }
+
+    // このティックに行われた操作をログから再生する
+    private void applyReplay() {
+        while (input.poll()) {
+            // 再生中のタッチ入力は捨てる
+        }
+        while (replayIndex < replay.getEventCount() && replay.getTick(replayIndex) <= tick) {
+            float a = replay.getA(replayIndex);
+            float b = replay.getB(replayIndex);
+            switch (replay.getType(replayIndex)) {
+                case ReplayLog.THROW:
+                    throwBall(a, b);
+                    break;
+                case ReplayLog.LAUNCH:
+                    throwBallWithVelocity(a, b);
+                    break;
+                case ReplayLog.RESTART:
+                    restart();
+                    break;
+                default:
+                    break;
+            }
+            replayIndex++;
+        }
+    }
+
+    // 記録中であれば操作をログに追加する
+    private void record(int type, float a, float b) {
+        if (recording != null) {
+            recording.add(tick, type, a, b);
+        }
+    }
+
+    // 入力キューのイベントを順に処理する
+    private void processInput(float dt) {
+        boolean polled = false;
+        while (input.poll()) {
+            polled = true;
+            float x = input.getX();
+            float y = input.getY();
+            long time = input.getTimeNanos();
+            lastTouchX = x;
+            lastTouchY = y;
+            switch (input.getAction()) {
+                case InputQueue.ACTION_DOWN:
+                    swipe.begin(x, y, time);
+                    break;
+                case InputQueue.ACTION_MOVE:
+                    swipe.add(x, y, time);
+                    break;
+                case InputQueue.ACTION_UP:
+                    if (swipe.end(x, y, time)) {
+                        release(x, y);
+                    }
+                    break;
+                case InputQueue.ACTION_CANCEL:
+                    swipe.cancel();
+                    break;
+                default:
+                    break;
+            }
+        }
+        if (polled) {
+            updateAim(dt);
+        }
+    }
+
+    // タッチ中であれば、今指を離した場合の投球の軌跡を求める
+    private void updateAim(float dt) {
+        aiming = false;
+        if (!swipe.sample() || !canThrow()) {
+            return;
+        }
+        float velocityX;
+        float velocityY;
+        if (isSwipeThrow(lastTouchY)) {
+            velocityX = swipe.getVelocityX() / BallPhysics.REFERENCE_TICK_RATE;
+            velocityY = swipe.getVelocityY() / BallPhysics.REFERENCE_TICK_RATE;
+        } else if (lastTouchY < ball.getY()) {
+            velocityX = ball.throwVelocityX(lastTouchX);
+            velocityY = -TAP_THROW_SPEED;
+        } else {
+            return;
+        }
+        predictLaunch(velocityX, velocityY, dt, aim);
+        aiming = true;
+    }
+
+    // スワイプ投球とみなす速さと移動量か (速度はswipeで計算済みのもの)
+    private boolean isSwipeThrow(float y) {
+        return -swipe.getVelocityY() >= MIN_SWIPE_SPEED && swipe.getDownY() - y >= MIN_SWIPE_DISTANCE;
+    }
+
+    // 指を離したときの処理。スワイプなら速度と向きで投げ、タップならタップ位置を目標に投げる
+    private void release(float x, float y) {
+        if (gameState.isGameOver()) {
+            restart(); // ゲームオーバー時に画面をタップしたらリスタート
+            return;
+        }
+        if (!canThrow()) {
+            return;
+        }
+        if (isSwipeThrow(y)) {
+            // スワイプの速度 (ピクセル/秒) を基準ティックあたりの速度に変換して投げる
+            throwBallWithVelocity(swipe.getVelocityX() / BallPhysics.REFERENCE_TICK_RATE,
+                    swipe.getVelocityY() / BallPhysics.REFERENCE_TICK_RATE);
+        } else if (y < ball.getY()) {
+            // タッチしたY座標がボールより奥ならタッチしたX座標に向けて投げる
+            throwBall(x, TAP_THROW_SPEED);
+        }
+    }
+
+    /**
+     * 投球待ち状態であればボールを投げます。
+     * @param targetX ボールを投げる目標のX座標
+     * @param speed Y方向への初速
+     * @return 投球を開始した場合true
+     */
+    public boolean throwBall(float targetX, float speed) {
+        if (!canThrow()) {
+            return false;
+        }
+        standingBeforeShot = pins.getStandingMask();
+        aiming = false;
+        ball.throwBall(targetX, speed);
+        record(ReplayLog.THROW, targetX, speed);
+        gameState.startThrow(); // 投球開始状態に移行
+        gameState.setShotProcessed(false); // 新しいショットが始まったのでフラグをリセット
+        return true;
+    }
+
+    /**
+     * 投球待ち状態であれば、速度を指定してボールを投げます。
+     * @param velocityX X方向の初速 (基準ティックあたりのピクセル)
+     * @param velocityY Y方向の初速 (奥方向がマイナス)
+     * @return 投球を開始した場合true
+     */
+    public boolean throwBallWithVelocity(float velocityX, float velocityY) {
+        if (!canThrow()) {
+            return false;
+        }
+        standingBeforeShot = pins.getStandingMask();
+        aiming = false;
+        ball.launch(velocityX, velocityY);
+        record(ReplayLog.LAUNCH, velocityX, velocityY);
+        gameState.startThrow(); // 投球開始状態に移行
+        gameState.setShotProcessed(false); // 新しいショットが始まったのでフラグをリセット
+        return true;
+    }
+
+    /**
+     * このシミュレーションのイベントをEventTraceに記録するかを設定します。既定では記録しません。
+     * EventTraceは書き込むスレッドが1つである前提なので、ゲームループのシミュレーションだけを記録し、
+     * 投球の予測や集計のために別のスレッドで進めるシミュレーションは記録しません。
+     * @param traced 記録する場合true
+     */
+    public void setTraced(boolean traced) {
+        this.traced = traced;
+        ball.setTraced(traced);
+        gameState.setTraced(traced);
+    }
+
+    /**
+     * 1投ごとに成績を集計するPlayerStatisticsを設定します。
+     * 現在のゲームがまだ1投もしていなければそのゲームから、そうでなければ次のゲームから集計します。
+     * @param statistics 集計先。nullなら集計しない
+     */
+    public void setStatistics(PlayerStatistics statistics) {
+        this.statistics = statistics;
+        statisticsTracking = gameState.getRollCount() == 0 && replay == null;
+    }
+
+    /**
+     * 現在のゲームを1投目から見ているかを返します。途中から再開したゲームと再生したゲームではfalseです。
+     * @return 成績の集計と履歴の記録の対象ならtrue
+     */
+    public boolean isSeenFromStart() {
+        return statisticsTracking;
+    }
+
+    /**
+     * 現在のゲームのi投目の後に立っていたピンのマスクを返します。
+     * @param roll 投球の番号 (0始まり)
+     * @return マスク。続きから再開したゲームの再開前の投球など、記録がなければUNKNOWN_PIN_MASK
+     */
+    public int getRollStandingMask(int roll) {
+        return rollStandingMasks[roll];
+    }
+
+    /**
+     * 目標X座標に向けて投げた場合のボールの軌跡を、ティックを進めずに予測します。状態は変えません。
+     * @param targetX ボールを投げる目標のX座標
+     * @param speed Y方向への初速
+     * @param dt 1ティックの長さ (基準ティック単位)
+     * @param out 結果の書き込み先
+     */
+    public void predictThrow(float targetX, float speed, float dt, TrajectoryPredictor out) {
+        predictLaunch(ball.throwVelocityX(targetX), -speed, dt, out);
+    }
+
+    /**
+     * 速度を指定して投げた場合のボールの軌跡を、ティックを進めずに予測します。状態は変えません。
+     * @param velocityX X方向の初速 (基準ティックあたりのピクセル)
+     * @param velocityY Y方向の初速 (奥方向がマイナス)
+     * @param dt 1ティックの長さ (基準ティック単位)
+     * @param out 結果の書き込み先
+     */
+    public void predictLaunch(float velocityX, float velocityY, float dt, TrajectoryPredictor out) {
+        out.predict(ball.getInitialX(), ball.getInitialY(), ball.getRadius(),
+                BallPhysics.clampVelocityX(velocityX), BallPhysics.clampVelocityY(velocityY), dt,
+                height * LANE_END_RATIO, pins, pins.getStandingMask());
+    }
+
+    /**
+     * 現在の状態をGameSnapshot形式でバッファに保存します。
+     * @param buffer 書き込み先 (GameSnapshot.SIZEバイト以上)
+     */
+    public void saveSnapshot(byte[] buffer) {
+        GameSnapshot.encode(this, buffer);
+    }
+
+    /**
+     * GameSnapshot形式のバッファから状態を復元します。setup()の後に呼び出してください。
+     * @param buffer saveSnapshot()で保存したバッファ
+     */
+    public void restoreSnapshot(byte[] buffer) {
+        GameSnapshot.decode(buffer, this);
+        Arrays.fill(rollStandingMasks, UNKNOWN_PIN_MASK); // 再開前の投球の後に立っていたピンは分からない
+        statisticsTracking = gameState.getRollCount() == 0;
+    }
+
+    /**
+     * ゲームを最初からやり直します。
+     */
+    public void restart() {
+        record(ReplayLog.RESTART, 0, 0);
+        aiming = false;
+        Arrays.fill(rollStandingMasks, UNKNOWN_PIN_MASK);
+        statisticsTracking = true;
+        gameState.resetGame();
+        resetAllPins();
+        ball.reset();
+    }
+
+    /**
+     * 新しいゲームを始め、その後の操作の記録を開始します。
+     * @param tickScale update()に渡すdt (再生時も同じ値で進める)
+     * @return 操作を記録するログ
+     */
+    public ReplayLog startRecording(float tickScale) {
+        replay = null;
+        recording = null;
+        restart();
+        swipe.cancel();
+        tick = 0;
+        recording = new ReplayLog(width, height, tickScale);
+        return recording;
+    }
+
+    /**
+     * 操作の記録を終了します。
+     * @return 記録していたログ。記録していなければnull
+     */
+    public ReplayLog stopRecording() {
+        ReplayLog log = recording;
+        recording = null;
+        return log;
+    }
+
+    /**
+     * ログの領域サイズで新しいゲームを始め、ログの操作の再生を開始します。
+     * 以降はログのティックの長さでupdate()を呼び出してください。再生中はタッチ入力を無視します。
+     * @param log 再生するログ
+     */
+    public void startReplay(ReplayLog log) {
+        recording = null;
+        replay = null;
+        setup(log.getWidth(), log.getHeight());
+        restart();
+        swipe.cancel();
+        tick = 0;
+        replay = log;
+        replayIndex = 0;
+        statisticsTracking = false;
+    }
+
+    /**
+     * ログを描画なしで最後まで再生します。
+     * 最後の操作を反映した後、ボールとピンが止まるまで進めます。
+     * @param log 再生するログ
+     * @param maxTicks 最大ティック数 (操作が終わらないログで止まらなくなるのを防ぐ)
+     * @return 進めたティック数
+     */
+    public long runReplay(ReplayLog log, long maxTicks) {
+        startReplay(log);
+        float dt = log.getTickScale();
+        while (tick < maxTicks && (isReplaying() || !isIdle())) {
+            update(dt);
+        }
+        replay = null;
+        return tick;
+    }
+
+    /**
+     * ログの再生で始めたゲームかどうかを返します (再生が終わった後も、次にstartRecording()やstartReplay()を呼ぶまではtrue)。
+     * @return 再生で始めたゲームであればtrue
+     */
+    public boolean isReplayGame() {
+        return replay != null;
+    }
+
+    /**
+     * 再生中のログに未反映の操作が残っているかを返します。
+     * @return 再生中であればtrue
+     */
+    public boolean isReplaying() {
+        return replay != null && replayIndex < replay.getEventCount();
+    }
+
+    /**
+     * 物理演算の定数から求めた値を返します。
+     * 定数が変わると同じ操作でも結果が変わるため、ReplayLogに記録して再生時に照合します。
+     * @return 物理定数のフィンガープリント
+     */
+    public static int physicsFingerprint() {
+        int hash = ReplayLog.VERSION;
+        hash = 31 * hash + PHYSICS_REVISION;
+        hash = 31 * hash + Float.floatToIntBits(BallPhysics.DEFAULT_RADIUS);
+        hash = 31 * hash + Float.floatToIntBits(BallPhysics.FRICTION_FACTOR);
+        hash = 31 * hash + Float.floatToIntBits(BallPhysics.STOP_THRESHOLD);
+        hash = 31 * hash + Float.floatToIntBits(BallPhysics.MAX_VELOCITY_Y);
+        hash = 31 * hash + Float.floatToIntBits(BallPhysics.MASS);
+        hash = 31 * hash + BallPhysics.REFERENCE_TICK_RATE;
+        hash = 31 * hash + BallPhysics.MAX_SUBSTEPS;
+        hash = 31 * hash + Float.floatToIntBits(PinRack.PIN_RADIUS);
+        hash = 31 * hash + Float.floatToIntBits(PinRack.PIN_MASS);
+        hash = 31 * hash + Float.floatToIntBits(PinRack.RESTITUTION);
+        hash = 31 * hash + Float.floatToIntBits(PinRack.FRICTION_FACTOR);
+        hash = 31 * hash + Float.floatToIntBits(PinRack.STOP_THRESHOLD);
+        hash = 31 * hash + Float.floatToIntBits(PinRack.KNOCK_DOWN_SPEED);
+        hash = 31 * hash + PinRack.MAX_SUBSTEPS;
+        hash = 31 * hash + Float.floatToIntBits(LANE_WIDTH_RATIO);
+        hash = 31 * hash + Float.floatToIntBits(LANE_HEIGHT_RATIO);
+        hash = 31 * hash + Float.floatToIntBits(BALL_START_RATIO);
+        hash = 31 * hash + Float.floatToIntBits(LANE_END_RATIO);
+        return hash;
+    }
+
+    /**
+     * ボールが停止しており、かつ投球待ち状態かどうかを返します。
+     * @return 投球できる状態であればtrue
+     */
+    public boolean canThrow() {
+        return gameState.isWaitingForThrow() && !ball.isThrowing();
+    }
+
+    /**
+     * 何もしなくても状態が変わらない (投球待ちかゲームオーバーで、ボールもピンも止まっていて、未処理の入力もない) かを返します。
+     * この間はupdate()を呼んでも状態が変わらないので、ゲームループを止めてかまいません。
+     * @return 状態が変わらない場合true
+     */
+    public boolean isIdle() {
+        return (gameState.isWaitingForThrow() || gameState.isGameOver())
+                && ball.isStopped() && !pins.isMoving() && input.isEmpty() && !isReplaying();
+    }
+
+    // 倒れているピンの本数を数える
+    public int countFallenPins() {
+        return pins.countFallen();
+    }
+
+    // 全てのピンを立てた状態にリセット
+    private void resetAllPins() {
+        pins.resetAll();
+    }
+
+    // --- Getterメソッド ---
+    public BallPhysics getBall() { return ball; }
+    public InputQueue getInput() { return input; }
+    public boolean isAiming() { return aiming; }
+    public TrajectoryPredictor getAim() { return aim; }
+    public long getTick() { return tick; }
+    public ReplayLog getRecording() { return recording; }
+    public PinRack getPins() { return pins; }
+    public GameState getGameState() { return gameState; }
+    public float getWidth() { return width; }
+    public float getHeight() { return height; }
+    int getStandingBeforeShot() { return standingBeforeShot; }
+    void setStandingBeforeShot(int mask) { this.standingBeforeShot = mask; }
+}
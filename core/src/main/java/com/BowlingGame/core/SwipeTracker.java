@@ -0,0 +1,123 @@
+package com.BowlingGame.core;
+
+/**
+ * タッチの軌跡からスワイプの速度を求めるクラス。
+ * 直近の位置をリングバッファに残し、指を離す直前VELOCITY_WINDOW_NANOSの区間の移動から速度を計算します。
+ */
+public final class SwipeTracker {
+    private static final int HISTORY = 8; // 保持する位置の数 (2のべき乗)
+    private static final long VELOCITY_WINDOW_NANOS = 100_000_000L; // 速度の計算に使う区間 (100ms)
+
+    private final float[] xs = new float[HISTORY];
+    private final float[] ys = new float[HISTORY];
+    private final long[] times = new long[HISTORY];
+    private int count; // 記録した位置の数
+    private boolean tracking; // 指が触れている間true
+
+    private float downX;
+    private float downY;
+    private float velocityX; // 指を離したとき (またはsample()時) の速度 (ピクセル/秒)
+    private float velocityY;
+
+    /**
+     * タッチの開始を記録します。
+     * @param x タッチ位置のX座標
+     * @param y タッチ位置のY座標
+     * @param timeNanos 時刻 (ナノ秒)
+     */
+    public void begin(float x, float y, long timeNanos) {
+        count = 0;
+        tracking = true;
+        downX = x;
+        downY = y;
+        velocityX = 0;
+        velocityY = 0;
+        add(x, y, timeNanos);
+    }
+
+    /**
+     * タッチ中の位置を記録します。
+     * @param x タッチ位置のX座標
+     * @param y タッチ位置のY座標
+     * @param timeNanos 時刻 (ナノ秒)
+     */
+    public void add(float x, float y, long timeNanos) {
+        if (!tracking) {
+            return;
+        }
+        int slot = count & (HISTORY - 1);
+        xs[slot] = x;
+        ys[slot] = y;
+        times[slot] = timeNanos;
+        count++;
+    }
+
+    /**
+     * タッチの終了を記録し、速度を計算します。
+     * @param x 指を離した位置のX座標
+     * @param y 指を離した位置のY座標
+     * @param timeNanos 時刻 (ナノ秒)
+     * @return タッチの開始が記録されていた場合true
+     */
+    public boolean end(float x, float y, long timeNanos) {
+        if (!tracking) {
+            return false;
+        }
+        add(x, y, timeNanos);
+        tracking = false;
+        computeVelocity(timeNanos);
+        return true;
+    }
+
+    /**
+     * タッチ中に、今指を離した場合の速度を計算します (エイムガイド用)。
+     * 結果はgetVelocityX()/getVelocityY()で取得します。
+     * @return タッチ中であればtrue
+     */
+    public boolean sample() {
+        if (!tracking) {
+            return false;
+        }
+        computeVelocity(times[(count - 1) & (HISTORY - 1)]);
+        return true;
+    }
+
+    // 時刻timeNanosまでの直近の区間の移動から速度を求める
+    private void computeVelocity(long timeNanos) {
+        // 最新の位置から遡り、区間内で最も古い位置との差から速度を求める
+        int newest = (count - 1) & (HISTORY - 1);
+        int oldest = newest;
+        int available = Math.min(count, HISTORY);
+        for (int i = 1; i < available; i++) {
+            int slot = (count - 1 - i) & (HISTORY - 1);
+            if (timeNanos - times[slot] > VELOCITY_WINDOW_NANOS) {
+                break;
+            }
+            oldest = slot;
+        }
+        long elapsed = times[newest] - times[oldest];
+        if (elapsed > 0) {
+            float seconds = elapsed / 1_000_000_000f;
+            velocityX = (xs[newest] - xs[oldest]) / seconds;
+            velocityY = (ys[newest] - ys[oldest]) / seconds;
+        } else {
+            velocityX = 0;
+            velocityY = 0;
+        }
+    }
+
+    /**
+     * タッチを取り消します。
+     */
+    public void cancel() {
+        tracking = false;
+        count = 0;
+    }
+
+    // --- Getterメソッド ---
+    public boolean isTracking() { return tracking; }
+    public float getDownX() { return downX; }
+    public float getDownY() { return downY; }
+    public float getVelocityX() { return velocityX; }
+    public float getVelocityY() { return velocityY; }
+}
@@ -0,0 +1,318 @@
+package com.BowlingGame.core;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 投球の結果 (投球後に立っているピン) を覚えておくキャッシュ。
+ * 目標X座標と初速を一定の刻みに丸め、投球前に立っているピンのマスクと組み合わせたものをキーにします。
+ * 同じキーの投球は丸めた値で一度だけシミュレーションし、以降は結果を返すだけなので、
+ * エイムのプレビューやCPUの投球、「ここに投げたら」のヒントをマイクロ秒以下で求められます。
+ *
+ * <p>件数には上限があり、超えたら最も長く使われていないものから捨てます (LRU)。
+ * キーと値、ハッシュの連鎖とLRUの連結リストはすべてプリミティブ配列で持つため、検索時のメモリ割り当てはありません。
+ * 各メソッドはスレッドセーフです。</p>
+ */
+public final class ThrowOutcomeCache {
+    private static final int NONE = -1;
+    private static final int MASK_BITS = PinRack.PIN_COUNT; // ピンのマスクのビット数
+    private static final int BUCKET_BITS = 24; // 丸めた目標X座標・初速それぞれのビット数
+    private static final long BUCKET_MASK = (1L << BUCKET_BITS) - 1;
+
+    private final float targetStep; // 目標X座標の刻み (ピクセル)
+    private final float speedStep; // 初速の刻み
+    private final float width;
+    private final float height;
+    private final float dt;
+    // キャッシュにない投球を試すためのSimulation (ロックの外で使うため、呼び出したスレッドごとに持つ)
+    private final ThreadLocal<Simulation> simulations = ThreadLocal.withInitial(this::newSimulation);
+
+    // エントリ (番号で管理する)
+    private final int capacity;
+    private final long[] keys;
+    private final int[] values; // 投球後に立っているピンのマスク
+    private final int[] chainNext; // 同じハッシュの次のエントリ
+    private final int[] lruPrev; // LRUリストの前 (より最近使われた方)
+    private final int[] lruNext; // LRUリストの次 (より前に使われた方)
+    private final int[] buckets; // ハッシュ値ごとの先頭のエントリ
+    private int size;
+    private int lruHead = NONE; // 最も最近使われたエントリ
+    private int lruTail = NONE; // 最も長く使われていないエントリ
+
+    // 統計
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * @param width 領域の幅
+     * @param height 領域の高さ
+     * @param dt 1ティックの長さ (基準ティック単位)
+     * @param capacity 保持する最大件数
+     * @param targetStep 目標X座標の刻み (ピクセル)
+     * @param speedStep 初速の刻み
+     */
+    public ThrowOutcomeCache(float width, float height, float dt, int capacity, float targetStep, float speedStep) {
+        if (capacity <= 0 || targetStep <= 0 || speedStep <= 0) {
+            throw new IllegalArgumentException("capacity and steps must be positive: "
+                    + capacity + ", " + targetStep + ", " + speedStep);
+        }
+        this.width = width;
+        this.height = height;
+        this.dt = dt;
+        this.targetStep = targetStep;
+        this.speedStep = speedStep;
+        this.capacity = capacity;
+        keys = new long[capacity];
+        values = new int[capacity];
+        chainNext = new int[capacity];
+        lruPrev = new int[capacity];
+        lruNext = new int[capacity];
+        buckets = new int[Integer.highestOneBit(capacity * 2 - 1) * 2]; // 件数の2倍以上の2のべき乗
+        Arrays.fill(buckets, NONE);
+    }
+
+    private Simulation newSimulation() {
+        Simulation simulation = new Simulation();
+        simulation.setup(width, height);
+        return simulation;
+    }
+
+    /**
+     * 投球後に立っているピンを返します。キャッシュになければ丸めた目標X座標と初速でシミュレーションして覚えます。
+     * シミュレーションはロックの外で行うため、その間も他のスレッドの検索は待たされません。
+     * @param standingMask 投球前に立っているピンのマスク
+     * @param targetX ボールを投げる目標のX座標
+     * @param speed Y方向への初速
+     * @return 投球後に立っているピンのマスク
+     */
+    public int predict(int standingMask, float targetX, float speed) {
+        int targetBucket = Math.round(targetX / targetStep);
+        int speedBucket = Math.round(speed / speedStep);
+        long key = key(standingMask, targetBucket, speedBucket);
+        synchronized (this) {
+            int entry = find(key);
+            if (entry != NONE) {
+                hits++;
+                touch(entry);
+                return values[entry];
+            }
+            misses++;
+        }
+        int after = simulations.get().simulateShot(standingMask & PinRack.ALL_PINS_MASK, targetBucket * targetStep,
+                speedBucket * speedStep, dt, ThrowOutcomeSolver.MAX_TICKS_PER_SHOT);
+        synchronized (this) {
+            if (find(key) == NONE) { // 同じ投球を他のスレッドが先に入れていれば、そちらを残す (結果は同じ)
+                insert(key, after);
+            }
+        }
+        return after;
+    }
+
+    /**
+     * 投球で倒れるピンの数を返します。
+     * @param standingMask 投球前に立っているピンのマスク
+     * @param targetX ボールを投げる目標のX座標
+     * @param speed Y方向への初速
+     * @return 倒れるピンの数
+     */
+    public int predictKnockedDown(int standingMask, float targetX, float speed) {
+        return Integer.bitCount(standingMask & ~predict(standingMask, targetX, speed));
+    }
+
+    /**
+     * 指定した範囲の目標X座標と初速を刻みごとに並列でシミュレーションし、キャッシュに入れておきます (起動時の事前計算用)。
+     * 範囲のセル数が上限を超える場合、先に計算したものから捨てられます。統計のヒット・ミスには数えません。
+     * @param standingMask 投球前に立っているピンのマスク
+     * @param minTargetX 目標X座標の下限
+     * @param maxTargetX 目標X座標の上限
+     * @param minSpeed 初速の下限
+     * @param maxSpeed 初速の上限
+     * @param pool 計算に使うForkJoinPool
+     */
+    public void precompute(int standingMask, float minTargetX, float maxTargetX, float minSpeed, float maxSpeed,
+                           ForkJoinPool pool) {
+        int firstTarget = Math.round(minTargetX / targetStep);
+        int targetCount = Math.round(maxTargetX / targetStep) - firstTarget + 1;
+        int firstSpeed = Math.round(minSpeed / speedStep);
+        int speedCount = Math.round(maxSpeed / speedStep) - firstSpeed + 1;
+        if (targetCount <= 0 || speedCount <= 0) {
+            return;
+        }
+        int mask = standingMask & PinRack.ALL_PINS_MASK;
+        int[] results = new int[targetCount * speedCount];
+        pool.invoke(new PrecomputeTask(mask, firstTarget, targetCount, firstSpeed, results, 0, results.length));
+        synchronized (this) {
+            for (int i = 0; i < results.length; i++) {
+                long key = key(mask, firstTarget + i % targetCount, firstSpeed + i / targetCount);
+                int entry = find(key);
+                if (entry == NONE) {
+                    insert(key, results[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * キャッシュと統計を空にします。
+     */
+    public synchronized void clear() {
+        Arrays.fill(buckets, NONE);
+        size = 0;
+        lruHead = NONE;
+        lruTail = NONE;
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+    }
+
+    /**
+     * ヒット率を返します。
+     * @return predict()のうちキャッシュから答えた割合 (0～1)。呼び出しがなければ0
+     */
+    public synchronized float getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0f : (float) hits / total;
+    }
+
+    // --- Getterメソッド ---
+    public synchronized int size() { return size; }
+    public int getCapacity() { return capacity; }
+    public synchronized long getHits() { return hits; }
+    public synchronized long getMisses() { return misses; }
+    public synchronized long getEvictions() { return evictions; }
+
+    // ピンのマスクと丸めた目標X座標・初速を1つのlongに詰める
+    private static long key(int standingMask, int targetBucket, int speedBucket) {
+        return ((targetBucket & BUCKET_MASK) << (BUCKET_BITS + MASK_BITS))
+                | ((speedBucket & BUCKET_MASK) << MASK_BITS)
+                | (standingMask & PinRack.ALL_PINS_MASK);
+    }
+
+    private int bucketOf(long key) {
+        long h = key * 0x9E3779B97F4A7C15L; // フィボナッチハッシュで上位ビットに散らす
+        return (int) (h >>> 40) & (buckets.length - 1);
+    }
+
+    private int find(long key) {
+        for (int entry = buckets[bucketOf(key)]; entry != NONE; entry = chainNext[entry]) {
+            if (keys[entry] == key) {
+                return entry;
+            }
+        }
+        return NONE;
+    }
+
+    private void insert(long key, int value) {
+        int entry;
+        if (size < capacity) {
+            entry = size++;
+        } else {
+            entry = lruTail; // 最も長く使われていないものを再利用する
+            unlinkChain(entry);
+            unlinkLru(entry);
+            evictions++;
+        }
+        keys[entry] = key;
+        values[entry] = value;
+        int bucket = bucketOf(key);
+        chainNext[entry] = buckets[bucket];
+        buckets[bucket] = entry;
+        pushFront(entry);
+    }
+
+    // ハッシュの連鎖からエントリを外す
+    private void unlinkChain(int entry) {
+        int bucket = bucketOf(keys[entry]);
+        int previous = NONE;
+        for (int e = buckets[bucket]; e != NONE; e = chainNext[e]) {
+            if (e == entry) {
+                if (previous == NONE) {
+                    buckets[bucket] = chainNext[e];
+                } else {
+                    chainNext[previous] = chainNext[e];
+                }
+                return;
+            }
+            previous = e;
+        }
+    }
+
+    // 使われたエントリをLRUリストの先頭に移す
+    private void touch(int entry) {
+        if (entry != lruHead) {
+            unlinkLru(entry);
+            pushFront(entry);
+        }
+    }
+
+    private void unlinkLru(int entry) {
+        int prev = lruPrev[entry];
+        int next = lruNext[entry];
+        if (prev == NONE) {
+            lruHead = next;
+        } else {
+            lruNext[prev] = next;
+        }
+        if (next == NONE) {
+            lruTail = prev;
+        } else {
+            lruPrev[next] = prev;
+        }
+    }
+
+    private void pushFront(int entry) {
+        lruPrev[entry] = NONE;
+        lruNext[entry] = lruHead;
+        if (lruHead != NONE) {
+            lruPrev[lruHead] = entry;
+        }
+        lruHead = entry;
+        if (lruTail == NONE) {
+            lruTail = entry;
+        }
+    }
+
+    // 事前計算の範囲 [from, to) をシミュレーションするタスク。大きければ半分に分けてforkする
+    private final class PrecomputeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private static final int SHOTS_PER_TASK = 16; // これ以下の投球数になったら分割せずに計算する
+
+        private final int standingMask;
+        private final int firstTarget;
+        private final int targetCount;
+        private final int firstSpeed;
+        private final int[] results;
+        private final int from;
+        private final int to;
+
+        PrecomputeTask(int standingMask, int firstTarget, int targetCount, int firstSpeed,
+                       int[] results, int from, int to) {
+            this.standingMask = standingMask;
+            this.firstTarget = firstTarget;
+            this.targetCount = targetCount;
+            this.firstSpeed = firstSpeed;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > SHOTS_PER_TASK) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new PrecomputeTask(standingMask, firstTarget, targetCount, firstSpeed, results, from, mid),
+                        new PrecomputeTask(standingMask, firstTarget, targetCount, firstSpeed, results, mid, to));
+                return;
+            }
+            Simulation worker = new Simulation(); // このタスク専用
+            worker.setup(width, height);
+            for (int i = from; i < to; i++) {
+                float targetX = (firstTarget + i % targetCount) * targetStep;
+                float speed = (firstSpeed + i / targetCount) * speedStep;
+                results[i] = worker.simulateShot(standingMask, targetX, speed, dt, ThrowOutcomeSolver.MAX_TICKS_PER_SHOT);
+            }
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.BowlingGame.core;
+
+/**
+ * ThrowOutcomeSolverが求めた、投球の目標X座標と初速の格子ごとの結果の分布。
+ * 各セルについて、ストライク (立っていたピンを全て倒す) の確率と、倒したピン数ごとの確率を持ちます。
+ */
+public final class ThrowOutcomeMap {
+    private final int standingMask; // 投球前に立っていたピン
+    private final float minTargetX;
+    private final float maxTargetX;
+    private final int targetSteps;
+    private final float minSpeed;
+    private final float maxSpeed;
+    private final int speedSteps;
+    private final int samplesPerCell;
+
+    // セルごとの集計 (セル番号 = 初速の番号 * targetSteps + 目標X座標の番号)
+    private final int[] strikeCounts;
+    private final int[] pinCounts; // セル番号 * (PIN_COUNT + 1) + 倒したピン数
+
+    ThrowOutcomeMap(int standingMask, float minTargetX, float maxTargetX, int targetSteps,
+                    float minSpeed, float maxSpeed, int speedSteps, int samplesPerCell) {
+        this.standingMask = standingMask;
+        this.minTargetX = minTargetX;
+        this.maxTargetX = maxTargetX;
+        this.targetSteps = targetSteps;
+        this.minSpeed = minSpeed;
+        this.maxSpeed = maxSpeed;
+        this.speedSteps = speedSteps;
+        this.samplesPerCell = samplesPerCell;
+        this.strikeCounts = new int[targetSteps * speedSteps];
+        this.pinCounts = new int[targetSteps * speedSteps * (PinRack.PIN_COUNT + 1)];
+    }
+
+    // 1回の試行結果を記録する (セルごとに1つのスレッドだけが書き込む)
+    void record(int cell, int knockedDown, boolean strike) {
+        pinCounts[cell * (PinRack.PIN_COUNT + 1) + knockedDown]++;
+        if (strike) {
+            strikeCounts[cell]++;
+        }
+    }
+
+    /**
+     * セル番号を返します。
+     * @param targetIndex 目標X座標の番号 (0～getTargetSteps()-1)
+     * @param speedIndex 初速の番号 (0～getSpeedSteps()-1)
+     * @return セル番号
+     */
+    public int cell(int targetIndex, int speedIndex) {
+        return speedIndex * targetSteps + targetIndex;
+    }
+
+    /**
+     * セルの目標X座標の範囲の下端を返します。
+     * @param targetIndex 目標X座標の番号
+     * @return 目標X座標
+     */
+    public float targetXAt(int targetIndex) {
+        return minTargetX + (maxTargetX - minTargetX) * targetIndex / targetSteps;
+    }
+
+    /**
+     * セルの初速の範囲の下端を返します。
+     * @param speedIndex 初速の番号
+     * @return 初速
+     */
+    public float speedAt(int speedIndex) {
+        return minSpeed + (maxSpeed - minSpeed) * speedIndex / speedSteps;
+    }
+
+    /**
+     * セルのストライク (立っていたピンを全て倒す) の確率を返します。
+     * @param cell セル番号
+     * @return 確率 (0～1)
+     */
+    public float getStrikeProbability(int cell) {
+        return (float) strikeCounts[cell] / samplesPerCell;
+    }
+
+    /**
+     * セルでちょうどpins本倒す確率を返します。
+     * @param cell セル番号
+     * @param pins 倒したピン数 (0～10)
+     * @return 確率 (0～1)
+     */
+    public float getPinCountProbability(int cell, int pins) {
+        return (float) pinCounts[cell * (PinRack.PIN_COUNT + 1) + pins] / samplesPerCell;
+    }
+
+    /**
+     * セルで倒すピン数の期待値を返します。
+     * @param cell セル番号
+     * @return 期待値
+     */
+    public float getExpectedPins(int cell) {
+        int base = cell * (PinRack.PIN_COUNT + 1);
+        int total = 0;
+        for (int pins = 1; pins <= PinRack.PIN_COUNT; pins++) {
+            total += pins * pinCounts[base + pins];
+        }
+        return (float) total / samplesPerCell;
+    }
+
+    /**
+     * ストライクの確率が最も高いセルを返します (同じなら倒すピン数の期待値が大きい方)。
+     * エイムアシストやCPUの投球の目標選びに使います。
+     * @return セル番号
+     */
+    public int bestCell() {
+        int best = 0;
+        for (int cell = 1; cell < strikeCounts.length; cell++) {
+            if (strikeCounts[cell] > strikeCounts[best]
+                    || (strikeCounts[cell] == strikeCounts[best] && getExpectedPins(cell) > getExpectedPins(best))) {
+                best = cell;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * 全セルのストライクの確率の平均を返します (レーン全体の難しさの目安)。
+     * @return 確率 (0～1)
+     */
+    public float getOverallStrikeProbability() {
+        long strikes = 0;
+        for (int count : strikeCounts) {
+            strikes += count;
+        }
+        return (float) strikes / ((long) strikeCounts.length * samplesPerCell);
+    }
+
+    // --- Getterメソッド ---
+    public int getStandingMask() { return standingMask; }
+    public int getTargetSteps() { return targetSteps; }
+    public int getSpeedSteps() { return speedSteps; }
+    public int getCellCount() { return strikeCounts.length; }
+    public int getSamplesPerCell() { return samplesPerCell; }
+    public float getMinTargetX() { return minTargetX; }
+    public float getMaxTargetX() { return maxTargetX; }
+    public float getMinSpeed() { return minSpeed; }
+    public float getMaxSpeed() { return maxSpeed; }
+}
@@ -0,0 +1,126 @@
+package com.BowlingGame.core;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 投球の目標X座標と初速の組み合わせごとに、どのピンが倒れるかをモンテカルロ法で求めるソルバー。
+ * 入力の範囲を格子に分け、各セル内でランダムにずらした投球を実際の物理演算で試します。
+ * セルはfork/joinで全コアに分配し、セルごとに専用のSimulationを使うので、スレッド間で共有する状態はありません。
+ *
+ * <p>乱数はセルごとにseedとセル番号から作るため、スレッド数や実行順によらず結果は同じです。</p>
+ */
+public final class ThrowOutcomeSolver {
+    public static final int MAX_TICKS_PER_SHOT = 10_000; // 1投あたりの最大ティック数
+    private static final int CELLS_PER_TASK = 4; // これ以下のセル数になったら分割せずに計算する
+
+    private final float width;
+    private final float height;
+    private final float dt;
+    private final ForkJoinPool pool;
+
+    /**
+     * 共通のForkJoinPoolを使うソルバーを作ります。
+     * @param width 領域の幅
+     * @param height 領域の高さ
+     * @param dt 1ティックの長さ (基準ティック単位)
+     */
+    public ThrowOutcomeSolver(float width, float height, float dt) {
+        this(width, height, dt, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param width 領域の幅
+     * @param height 領域の高さ
+     * @param dt 1ティックの長さ (基準ティック単位)
+     * @param pool 計算に使うForkJoinPool
+     */
+    public ThrowOutcomeSolver(float width, float height, float dt, ForkJoinPool pool) {
+        if (dt <= 0) {
+            throw new IllegalArgumentException("dt must be positive: " + dt);
+        }
+        this.width = width;
+        this.height = height;
+        this.dt = dt;
+        this.pool = pool;
+    }
+
+    /**
+     * 目標X座標と初速の範囲を格子に分け、セルごとの結果の分布を求めます。
+     * @param standingMask 投球前に立っているピンのマスク
+     * @param minTargetX 目標X座標の下限
+     * @param maxTargetX 目標X座標の上限
+     * @param targetSteps 目標X座標の分割数
+     * @param minSpeed 初速の下限
+     * @param maxSpeed 初速の上限
+     * @param speedSteps 初速の分割数
+     * @param samplesPerCell セルあたりの試行回数
+     * @param seed 乱数の種
+     * @return セルごとの結果の分布
+     */
+    public ThrowOutcomeMap solve(int standingMask, float minTargetX, float maxTargetX, int targetSteps,
+                                 float minSpeed, float maxSpeed, int speedSteps, int samplesPerCell, long seed) {
+        if (targetSteps <= 0 || speedSteps <= 0 || samplesPerCell <= 0) {
+            throw new IllegalArgumentException("steps and samples must be positive: "
+                    + targetSteps + ", " + speedSteps + ", " + samplesPerCell);
+        }
+        if ((standingMask & PinRack.ALL_PINS_MASK) == 0) {
+            throw new IllegalArgumentException("no standing pins: " + standingMask);
+        }
+        ThrowOutcomeMap map = new ThrowOutcomeMap(standingMask & PinRack.ALL_PINS_MASK, minTargetX, maxTargetX,
+                targetSteps, minSpeed, maxSpeed, speedSteps, samplesPerCell);
+        pool.invoke(new CellTask(map, seed, 0, map.getCellCount()));
+        return map;
+    }
+
+    // [from, to) のセルを計算するタスク。大きければ半分に分けてforkする
+    private final class CellTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final ThrowOutcomeMap map;
+        private final long seed;
+        private final int from;
+        private final int to;
+
+        CellTask(ThrowOutcomeMap map, long seed, int from, int to) {
+            this.map = map;
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > CELLS_PER_TASK) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new CellTask(map, seed, from, mid), new CellTask(map, seed, mid, to));
+                return;
+            }
+            Simulation simulation = new Simulation(); // このタスク専用
+            simulation.setup(width, height);
+            for (int cell = from; cell < to; cell++) {
+                solveCell(simulation, cell);
+            }
+        }
+
+        private void solveCell(Simulation simulation, int cell) {
+            int targetIndex = cell % map.getTargetSteps();
+            int speedIndex = cell / map.getTargetSteps();
+            float targetLow = map.targetXAt(targetIndex);
+            float targetHigh = map.targetXAt(targetIndex + 1);
+            float speedLow = map.speedAt(speedIndex);
+            float speedHigh = map.speedAt(speedIndex + 1);
+            int standing = map.getStandingMask();
+            SplittableRandom random = new SplittableRandom(seed * 0x9E3779B97F4A7C15L + cell);
+            for (int i = 0; i < map.getSamplesPerCell(); i++) {
+                // セル内で一様にずらした投球を試す
+                float targetX = targetLow + (targetHigh - targetLow) * (float) random.nextDouble();
+                float speed = speedLow + (speedHigh - speedLow) * (float) random.nextDouble();
+                int after = simulation.simulateShot(standing, targetX, speed, dt, MAX_TICKS_PER_SHOT);
+                int knocked = Integer.bitCount(standing & ~after);
+                map.record(cell, knocked, (standing & after) == 0);
+            }
+        }
+    }
+}
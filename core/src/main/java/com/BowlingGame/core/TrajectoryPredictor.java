@@ -0,0 +1,142 @@
+package com.BowlingGame.core;
+
+/**
+ * 投げたボールがどこまで進むかを、ティックを進めずに式で求めるクラス。
+ * ボールの速度は毎ステップ一定の割合 (FRICTION_FACTORのdt乗) で減衰するだけなので、
+ * nティック後の速度と位置は等比数列とその和で表せます。
+ * また両方向の速度が同じ割合で減るため、ピンに当たるまでの軌跡は直線になります。
+ *
+ * <p>停止するティック、レーンの奥に届くティック、最初に当たるピンとその位置をO(ピン数)で求めます。
+ * 1ティックを複数のサブステップに分ける速さ (BallPhysics.substepsFor()) では、減衰のかかり方がわずかに違うため数ピクセルずれます。
+ * 結果はフィールドに保持し、次のpredict()で上書きします (メモリ割り当てなし)。</p>
+ */
+public final class TrajectoryPredictor {
+    public static final int NO_PIN = -1; // getContactPin()でどのピンにも当たらない場合の値
+
+    // 停止位置 (ピンに当たらなかった場合。レーンの奥に届く場合はそこで止まる)
+    private int stopTick;
+    private float stopX;
+    private float stopY;
+
+    // 最初に当たるピン
+    private int contactPin = NO_PIN;
+    private int contactTick;
+    private float contactX; // 当たった瞬間のボールの中心
+    private float contactY;
+
+    private final DampingCache dampingCache = new DampingCache(BallPhysics.FRICTION_FACTOR); // ステップ幅ごとの速度減衰率
+
+    /**
+     * ボールの軌跡を予測します。
+     * @param startX 投球時のボールの中心X座標
+     * @param startY 投球時のボールの中心Y座標
+     * @param ballRadius ボールの半径
+     * @param velocityX X方向の初速 (上限を適用済みのもの)
+     * @param velocityY Y方向の初速 (上限を適用済みのもの)
+     * @param dt 1ティックの長さ (基準ティック単位)
+     * @param laneEndY これより奥に進んだらボールを止めるY座標
+     * @param pins ピンの配置
+     * @param standingMask 当たり判定の対象にするピンのマスク
+     */
+    public void predict(float startX, float startY, float ballRadius, float velocityX, float velocityY, float dt,
+                        float laneEndY, PinRack pins, int standingMask) {
+        contactPin = NO_PIN;
+        contactTick = 0;
+        contactX = startX;
+        contactY = startY;
+
+        float speed = (float) Math.sqrt(velocityX * velocityX + velocityY * velocityY);
+        if (speed == 0) {
+            stopTick = 0;
+            stopX = startX;
+            stopY = startY;
+            return;
+        }
+        float damping = dampingCache.get(dt);
+        double logDamping = Math.log(damping);
+        float stepScale = dt / (1 - damping); // n→∞での移動量の和の係数
+
+        // 両方向の速度がSTOP_THRESHOLD未満になったティックの終わりに止まる
+        float maxComponent = Math.max(Math.abs(velocityX), Math.abs(velocityY));
+        int ticks = 1;
+        if (maxComponent >= BallPhysics.STOP_THRESHOLD) {
+            ticks = (int) Math.floor(Math.log(BallPhysics.STOP_THRESHOLD / maxComponent) / logDamping) + 1;
+        }
+
+        // レーンの奥に届くならそのティックで止まる
+        if (velocityY < 0 && laneEndY < startY) {
+            float ratio = (laneEndY - startY) / (velocityY * stepScale); // 必要な (1 - damping^n)
+            if (ratio < 1) {
+                int laneTicks = Math.max(1, (int) Math.ceil(Math.log(1 - ratio) / logDamping));
+                ticks = Math.min(ticks, laneTicks);
+            }
+        }
+        float travelled = (float) (1 - Math.pow(damping, ticks)) * stepScale; // 初速1あたりの移動量
+        stopTick = ticks;
+        stopX = startX + velocityX * travelled;
+        stopY = startY + velocityY * travelled;
+
+        // 直線の軌跡 (開始位置→停止位置) の中で最初に接触するピンを探す
+        float directionX = velocityX / speed;
+        float directionY = velocityY / speed;
+        float pathLength = speed * travelled;
+        float radiusSum = ballRadius + PinRack.PIN_RADIUS;
+        float nearest = Float.MAX_VALUE;
+        for (int i = 0; i < PinRack.PIN_COUNT; i++) {
+            if ((standingMask & (1 << i)) == 0) {
+                continue;
+            }
+            float fx = startX - pins.getX(i); // ピンの中心から開始位置へのベクトル
+            float fy = startY - pins.getY(i);
+            float c = fx * fx + fy * fy - radiusSum * radiusSum;
+            float distance;
+            if (c <= 0) {
+                distance = 0; // 開始時点で既に重なっている
+            } else {
+                float b = fx * directionX + fy * directionY;
+                float discriminant = b * b - c;
+                if (b >= 0 || discriminant < 0) {
+                    continue; // 遠ざかっているか、軌跡の延長線が交わらない
+                }
+                distance = -b - (float) Math.sqrt(discriminant);
+            }
+            if (distance <= pathLength && distance < nearest) {
+                nearest = distance;
+                contactPin = i;
+            }
+        }
+        if (contactPin != NO_PIN) {
+            contactX = startX + directionX * nearest;
+            contactY = startY + directionY * nearest;
+            // 移動量の和が接触までの距離に達するティック
+            double remaining = 1 - nearest / (speed * stepScale);
+            contactTick = remaining > 0 ? Math.max(1, (int) Math.ceil(Math.log(remaining) / logDamping)) : ticks;
+        }
+    }
+
+    /**
+     * ピンに当たる場合は接触位置、当たらない場合は停止位置のX座標を返します (エイムガイドの終点)。
+     * @return X座標
+     */
+    public float getGuideEndX() {
+        return contactPin != NO_PIN ? contactX : stopX;
+    }
+
+    /**
+     * ピンに当たる場合は接触位置、当たらない場合は停止位置のY座標を返します (エイムガイドの終点)。
+     * @return Y座標
+     */
+    public float getGuideEndY() {
+        return contactPin != NO_PIN ? contactY : stopY;
+    }
+
+    // --- Getterメソッド ---
+    public int getStopTick() { return stopTick; }
+    public float getStopX() { return stopX; }
+    public float getStopY() { return stopY; }
+    public boolean hasContact() { return contactPin != NO_PIN; }
+    public int getContactPin() { return contactPin; }
+    public int getContactTick() { return contactTick; }
+    public float getContactX() { return contactX; }
+    public float getContactY() { return contactY; }
+}
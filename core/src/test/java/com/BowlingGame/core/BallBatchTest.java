@@ -0,0 +1,145 @@
+package com.BowlingGame.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * BallBatchとBallPhysics (Simulationと同じ進め方) で同じ投球を進めた結果を比べるテスト。
+ */
+public class BallBatchTest {
+    private static final float WIDTH = 1080;
+    private static final float HEIGHT = 1920;
+    private static final float[] DTS = {0.5f, 1f}; // 120Hz (SimulationThreadの既定) と60Hz
+    private static final int MAX_TICKS = 100_000;
+    private static final float[] VELOCITY_Y = {-50f, -30f, -15f, -6f}; // 最速からピンの手前で止まるまで
+    // 1個ずつ比べるときは横方向の初速を細かく刻み、ピンをかすめる (サブステップの途中でだけ半径の和より近づく) 投球も含める
+    private static final float SWEEP_MAX_X = 12f;
+    private static final float SWEEP_STEP_X = 0.05f;
+    private static final int SWEEP_COUNT = 481; // -SWEEP_MAX_XからSWEEP_MAX_Xまで
+    // 1つのバッチに混ぜて投げる横方向の初速 (ガター、ピンの端、中央)
+    private static final float[] VELOCITY_X = {-12f, -6f, -3f, -1.5f, -0.5f, 0f, 0.5f, 1.5f, 3f, 6f, 12f};
+    // 1つのバッチで混ぜて投げると、サブステップ数が最も速いボールに揃うため減衰のかかり方がわずかに違う
+    private static final float MIXED_TOLERANCE = 2f;
+
+    private final Simulation simulation = newSimulation();
+    private final PinRack pins = simulation.getPins();
+    private final float laneEndY = HEIGHT * Simulation.LANE_END_RATIO;
+    private final float startX = simulation.getBall().getInitialX();
+    private final float startY = simulation.getBall().getInitialY();
+
+    private static Simulation newSimulation() {
+        Simulation simulation = new Simulation();
+        simulation.setup(WIDTH, HEIGHT);
+        return simulation;
+    }
+
+    // BallPhysicsをSimulation.advanceWorld()と同じ手順で (ピンは動かさずに) 1ティックずつ進め、止まった位置と、
+    // 最初にピンに接触したティック、そのティックに接触したピンのマスク、接触した全てのピンのマスクを返す
+    // ({x, y, contactTick, contactMask, allContacts})
+    private float[] runObject(float dt, float vx, float vy) {
+        BallPhysics ball = new BallPhysics();
+        ball.setInitialPosition(startX, startY);
+        ball.reset();
+        ball.launch(vx, vy);
+        int contactTick = BallBatch.NO_CONTACT;
+        int contactMask = 0;
+        int allContacts = 0;
+        for (int tick = 0; tick < MAX_TICKS && !ball.isStopped(); tick++) {
+            ball.beginTick();
+            int substeps = ball.substepsFor(dt);
+            float step = dt / substeps;
+            int mask = 0;
+            for (int s = 0; s < substeps; s++) {
+                ball.advance(step);
+                for (int pin = 0; pin < PinRack.PIN_COUNT; pin++) {
+                    if (pins.isActive(pin) && ball.sweepHits(pins.getX(pin), pins.getY(pin), PinRack.PIN_RADIUS)) {
+                        mask |= 1 << pin;
+                    }
+                }
+            }
+            if (contactTick == BallBatch.NO_CONTACT && mask != 0) {
+                contactTick = tick;
+                contactMask = mask;
+            }
+            allContacts |= mask;
+            ball.settle();
+            if (ball.getY() < laneEndY || ball.isStopped()) {
+                ball.stop();
+            }
+        }
+        assertTrue("ball did not stop", ball.isStopped());
+        return new float[] {ball.getX(), ball.getY(), contactTick, contactMask, allContacts};
+    }
+
+    // バッチを全て止まるまで進め、ボールごとに最初に接触したティックのマスクを記録する
+    private int[] runBatch(BallBatch batch, float dt) {
+        int[] firstMasks = new int[batch.size()];
+        for (int tick = 0; tick < MAX_TICKS && batch.step(dt, pins) > 0; tick++) {
+            for (int i = 0; i < batch.size(); i++) {
+                if (batch.getContactTick(i) == tick) {
+                    firstMasks[i] = batch.getContactMask(i);
+                }
+            }
+        }
+        assertEquals("moving balls", 0, batch.getMovingCount());
+        return firstMasks;
+    }
+
+    @Test
+    public void singleBallMatchesBallPhysics() {
+        BallBatch batch = new BallBatch(1);
+        batch.setLaneEnd(laneEndY);
+        int contacts = 0;
+        for (float dt : DTS) {
+            for (float vy : VELOCITY_Y) {
+                for (int n = 0; n < SWEEP_COUNT; n++) {
+                    float vx = -SWEEP_MAX_X + n * SWEEP_STEP_X;
+                    float[] expected = runObject(dt, vx, vy);
+                    batch.clear();
+                    batch.launch(startX, startY, vx, vy);
+                    int[] firstMasks = runBatch(batch, dt);
+                    String label = "dt " + dt + " throw (" + vx + ", " + vy + ")";
+                    // サブステップ数も同じなので、同じ計算になる
+                    assertEquals(label + " x", expected[0], batch.getX(0), 0f);
+                    assertEquals(label + " y", expected[1], batch.getY(0), 0f);
+                    assertEquals(label + " contact tick", (int) expected[2], batch.getContactTick(0));
+                    assertEquals(label + " contact mask", (int) expected[3], firstMasks[0]);
+                    assertEquals(label + " all contacts", (int) expected[4], batch.getContactMask(0));
+                    contacts += firstMasks[0] != 0 ? 1 : 0;
+                }
+            }
+        }
+        // ピンに当たる投球と当たらない投球の両方を比べている
+        assertTrue("contacts " + contacts, contacts > 0 && contacts < DTS.length * SWEEP_COUNT * VELOCITY_Y.length);
+    }
+
+    @Test
+    public void mixedBatchStaysCloseToBallPhysics() {
+        BallBatch batch = new BallBatch(VELOCITY_X.length * VELOCITY_Y.length);
+        batch.setLaneEnd(laneEndY);
+        for (float dt : DTS) {
+            batch.clear();
+            for (float vy : VELOCITY_Y) {
+                for (float vx : VELOCITY_X) {
+                    batch.launch(startX, startY, vx, vy);
+                }
+            }
+            runBatch(batch, dt);
+            int i = 0;
+            for (float vy : VELOCITY_Y) {
+                for (float vx : VELOCITY_X) {
+                    float[] expected = runObject(dt, vx, vy);
+                    String label = "dt " + dt + " throw (" + vx + ", " + vy + ")";
+                    assertEquals(label + " x", expected[0], batch.getX(i), MIXED_TOLERANCE);
+                    assertEquals(label + " y", expected[1], batch.getY(i), MIXED_TOLERANCE);
+                    // 位置のずれで、接触が前後のティックにずれることはある
+                    assertEquals(label + " contact tick", expected[2], batch.getContactTick(i), 1f);
+                    assertEquals(label + " all contacts", (int) expected[4], batch.getContactMask(i));
+                    i++;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.BowlingGame.core;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+/**
+ * BowlingScorerの一括計算がGameStateの1投ずつの計算と一致することのテスト。
+ */
+public class BowlingScorerTest {
+
+    // ランダムな有効な投球列をGameStateで進め、途中 (maxRolls投) で止めたものを返す
+    // 戻り値は投球数。rollsに倒したピン数、stateに同じ投球を記録したGameStateが入る
+    static int randomGame(Random random, int maxRolls, int[] rolls, GameState state) {
+        state.resetGame();
+        int standing = GameState.PIN_COUNT;
+        int count = 0;
+        while (!state.isGameOver() && count < maxRolls) {
+            // ストライク・スペアが出やすいように、半分は残りを全部倒す
+            int pins = random.nextBoolean() ? standing : random.nextInt(standing + 1);
+            int frame = state.getCurrentFrame();
+            state.startThrow();
+            state.scorePins(pins);
+            rolls[count++] = pins;
+            standing -= pins;
+            if (standing == 0) {
+                standing = GameState.PIN_COUNT;
+            }
+            if (state.isFrameFinished()) {
+                state.nextFrame();
+            } else {
+                state.nextShot();
+            }
+            if (state.getCurrentFrame() != frame) {
+                standing = GameState.PIN_COUNT;
+            }
+        }
+        return count;
+    }
+
+    @Test
+    public void matchesGameStateForRandomGames() {
+        Random random = new Random(42);
+        int[] rolls = new int[GameState.MAX_ROLLS];
+        int[] frameScores = new int[GameState.MAX_FRAMES];
+        GameState state = new GameState();
+        for (int n = 0; n < 20_000; n++) {
+            int maxRolls = n % 4 == 0 ? random.nextInt(GameState.MAX_ROLLS + 1) : GameState.MAX_ROLLS;
+            int count = randomGame(random, maxRolls, rolls, state);
+            int total = BowlingScorer.score(rolls, 0, count, frameScores, 0);
+            assertEquals("game " + n, state.getTotalScore(), total);
+            for (int frame = 1; frame <= GameState.MAX_FRAMES; frame++) {
+                assertEquals("game " + n + " frame " + frame, state.getFrameScore(frame), frameScores[frame - 1]);
+            }
+        }
+    }
+
+    @Test
+    public void perfectGameAndAllSpares() {
+        int[] strikes = new int[12];
+        Arrays.fill(strikes, 10);
+        assertEquals(300, BowlingScorer.score(strikes, 0, strikes.length));
+        int[] spares = new int[21];
+        Arrays.fill(spares, 5);
+        assertEquals(150, BowlingScorer.score(spares, 0, spares.length));
+    }
+
+    @Test
+    public void readsFromOffset() {
+        int[] rolls = {99, 99, 10, 10, 10, 10, 10, 10, 10, 10, 10, 10, 10, 10};
+        int[] frameScores = new int[GameState.MAX_FRAMES + 3];
+        assertEquals(300, BowlingScorer.score(rolls, 2, 12, frameScores, 3));
+        assertEquals(30, frameScores[3]);
+        assertEquals(300, frameScores[12]);
+    }
+
+    @Test
+    public void unresolvedBonusIsNotCounted() {
+        int[] frameScores = new int[GameState.MAX_FRAMES];
+        assertEquals(0, BowlingScorer.score(new int[] {10, 3}, 0, 2, frameScores, 0));
+        assertEquals(GameState.UNSCORED, frameScores[0]);
+        assertEquals(9, BowlingScorer.score(new int[] {4, 5, 6}, 0, 3));
+    }
+
+    @Test
+    public void rejectsImpossibleSequences() {
+        assertInvalid(-1);
+        assertInvalid(11);
+        assertInvalid(7, 4); // フレームの合計が10を超える
+        assertInvalid(new int[21]); // 20投で終わったゲームの後の投球
+        int[] lastFrame = new int[21];
+        lastFrame[18] = 10;
+        lastFrame[19] = 3;
+        lastFrame[20] = 8; // ストライクの後の2投目の残りより多い
+        assertInvalid(lastFrame);
+        assertEquals(BowlingScorer.INVALID, BowlingScorer.score(new int[22], 0, 22));
+        assertEquals(BowlingScorer.INVALID, BowlingScorer.score(new int[1], 0, -1));
+    }
+
+    @Test
+    public void columnarFileRoundTrip() throws Exception {
+        Random random = new Random(3);
+        int games = 10_000; // GAMES_PER_TASKより多くしてfork/joinの分割も通す
+        int[] rollCounts = new int[games];
+        int[] rolls = new int[games * GameState.MAX_ROLLS];
+        int[] expected = new int[games];
+        int[] gameRolls = new int[GameState.MAX_ROLLS];
+        GameState state = new GameState();
+        for (int g = 0; g < games; g++) {
+            rollCounts[g] = randomGame(random, GameState.MAX_ROLLS, gameRolls, state);
+            System.arraycopy(gameRolls, 0, rolls, g * GameState.MAX_ROLLS, rollCounts[g]);
+            expected[g] = state.getTotalScore();
+        }
+        File file = File.createTempFile("games", ".bin");
+        try {
+            ColumnarGameFile.write(file, rollCounts, rolls, games);
+            try (ColumnarGameFile columns = ColumnarGameFile.open(file)) {
+                assertEquals(games, columns.getGameCount());
+                int[] read = new int[GameState.MAX_ROLLS];
+                for (int g = 0; g < games; g += 997) {
+                    assertEquals(rollCounts[g], columns.readGame(g, read));
+                    for (int i = 0; i < rollCounts[g]; i++) {
+                        assertEquals(rolls[g * GameState.MAX_ROLLS + i], read[i]);
+                    }
+                }
+                ForkJoinPool pool = new ForkJoinPool(4);
+                try {
+                    assertArrayEquals(expected, columns.scoreAll(pool));
+                } finally {
+                    pool.shutdown();
+                }
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void columnarFileRejectsOtherFormats() throws Exception {
+        File file = File.createTempFile("games", ".bin");
+        try {
+            Files.write(file.toPath(), new byte[ColumnarGameFile.HEADER_SIZE]);
+            ColumnarGameFile.open(file).close();
+        } finally {
+            file.delete();
+        }
+    }
+
+    private static void assertInvalid(int... rolls) {
+        assertEquals(BowlingScorer.INVALID, BowlingScorer.score(rolls, 0, rolls.length));
+    }
+}
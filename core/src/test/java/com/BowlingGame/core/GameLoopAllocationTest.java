@@ -0,0 +1,153 @@
+package com.BowlingGame.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import org.junit.Test;
+
+/**
+ * ゲーム中のティックでメモリ割り当てが起きていないことのテスト。
+ * タッチ入力 (スワイプ投球とエイム、ゲームオーバー後のタップでのリスタート) から、更新、処理時間の記録、
+ * 描画用の状態の受け渡し、HUDとフレーム処理時間のオーバーレイの文字列の組み立て、品質の見直し、成績の集計、
+ * 終了したゲームの履歴への受け渡しまでを何千ティックも進め、このスレッドが割り当てたバイト数をゲームごとに数えます。
+ * Canvasへの描画そのもの (Android側) は含みません。
+ */
+public class GameLoopAllocationTest {
+    private static final float WIDTH = 1080;
+    private static final float HEIGHT = 1920;
+    private static final float DT = 0.5f; // SimulationThreadの既定 (120Hz)
+    private static final long TICK_NANOS = 1_000_000_000L / 120;
+    private static final int SWIPE_TICKS = 12; // スワイプにかけるティック数 (0.1秒)
+    private static final float SWIPE_DISTANCE = 400f; // スワイプで指を動かす距離
+    private static final int MAX_TICKS_PER_GAME = 1_000_000; // 終わらないゲーム対策
+    private static final int WARMUP_GAMES = 20; // JITのコンパイルやクラスの初期化による割り当ては計測から外す
+    private static final int GAMES = 20;
+    // 割り当てのあったゲームをやり直す回数。他のテストと同じJVMで動くと、コンパイルの切り替わり (脱最適化) で
+    // 一度だけ数百バイト数えることがある (単独では0) ため、1回だけやり直し、それでも割り当てがあれば失敗にする
+    private static final int MAX_RETRIES = 1;
+    // 品質の見直しに渡すフレームの処理時間。実際の時間を渡すと、他のテストの負荷で初めて段階が変わるのが
+    // 計測中になることがある (コンパイル済みのコードから初めて通る分岐に入ると脱最適化で割り当てが起きる) ため、
+    // 遅い区間と速い区間を交互に与え、準備運転のうちに段階の上げ下げを全て通しておく
+    private static final int QUALITY_PHASE_TICKS = 3000;
+    private static final long SLOW_FRAME_NANOS = 20_000_000L;
+    private static final long FAST_FRAME_NANOS = 1_000_000L;
+
+    private final Simulation simulation = new Simulation();
+    private final RenderStateExchange renderStates = new RenderStateExchange();
+    private final FrameProfile profile = new FrameProfile();
+    private final QualityGovernor quality = new QualityGovernor();
+    private final PlayerStatistics statistics = new PlayerStatistics();
+    private final HudText hudText = new HudText();
+    private final ProfileText profileText = new ProfileText();
+    private ScoreHistoryRecorder recorder; // 書き込みスレッドの割り当ては数えない
+    private com.sun.management.ThreadMXBean threads;
+    private long threadId;
+    private long timeNanos;
+    private int shotCount;
+    private long ticks;
+
+    @Test
+    public void steadyStateGameLoopDoesNotAllocate() throws Exception {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        threads = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+        threadId = Thread.currentThread().getId();
+
+        File historyFile = File.createTempFile("allocation", ".bin");
+        historyFile.delete(); // 空のファイルでなく、ないところから作らせる
+        recorder = new ScoreHistoryRecorder(historyFile, statistics);
+        recorder.start();
+        try {
+            simulation.setup(WIDTH, HEIGHT);
+            simulation.setStatistics(statistics);
+            simulation.restart();
+            for (int i = 0; i < WARMUP_GAMES; i++) {
+                playGame();
+            }
+
+            // 計測自体の割り当て (あれば) を差し引く
+            long overhead = allocatedBytes();
+            overhead = allocatedBytes() - overhead;
+
+            int retries = 0;
+            for (int i = 0; i < GAMES; i++) {
+                long startTicks = ticks;
+                long before = allocatedBytes();
+                playGame();
+                long bytes = allocatedBytes() - before - overhead;
+                if (bytes > 0 && retries < MAX_RETRIES) {
+                    retries++;
+                    i--; // 一度だけの割り当てか確かめるため、同じ回をやり直す
+                    continue;
+                }
+                assertEquals("bytes allocated in game " + i + " (" + (ticks - startTicks) + " ticks)", 0, bytes);
+            }
+        } finally {
+            recorder.close();
+            historyFile.delete();
+        }
+    }
+
+    private long allocatedBytes() {
+        return threads.getThreadAllocatedBytes(threadId);
+    }
+
+    // ゲームオーバーまでスワイプで投げ続け、GameViewと同じく履歴に渡してから、タップしてリスタートする
+    private void playGame() {
+        long end = ticks + MAX_TICKS_PER_GAME;
+        while (!simulation.getGameState().isGameOver() && ticks < end) {
+            if (simulation.canThrow()) {
+                swipe();
+            } else {
+                tick();
+            }
+        }
+        recorder.submit(simulation, timeNanos / 1_000_000L);
+        tap();
+    }
+
+    // ボールの位置から奥へスワイプして投げる。指を動かしている間はエイムガイドも計算される
+    private void swipe() {
+        InputQueue input = simulation.getInput();
+        float x = simulation.getBall().getX();
+        float y = simulation.getBall().getY();
+        float drift = ((shotCount++ * 37) % 9 - 4) * 4f; // 投げるごとに左右へ少しずらす
+        input.offer(InputQueue.ACTION_DOWN, x, y, timeNanos);
+        tick();
+        for (int i = 1; i <= SWIPE_TICKS; i++) {
+            input.offer(InputQueue.ACTION_MOVE, x + drift * i, y - SWIPE_DISTANCE * i / SWIPE_TICKS, timeNanos);
+            tick();
+        }
+        input.offer(InputQueue.ACTION_UP, x + drift * SWIPE_TICKS, y - SWIPE_DISTANCE, timeNanos);
+        tick();
+    }
+
+    private void tap() {
+        InputQueue input = simulation.getInput();
+        input.offer(InputQueue.ACTION_DOWN, WIDTH / 2f, HEIGHT / 2f, timeNanos);
+        input.offer(InputQueue.ACTION_UP, WIDTH / 2f, HEIGHT / 2f, timeNanos);
+        tick();
+    }
+
+    // 1ティック分: 更新して処理時間を記録し、描画用の状態を公開して描画側で受け取り、表示する文字列を組み立てる
+    private void tick() {
+        long start = System.nanoTime();
+        simulation.update(DT);
+        profile.record(FrameProfile.UPDATE, System.nanoTime() - start);
+        renderStates.getBackBuffer().capture(simulation, timeNanos, ticks + 1);
+        renderStates.publish();
+        RenderState state = renderStates.acquire();
+        assertEquals("render state sequence", ticks + 1, state.getSequence());
+        hudText.update(state);
+        profileText.update(profile);
+        profile.record(FrameProfile.FRAME, System.nanoTime() - start);
+        quality.onFrame(timeNanos, (ticks / QUALITY_PHASE_TICKS) % 2 == 0 ? SLOW_FRAME_NANOS : FAST_FRAME_NANOS);
+        timeNanos += TICK_NANOS;
+        ticks++;
+    }
+}
@@ -0,0 +1,201 @@
+package com.BowlingGame.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * GameSnapshotのエンコード・デコードのテスト。
+ */
+public class GameSnapshotTest {
+    private static final float WIDTH = 1080;
+    private static final float HEIGHT = 1920;
+    private static final float DT = 0.5f;
+
+    private static Simulation newSimulation(float width, float height) {
+        Simulation simulation = new Simulation();
+        simulation.setup(width, height);
+        return simulation;
+    }
+
+    // 投球してボールとピンが止まるまで進めることをcount回繰り返す
+    private static void playThrows(Simulation simulation, int count) {
+        for (int n = 0; n < count; n++) {
+            simulation.throwBall(WIDTH / 2f + (n % 3 - 1) * 40f, Simulation.TAP_THROW_SPEED);
+            for (int tick = 0; tick < 100_000 && !simulation.canThrow(); tick++) {
+                simulation.update(DT);
+            }
+        }
+    }
+
+    private static Simulation roundTrip(Simulation source, float width, float height) {
+        byte[] buffer = new byte[GameSnapshot.SIZE];
+        GameSnapshot.encode(source, buffer);
+        Simulation restored = newSimulation(width, height);
+        GameSnapshot.decode(buffer, restored);
+        return restored;
+    }
+
+    private static void assertSameGame(GameState expected, GameState actual) {
+        assertEquals(expected.getRollCount(), actual.getRollCount());
+        for (int i = 0; i < expected.getRollCount(); i++) {
+            assertEquals(expected.getRoll(i), actual.getRoll(i));
+        }
+        for (int frame = 1; frame <= GameState.MAX_FRAMES; frame++) {
+            assertEquals(expected.getFrameScore(frame), actual.getFrameScore(frame));
+        }
+        assertEquals(expected.getTotalScore(), actual.getTotalScore());
+        assertEquals(expected.getCurrentFrame(), actual.getCurrentFrame());
+        assertEquals(expected.getCurrentShot(), actual.getCurrentShot());
+        assertEquals(expected.isWaitingForThrow(), actual.isWaitingForThrow());
+        assertEquals(expected.isGameOver(), actual.isGameOver());
+        assertEquals(expected.isShotProcessed(), actual.isShotProcessed());
+    }
+
+    @Test
+    public void newGameRoundTrip() {
+        Simulation source = newSimulation(WIDTH, HEIGHT);
+        Simulation restored = roundTrip(source, WIDTH, HEIGHT);
+        assertSameGame(source.getGameState(), restored.getGameState());
+        assertEquals(PinRack.ALL_PINS_MASK, restored.getPins().getStandingMask());
+        assertTrue(restored.canThrow());
+    }
+
+    @Test
+    public void betweenThrowsRoundTrip() {
+        Simulation source = newSimulation(WIDTH, HEIGHT);
+        playThrows(source, 5);
+        Simulation restored = roundTrip(source, WIDTH, HEIGHT);
+        assertSameGame(source.getGameState(), restored.getGameState());
+        assertEquals(source.getPins().getStandingMask(), restored.getPins().getStandingMask());
+        assertEquals(source.getStandingBeforeShot(), restored.getStandingBeforeShot());
+        assertEquals(source.getBall().getX(), restored.getBall().getX(), 0f);
+        assertEquals(source.getBall().getY(), restored.getBall().getY(), 0f);
+    }
+
+    @Test
+    public void finishedGameRoundTrip() {
+        Simulation source = newSimulation(WIDTH, HEIGHT);
+        for (int n = 0; n < 40 && !source.getGameState().isGameOver(); n++) {
+            playThrows(source, 1);
+        }
+        assertTrue(source.getGameState().isGameOver());
+        Simulation restored = roundTrip(source, WIDTH, HEIGHT);
+        assertSameGame(source.getGameState(), restored.getGameState());
+    }
+
+    @Test
+    public void midThrowRoundTrip() {
+        Simulation source = newSimulation(WIDTH, HEIGHT);
+        playThrows(source, 2);
+        source.throwBall(WIDTH / 2f, Simulation.TAP_THROW_SPEED);
+        for (int tick = 0; tick < 20; tick++) {
+            source.update(DT);
+        }
+        BallPhysics ball = source.getBall();
+        assertTrue(ball.isThrowing());
+
+        Simulation restored = roundTrip(source, WIDTH, HEIGHT);
+        BallPhysics restoredBall = restored.getBall();
+        assertSameGame(source.getGameState(), restored.getGameState());
+        assertTrue(restoredBall.isThrowing());
+        assertFalse(restoredBall.isStopped());
+        assertEquals(ball.getX(), restoredBall.getX(), 0f);
+        assertEquals(ball.getY(), restoredBall.getY(), 0f);
+        assertEquals(ball.getVelocityX(), restoredBall.getVelocityX(), 0f);
+        assertEquals(ball.getVelocityY(), restoredBall.getVelocityY(), 0f);
+        // 倒れて滑っているピンは復元せず、立っているピンだけが残る
+        assertEquals(source.getPins().getStandingMask(), restored.getPins().getStandingMask());
+        assertEquals(restored.getPins().getStandingMask(), restored.getPins().getActiveMask());
+    }
+
+    @Test
+    public void ballIsScaledToNewScreenSize() {
+        Simulation source = newSimulation(WIDTH, HEIGHT);
+        source.throwBall(WIDTH / 2f, Simulation.TAP_THROW_SPEED);
+        for (int tick = 0; tick < 10; tick++) {
+            source.update(DT);
+        }
+        Simulation restored = roundTrip(source, WIDTH / 2, HEIGHT / 2);
+        assertEquals(source.getBall().getX() / 2, restored.getBall().getX(), 1e-3f);
+        assertEquals(source.getBall().getY() / 2, restored.getBall().getY(), 1e-3f);
+        assertEquals(source.getBall().getVelocityY() / 2, restored.getBall().getVelocityY(), 1e-3f);
+    }
+
+    @Test
+    public void rejectsShortBuffer() {
+        assertRejected(new byte[GameSnapshot.SIZE - 1]);
+    }
+
+    @Test
+    public void rejectsUnknownVersion() {
+        byte[] buffer = new byte[GameSnapshot.SIZE];
+        GameSnapshot.encode(newSimulation(WIDTH, HEIGHT), buffer);
+        buffer[0] = (byte) (GameSnapshot.VERSION + 1);
+        assertRejected(buffer);
+    }
+
+    @Test
+    public void rejectsImpossibleRoll() {
+        byte[] buffer = new byte[GameSnapshot.SIZE];
+        Simulation source = newSimulation(WIDTH, HEIGHT);
+        playThrows(source, 1);
+        GameSnapshot.encode(source, buffer);
+        // 1投目のピン数 (ビット13～16) を15にする
+        buffer[1] |= 0x07;
+        buffer[2] |= (byte) 0x80;
+        assertRejected(buffer);
+    }
+
+    @Test
+    public void rejectsInconsistentProgress() {
+        byte[] buffer = new byte[GameSnapshot.SIZE];
+        Simulation source = newSimulation(WIDTH, HEIGHT);
+        playThrows(source, 3);
+        GameSnapshot.encode(source, buffer);
+        // 投球数 (ビット8～12) を0にすると、記録したフレーム・投球回数と合わなくなる
+        buffer[1] &= 0x07;
+        assertRejected(buffer);
+    }
+
+    @Test
+    public void corruptedBuffersFailOnlyWithIllegalArgument() {
+        Simulation source = newSimulation(WIDTH, HEIGHT);
+        playThrows(source, 4);
+        byte[] original = new byte[GameSnapshot.SIZE];
+        GameSnapshot.encode(source, original);
+        Random random = new Random(7);
+        for (int n = 0; n < 2000; n++) {
+            byte[] buffer = original.clone();
+            buffer[random.nextInt(buffer.length)] ^= (byte) (1 << random.nextInt(8));
+            Simulation restored = newSimulation(WIDTH, HEIGHT);
+            try {
+                GameSnapshot.decode(buffer, restored);
+            } catch (IllegalArgumentException expected) {
+                continue; // GameViewはこの例外で新しいゲームに切り替える
+            }
+            // 読み込めた場合は、スコアが記録した投球から計算し直されている
+            GameState state = restored.getGameState();
+            int[] rolls = new int[GameState.MAX_ROLLS];
+            for (int i = 0; i < state.getRollCount(); i++) {
+                rolls[i] = state.getRoll(i);
+            }
+            int expected = BowlingScorer.score(rolls, 0, state.getRollCount());
+            assertEquals(expected, state.getTotalScore());
+        }
+    }
+
+    private static void assertRejected(byte[] buffer) {
+        try {
+            GameSnapshot.decode(buffer, newSimulation(WIDTH, HEIGHT));
+            fail("decode should reject the buffer");
+        } catch (IllegalArgumentException expected) {
+            // 壊れたスナップショットは受け付けない
+        }
+    }
+}
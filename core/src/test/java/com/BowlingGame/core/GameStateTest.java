@@ -0,0 +1,159 @@
+package com.BowlingGame.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+/**
+ * GameStateのスコア計算 (ボーナス待ちのキュー) のテスト。
+ */
+public class GameStateTest {
+
+    // 投球を順に記録し、Simulationと同じ手順でショット・フレームを進める
+    static GameState play(int... rolls) {
+        GameState state = new GameState();
+        for (int pins : rolls) {
+            state.startThrow();
+            state.scorePins(pins);
+            if (state.isFrameFinished()) {
+                state.nextFrame();
+            } else {
+                state.nextShot();
+            }
+        }
+        return state;
+    }
+
+    static int[] repeat(int pins, int count) {
+        int[] rolls = new int[count];
+        java.util.Arrays.fill(rolls, pins);
+        return rolls;
+    }
+
+    @Test
+    public void gutterGame() {
+        GameState state = play(repeat(0, 20));
+        assertTrue(state.isGameOver());
+        assertEquals(0, state.getTotalScore());
+        assertEquals(GameState.MAX_FRAMES, state.getScoredFrames());
+    }
+
+    @Test
+    public void perfectGame() {
+        GameState state = play(repeat(10, 12));
+        assertTrue(state.isGameOver());
+        assertEquals(300, state.getTotalScore());
+        for (int frame = 1; frame <= GameState.MAX_FRAMES; frame++) {
+            assertEquals(30 * frame, state.getFrameScore(frame));
+        }
+    }
+
+    @Test
+    public void allSpares() {
+        GameState state = play(repeat(5, 21));
+        assertTrue(state.isGameOver());
+        assertEquals(150, state.getTotalScore());
+        assertEquals(15, state.getFrameScore(1));
+    }
+
+    @Test
+    public void lastFrameStrikeThenSpare() {
+        int[] rolls = new int[21];
+        rolls[18] = 10;
+        rolls[19] = 7;
+        rolls[20] = 3;
+        GameState state = play(rolls);
+        assertTrue(state.isGameOver());
+        assertEquals(20, state.getTotalScore());
+        assertEquals(21, state.getRollCount());
+    }
+
+    @Test
+    public void lastFrameSpareThenStrike() {
+        int[] rolls = new int[21];
+        rolls[18] = 4;
+        rolls[19] = 6;
+        rolls[20] = 10;
+        GameState state = play(rolls);
+        assertTrue(state.isGameOver());
+        assertEquals(20, state.getTotalScore());
+    }
+
+    @Test
+    public void lastFrameOpenEndsAfterTwoRolls() {
+        int[] rolls = repeat(0, 20);
+        rolls[18] = 3;
+        rolls[19] = 4;
+        GameState state = play(rolls);
+        assertTrue(state.isGameOver());
+        assertEquals(7, state.getTotalScore());
+        assertEquals(20, state.getRollCount());
+    }
+
+    @Test
+    public void strikeWaitsForTwoBonusRolls() {
+        GameState state = play(10, 3);
+        assertEquals(GameState.UNSCORED, state.getFrameScore(1));
+        assertEquals(0, state.getTotalScore());
+        state.startThrow();
+        state.scorePins(4);
+        assertEquals(17, state.getFrameScore(1));
+        assertEquals(24, state.getFrameScore(2));
+        assertEquals(24, state.getTotalScore());
+    }
+
+    @Test
+    public void consecutiveStrikesResolveInOrder() {
+        GameState state = play(10, 10, 10);
+        assertEquals(30, state.getFrameScore(1));
+        assertEquals(GameState.UNSCORED, state.getFrameScore(2));
+        assertEquals(1, state.getScoredFrames());
+    }
+
+    @Test
+    public void scorePinsRejectsNegative() {
+        assertRejected(new GameState(), -1);
+    }
+
+    @Test
+    public void scorePinsRejectsMoreThanTen() {
+        assertRejected(new GameState(), 11);
+    }
+
+    @Test
+    public void scorePinsRejectsMoreThanStanding() {
+        GameState state = play(7);
+        assertRejected(state, 4);
+        assertEquals(1, state.getRollCount()); // 不正な投球は記録しない
+    }
+
+    @Test
+    public void scorePinsIgnoredAfterGameOver() {
+        GameState state = play(repeat(10, 12));
+        state.scorePins(5);
+        assertEquals(300, state.getTotalScore());
+        assertEquals(12, state.getRollCount());
+    }
+
+    @Test
+    public void resetGameClearsScores() {
+        GameState state = play(repeat(10, 12));
+        state.resetGame();
+        assertFalse(state.isGameOver());
+        assertEquals(0, state.getTotalScore());
+        assertEquals(GameState.UNSCORED, state.getFrameScore(1));
+        assertEquals(1, state.getCurrentFrame());
+    }
+
+    private static void assertRejected(GameState state, int pins) {
+        try {
+            state.scorePins(pins);
+            fail("scorePins(" + pins + ") should throw");
+        } catch (IllegalArgumentException expected) {
+            // 範囲外のピン数は受け付けない
+        }
+    }
+}
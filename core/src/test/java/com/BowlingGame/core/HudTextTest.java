@@ -0,0 +1,50 @@
+package com.BowlingGame.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * HudTextとProfileTextの文字列の組み立てのテスト。
+ */
+public class HudTextTest {
+
+    private static String format(String prefix, int value, String suffix) {
+        char[] buffer = new char[32];
+        return new String(buffer, 0, HudText.format(buffer, prefix, value, suffix));
+    }
+
+    @Test
+    public void formatsIntegers() {
+        assertEquals("Score: 0", format("Score: ", 0, ""));
+        assertEquals("Score: 300", format("Score: ", 300, ""));
+        assertEquals("Frame: 10 / 10", format("Frame: ", 10, " / 10"));
+        assertEquals("x-42y", format("x", -42, "y"));
+        assertEquals("2147483647", format("", Integer.MAX_VALUE, ""));
+    }
+
+    @Test
+    public void updateFollowsRenderState() {
+        Simulation simulation = new Simulation();
+        simulation.setup(1080, 1920);
+        RenderState state = new RenderState();
+        HudText text = new HudText();
+        state.capture(simulation, 0, 1);
+        text.update(state);
+        assertEquals("Score: 0", new String(text.getScoreText(), 0, text.getScoreLength()));
+        assertEquals("Frame: 1 / 10", new String(text.getFrameText(), 0, text.getFrameLength()));
+        assertEquals("Shot: 1 / 2", new String(text.getShotText(), 0, text.getShotLength()));
+    }
+
+    @Test
+    public void profileLinesRefreshOnFirstUpdate() {
+        FrameProfile profile = new FrameProfile();
+        profile.record(FrameProfile.UPDATE, 1_500_000);
+        ProfileText text = new ProfileText();
+        text.update(profile);
+        String line = new String(text.getLine(FrameProfile.UPDATE), 0, text.getLength(FrameProfile.UPDATE));
+        assertTrue(line, line.startsWith(profile.getPhase(FrameProfile.UPDATE).getName() + " p50 "));
+        assertTrue(line, line.endsWith("us jank 0"));
+    }
+}
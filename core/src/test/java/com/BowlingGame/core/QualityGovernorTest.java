@@ -0,0 +1,137 @@
+package com.BowlingGame.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * QualityGovernorの段階の上げ下げ (行き来の抑制、温度状態、リフレッシュレート) のテスト。
+ * 時刻は呼び出し側で進めるので、何分ぶんのフレームでも一瞬で決まった結果になります。
+ */
+public class QualityGovernorTest {
+    private static final long MILLIS = 1_000_000L;
+    private static final long MINUTE = 60_000 * MILLIS;
+
+    private long now;
+
+    // 段階ごとのフレームの処理時間で、その段階の目標の間隔ごとに時間がたつまでフレームを渡す
+    // 段階を上げた回ごとの時刻をupgradeTimesに加える (nullなら記録しない)
+    private void run(QualityGovernor quality, long durationNanos, long[] workByLevel, List<Long> upgradeTimes) {
+        long end = now + durationNanos;
+        while (now < end) {
+            int level = quality.getLevel();
+            quality.onFrame(now, workByLevel[level]);
+            if (upgradeTimes != null && quality.getLevel() < level) {
+                upgradeTimes.add(now);
+            }
+            now += QualityGovernor.getFrameIntervalNanos(level);
+        }
+    }
+
+    private static long[] sameWork(long workNanos) {
+        long[] work = new long[QualityGovernor.LEVEL_COUNT];
+        Arrays.fill(work, workNanos);
+        return work;
+    }
+
+    @Test
+    public void fastDeviceStaysAtTopLevel() {
+        QualityGovernor quality = new QualityGovernor();
+        quality.setDisplayRefreshRate(120);
+        long[] work = sameWork(2 * MILLIS);
+        long end = now + 10 * MINUTE;
+        while (now < end) {
+            quality.onFrame(now, work[0]);
+            assertEquals(0, quality.getLevel());
+            now += QualityGovernor.getFrameIntervalNanos(0);
+        }
+        assertEquals(0, quality.getDowngradeCount());
+        assertEquals(0, quality.getUpgradeCount());
+    }
+
+    @Test
+    public void oscillationSettles() {
+        QualityGovernor quality = new QualityGovernor();
+        quality.setDisplayRefreshRate(120);
+        // 段階0では遅く、段階1では1段上 (段階0) に対しても余裕があるように見える端末。
+        // 上げれば必ずすぐに下げることになるので、そのたびに次に上げるまでの間隔が伸びる
+        long[] work = sameWork(1 * MILLIS);
+        work[0] = 9 * MILLIS;
+        List<Long> upgrades = new ArrayList<>();
+        run(quality, 10 * MINUTE, work, upgrades);
+
+        assertTrue("upgrades " + upgrades.size(), upgrades.size() >= 3);
+        long previousGap = 0;
+        for (int i = 1; i < upgrades.size(); i++) {
+            long gap = upgrades.get(i) - upgrades.get(i - 1);
+            assertTrue("gap " + i + " " + gap + " after " + previousGap,
+                    gap >= Math.min(previousGap, QualityGovernor.MAX_COOLDOWN_NANOS));
+            previousGap = gap;
+        }
+        assertTrue("last gap " + previousGap, previousGap >= QualityGovernor.MAX_COOLDOWN_NANOS);
+        // 間隔を伸ばさなければ2秒ごとに行き来して数百回になる
+        assertTrue("upgrades " + upgrades.size(), upgrades.size() < 20);
+        long extraDowngrades = quality.getDowngradeCount() - quality.getUpgradeCount(); // 最初の1回と、最後に上げた直後の分
+        assertTrue("downgrades " + quality.getDowngradeCount(), extraDowngrades == 0 || extraDowngrades == 1);
+    }
+
+    @Test
+    public void thermalStatusDropsImmediatelyAndRecoversGradually() {
+        QualityGovernor quality = new QualityGovernor();
+        quality.setDisplayRefreshRate(120);
+        long[] work = sameWork(1 * MILLIS);
+        run(quality, 5_000 * MILLIS, work, null);
+        assertEquals(0, quality.getLevel());
+
+        quality.setThermalStatus(QualityGovernor.THERMAL_SEVERE);
+        int severeLevel = quality.getLevel();
+        assertTrue("level " + severeLevel, severeLevel >= 4); // 計測を待たずに下げる
+        run(quality, MINUTE, work, null);
+        assertEquals(severeLevel, quality.getLevel()); // 温度状態が悪い間は速くても上げない
+
+        quality.setThermalStatus(QualityGovernor.THERMAL_NONE);
+        assertEquals(severeLevel, quality.getLevel()); // 良くなってもすぐには上げない
+        // 余裕のある窓がUPGRADE_WINDOWS回続くまでは上げない
+        for (int i = 0; i < QualityGovernor.UPGRADE_WINDOWS - 1; i++) {
+            for (int frame = 0; frame < QualityGovernor.WINDOW_FRAMES; frame++) {
+                quality.onFrame(now, work[severeLevel]);
+                now += QualityGovernor.getFrameIntervalNanos(severeLevel);
+            }
+        }
+        assertEquals(severeLevel, quality.getLevel());
+        List<Long> upgrades = new ArrayList<>();
+        run(quality, MINUTE, work, upgrades);
+        assertEquals(0, quality.getLevel());
+        assertEquals(severeLevel, upgrades.size()); // 1段ずつ上げる
+    }
+
+    @Test
+    public void sixtyHertzDisplayNeverUsesTopLevel() {
+        QualityGovernor quality = new QualityGovernor();
+        quality.setDisplayRefreshRate(60);
+        assertEquals(1, quality.getTopLevel());
+        assertEquals(1, quality.getLevel());
+        long[] work = sameWork(1 * MILLIS);
+        long end = now + 5 * MINUTE;
+        while (now < end) {
+            quality.onFrame(now, work[1]);
+            assertTrue(quality.getLevel() >= 1);
+            now += QualityGovernor.getFrameIntervalNanos(quality.getLevel());
+        }
+        assertEquals(1, quality.getLevel());
+
+        // 遅くなって下げた後も、戻るのは段階1まで
+        long[] slow = sameWork(1 * MILLIS);
+        slow[1] = 20 * MILLIS;
+        run(quality, 1_000 * MILLIS, slow, null);
+        assertTrue(quality.getLevel() > 1);
+        run(quality, 5 * MINUTE, work, null);
+        assertEquals(1, quality.getLevel());
+        assertEquals(60, QualityGovernor.getTargetFps(quality.getLevel()));
+    }
+}
@@ -0,0 +1,147 @@
+package com.BowlingGame.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * ScoreHistoryの読み書きと、古い形式・壊れたファイルの扱いのテスト。
+ */
+public class ScoreHistoryTest {
+    private File dir;
+    private File path;
+
+    @Before
+    public void createDirectory() throws Exception {
+        dir = Files.createTempDirectory("history").toFile();
+        path = new File(dir, "scores.bin");
+    }
+
+    @After
+    public void deleteDirectory() {
+        for (File file : dir.listFiles()) {
+            file.delete();
+        }
+        dir.delete();
+    }
+
+    // 合計スコアだけが違う、全投球ガターの後に最後の1投でscoreを倒すゲームのフレームスコア
+    private static int[] frameScores(int score) {
+        int[] frames = new int[GameState.MAX_FRAMES];
+        frames[GameState.MAX_FRAMES - 1] = score;
+        return frames;
+    }
+
+    private static int[] rolls(int score) {
+        int[] rolls = new int[20];
+        rolls[19] = score;
+        return rolls;
+    }
+
+    @Test
+    public void appendAndReadBack() throws Exception {
+        int[] masks = new int[20];
+        Arrays.fill(masks, PinRack.ALL_PINS_MASK);
+        masks[19] = 0x3F0;
+        try (ScoreHistory history = ScoreHistory.open(path)) {
+            history.append(1000, rolls(3), masks, 0, 20, frameScores(3), 0, 3);
+            history.append(500, rolls(9), masks, 0, 20, frameScores(9), 0, 9); // 時計が戻っても日時は単調増加
+        }
+        try (ScoreHistory history = ScoreHistory.open(path)) {
+            assertEquals(2, history.size());
+            assertEquals(1000, history.getTimestamp(1));
+            assertEquals(9, history.getTotalScore(history.getTopRecord(0)));
+            assertEquals(0x3F0, history.getRollStandingMask(0, 19));
+            assertEquals(1, history.getScoreCount(3));
+            assertEquals(2, history.countBetween(0, 1001));
+        }
+    }
+
+    @Test
+    public void migratesVersion1() throws Exception {
+        int[] scores = {7, 2, 9, 7};
+        writeVersion1(path, scores);
+        try (ScoreHistory history = ScoreHistory.open(path)) {
+            assertEquals(scores.length, history.size());
+            for (int i = 0; i < scores.length; i++) {
+                assertEquals(1000L * (i + 1), history.getTimestamp(i));
+                assertEquals(scores[i], history.getTotalScore(i));
+                assertEquals(20, history.getRollCount(i));
+                assertEquals(scores[i], history.getRoll(i, 19));
+                assertEquals(scores[i], history.getFrameScore(i, GameState.MAX_FRAMES));
+                assertEquals(Simulation.UNKNOWN_PIN_MASK, history.getRollStandingMask(i, 0));
+            }
+            // 索引は書き換えたレコードから作り直している (同じスコアは先のゲームが上)
+            assertEquals(2, history.getTopRecord(0));
+            assertEquals(0, history.getTopRecord(1));
+            assertEquals(3, history.getTopRecord(2));
+            assertEquals(2, history.getScoreCount(7));
+            history.append(9000, rolls(1), new int[20], 0, 20, frameScores(1), 0, 1);
+        }
+        try (ScoreHistory history = ScoreHistory.open(path)) {
+            assertEquals(scores.length + 1, history.size());
+        }
+        assertFalse(new File(dir, "scores.bin.migrating").exists());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsCorruptFile() throws Exception {
+        Files.write(path.toPath(), new byte[ScoreHistory.HEADER_SIZE]);
+        ScoreHistory.open(path).close();
+    }
+
+    @Test
+    public void recorderMovesCorruptFileAside() throws Exception {
+        byte[] garbage = new byte[ScoreHistory.HEADER_SIZE];
+        Arrays.fill(garbage, (byte) 0x5A);
+        Files.write(path.toPath(), garbage);
+
+        ScoreHistoryRecorder recorder = new ScoreHistoryRecorder(path, new PlayerStatistics());
+        recorder.start();
+        Simulation simulation = new Simulation();
+        simulation.setup(1080, 1920);
+        assertTrue(recorder.submit(simulation, 1000));
+        recorder.close();
+
+        assertNotNull(recorder.getError()); // 退避したことは呼び出し側で記録できる
+        File aside = new File(dir, "scores.bin.bad");
+        assertTrue(aside.exists());
+        assertTrue(Arrays.equals(garbage, Files.readAllBytes(aside.toPath())));
+        try (ScoreHistory history = ScoreHistory.open(path)) {
+            assertEquals(1, history.size());
+        }
+    }
+
+    // 形式1 (レコード64バイト、立っているピンのマスクなし) のファイルを書く
+    private static void writeVersion1(File path, int[] scores) throws Exception {
+        int recordSize = 64;
+        ByteBuffer buffer = ByteBuffer.allocate(ScoreHistory.HEADER_SIZE + scores.length * recordSize);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(0, ScoreHistory.MAGIC);
+        buffer.putInt(4, 1);
+        buffer.putInt(8, recordSize);
+        buffer.putLong(16, scores.length);
+        buffer.putLong(24, 1000L * scores.length);
+        for (int i = 0; i < scores.length; i++) {
+            int base = ScoreHistory.HEADER_SIZE + i * recordSize;
+            buffer.putLong(base, 1000L * (i + 1));
+            buffer.putShort(base + 8, (short) scores[i]);
+            buffer.put(base + 10, (byte) 20);
+            buffer.put(base + 12 + 19, (byte) scores[i]);
+            int frames = 12 + GameState.MAX_ROLLS + 1;
+            buffer.putShort(base + frames + (GameState.MAX_FRAMES - 1) * 2, (short) scores[i]);
+        }
+        Files.write(path.toPath(), buffer.array());
+    }
+}